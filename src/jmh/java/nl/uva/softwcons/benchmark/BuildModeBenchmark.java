@@ -0,0 +1,64 @@
+package nl.uva.softwcons.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.helper.Workload;
+import nl.uva.softwcons.ql.BuildMode;
+import nl.uva.softwcons.ql.FormBuilder;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.qls.StylesheetBuilder;
+import nl.uva.softwcons.qls.ast.stylesheet.Stylesheet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares building the AST from a parse tree with building it during
+ * parsing. Run with {@code -prof gc} to compare the allocation per build.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuildModeBenchmark {
+
+    @Param({ "1000", "10000" })
+    private int size;
+
+    @Param({ "PARSE_TREE", "DIRECT" })
+    private BuildMode mode;
+
+    private String formSource;
+    private String stylesheetSource;
+
+    @Setup
+    public void generateSources() {
+        final Workload workload = TestHelper.generateWorkload(42).questions(size).computedFraction(0.5)
+                .chainDepth(10).generate();
+        this.formSource = workload.getFormSource();
+        this.stylesheetSource = workload.getStylesheetSource();
+    }
+
+    @Benchmark
+    public Form buildForm() {
+        return FormBuilder.build(formSource, mode);
+    }
+
+    @Benchmark
+    public Stylesheet buildStylesheet() {
+        return StylesheetBuilder.build(stylesheetSource, mode);
+    }
+
+}
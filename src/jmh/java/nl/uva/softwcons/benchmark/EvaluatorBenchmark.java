@@ -0,0 +1,72 @@
+package nl.uva.softwcons.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.helper.Workload;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.eval.EvaluationMode;
+import nl.uva.softwcons.ql.eval.Evaluator;
+import nl.uva.softwcons.ql.eval.value.NumberValue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluatorBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int size;
+
+    @Param({ "1", "10" })
+    private int depth;
+
+    @Param({ "EAGER", "LAZY" })
+    private EvaluationMode mode;
+
+    private Form form;
+    private Identifier[] inputQuestions;
+    private Evaluator evaluator;
+    private int updates;
+
+    @Setup
+    public void buildForm() {
+        final Workload workload = TestHelper.generateWorkload(42).questions(size).chainDepth(depth).generate();
+        this.form = workload.buildForm();
+        this.inputQuestions = workload.getInputQuestions().stream().map(name -> new Identifier(name, null))
+                .toArray(Identifier[]::new);
+        this.evaluator = new Evaluator(form, mode);
+    }
+
+    @Benchmark
+    public Evaluator createEvaluator() {
+        return new Evaluator(form, mode);
+    }
+
+    /**
+     * Updates the input questions in turn, each update propagating through
+     * all questions and conditionals that depend on it.
+     */
+    @Benchmark
+    public Evaluator updateValue() {
+        final int update = updates++;
+        evaluator.updateValue(inputQuestions[update % inputQuestions.length], NumberValue.valueOf(update % 20));
+        return evaluator;
+    }
+
+}
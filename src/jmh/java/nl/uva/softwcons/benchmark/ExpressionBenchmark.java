@@ -0,0 +1,73 @@
+package nl.uva.softwcons.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import nl.uva.softwcons.ql.FormBuilder;
+import nl.uva.softwcons.ql.ast.expression.Expression;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.statement.ComputedQuestion;
+import nl.uva.softwcons.ql.eval.CompiledExpression;
+import nl.uva.softwcons.ql.eval.ExpressionCompiler;
+import nl.uva.softwcons.ql.eval.ExpressionEvaluator;
+import nl.uva.softwcons.ql.eval.FormAnswers;
+import nl.uva.softwcons.ql.eval.value.BooleanValue;
+import nl.uva.softwcons.ql.eval.value.NumberValue;
+import nl.uva.softwcons.ql.eval.value.Value;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Evaluates a guarded condition, whose right operand is only needed when the
+ * guard holds, with the interpreter and with the compiled closures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionBenchmark {
+    private static final String GUARDED_FORM = "form guarded { guard: \"Guard\" boolean "
+            + "a: \"A\" number b: \"B\" number "
+            + "result: \"Result\" boolean (guard && (a * b + a * 3 - b > b * b - 7 && a - b * 2 <= a * a)) }";
+
+    @Param({ "true", "false" })
+    private boolean guard;
+
+    private Expression expression;
+    private CompiledExpression compiledExpression;
+    private FormAnswers answers;
+
+    @Setup
+    public void compile() {
+        this.expression = ((ComputedQuestion) FormBuilder.build(GUARDED_FORM).getStatements().get(3))
+                .getExpression();
+        this.compiledExpression = ExpressionCompiler.compile(expression);
+
+        this.answers = new FormAnswers();
+        this.answers.setValue(new Identifier("guard", null), BooleanValue.valueOf(guard));
+        this.answers.setValue(new Identifier("a", null), NumberValue.valueOf(12));
+        this.answers.setValue(new Identifier("b", null), NumberValue.valueOf(5));
+    }
+
+    @Benchmark
+    public Value interpret() {
+        return ExpressionEvaluator.evaluate(expression, answers);
+    }
+
+    @Benchmark
+    public Value evaluateCompiled() {
+        return compiledExpression.evaluate(answers);
+    }
+
+}
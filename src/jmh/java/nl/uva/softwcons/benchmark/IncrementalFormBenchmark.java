@@ -0,0 +1,81 @@
+package nl.uva.softwcons.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.ql.FormBuilder;
+import nl.uva.softwcons.ql.incremental.IncrementalForm;
+import nl.uva.softwcons.ql.incremental.TextEdit;
+import nl.uva.softwcons.ql.validation.Error;
+import nl.uva.softwcons.ql.validation.Validator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency of a one-character edit in the middle of a form, done
+ * by rebuilding and validating the whole form or by editing an
+ * {@link IncrementalForm}. The newline edit moves all following statements
+ * down by one line. The reference edit changes an expression, which reruns
+ * the type and dependency checks over the whole form.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncrementalFormBenchmark {
+
+    @Param({ "1000", "5000" })
+    private int size;
+
+    private String editedSource;
+    private IncrementalForm form;
+    private TextEdit edit;
+    private TextEdit newlineEdit;
+    private TextEdit referenceEdit;
+
+    @Setup
+    public void generateSource() {
+        final String source = TestHelper.generateWorkload(42).questions(size).computedFraction(0.5).chainDepth(10)
+                .generate().getFormSource();
+        this.form = IncrementalForm.build(source);
+        this.edit = TextEdit.insert(source.indexOf("\"Question " + size / 2 + "\"") + 1, "x");
+        this.editedSource = this.edit.applyTo(source);
+        this.newlineEdit = TextEdit.insert(source.lastIndexOf('\n', this.edit.getOffset()) + 1, "\n");
+        final int reference = source.indexOf(" (q", this.edit.getOffset()) + 2;
+        this.referenceEdit = new TextEdit(reference, source.indexOf(' ', reference) - reference, "q0");
+    }
+
+    @Benchmark
+    public List<Error> fullRebuild() {
+        return Validator.validate(FormBuilder.build(editedSource));
+    }
+
+    @Benchmark
+    public List<Error> incrementalEdit() {
+        return form.edit(edit).getErrors();
+    }
+
+    @Benchmark
+    public List<Error> incrementalNewline() {
+        return form.edit(newlineEdit).getErrors();
+    }
+
+    @Benchmark
+    public List<Error> incrementalReferenceEdit() {
+        return form.edit(referenceEdit).getErrors();
+    }
+
+}
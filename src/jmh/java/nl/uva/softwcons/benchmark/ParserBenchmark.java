@@ -0,0 +1,62 @@
+package nl.uva.softwcons.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.helper.Workload;
+import nl.uva.softwcons.ql.FormBuilder;
+import nl.uva.softwcons.ql.ParsingStrategy;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.qls.StylesheetBuilder;
+import nl.uva.softwcons.qls.ast.stylesheet.Stylesheet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int size;
+
+    @Param({ "1", "10" })
+    private int depth;
+
+    @Param({ "SLL_THEN_LL", "LL" })
+    private ParsingStrategy strategy;
+
+    private String formSource;
+    private String stylesheetSource;
+
+    @Setup
+    public void generateSources() {
+        final Workload workload = TestHelper.generateWorkload(42).questions(size).chainDepth(depth).generate();
+        this.formSource = workload.getFormSource();
+        this.stylesheetSource = workload.getStylesheetSource();
+    }
+
+    @Benchmark
+    public Form buildForm() {
+        return FormBuilder.build(formSource, strategy);
+    }
+
+    @Benchmark
+    public Stylesheet buildStylesheet() {
+        return StylesheetBuilder.build(stylesheetSource, strategy);
+    }
+
+}
@@ -0,0 +1,84 @@
+package nl.uva.softwcons.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.helper.Workload;
+import nl.uva.softwcons.ql.FormBuilder;
+import nl.uva.softwcons.ql.FormSnapshot;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.qls.StylesheetBuilder;
+import nl.uva.softwcons.qls.StylesheetSnapshot;
+import nl.uva.softwcons.qls.ast.stylesheet.Stylesheet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares loading forms and stylesheets from binary snapshots with parsing
+ * them from source. See {@link ParserBenchmark} for the parsing side alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int size;
+
+    private String formSource;
+    private String stylesheetSource;
+    private byte[] formSnapshot;
+    private byte[] stylesheetSnapshot;
+
+    @Setup
+    public void writeSnapshots() throws IOException {
+        final Workload workload = TestHelper.generateWorkload(42).questions(size).generate();
+        this.formSource = workload.getFormSource();
+        this.stylesheetSource = workload.getStylesheetSource();
+
+        final ByteArrayOutputStream formOutput = new ByteArrayOutputStream();
+        FormSnapshot.write(workload.buildForm(), formSource, formOutput);
+        this.formSnapshot = formOutput.toByteArray();
+
+        final ByteArrayOutputStream stylesheetOutput = new ByteArrayOutputStream();
+        StylesheetSnapshot.write(workload.buildStylesheet(), stylesheetSource, stylesheetOutput);
+        this.stylesheetSnapshot = stylesheetOutput.toByteArray();
+    }
+
+    @Benchmark
+    public Form parseForm() {
+        return FormBuilder.build(formSource);
+    }
+
+    @Benchmark
+    public Form readFormSnapshot() throws IOException {
+        return FormSnapshot.read(new ByteArrayInputStream(formSnapshot), formSource);
+    }
+
+    @Benchmark
+    public Stylesheet parseStylesheet() {
+        return StylesheetBuilder.build(stylesheetSource);
+    }
+
+    @Benchmark
+    public Stylesheet readStylesheetSnapshot() throws IOException {
+        return StylesheetSnapshot.read(new ByteArrayInputStream(stylesheetSnapshot), stylesheetSource);
+    }
+
+}
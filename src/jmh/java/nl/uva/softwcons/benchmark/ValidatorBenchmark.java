@@ -0,0 +1,93 @@
+package nl.uva.softwcons.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.helper.Workload;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.validation.Error;
+import nl.uva.softwcons.ql.validation.ValidationMode;
+import nl.uva.softwcons.ql.validation.Validator;
+import nl.uva.softwcons.qls.ast.stylesheet.Stylesheet;
+import nl.uva.softwcons.qls.validation.QLSValidator;
+import nl.uva.softwcons.validation.ParallelValidator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int size;
+
+    @Param({ "1", "10" })
+    private int depth;
+
+    private Form form;
+    private Stylesheet stylesheet;
+    private ExecutorService executor;
+    private ParallelValidator parallelValidator;
+
+    @Setup
+    public void buildSources() {
+        final Workload workload = TestHelper.generateWorkload(42).questions(size).chainDepth(depth).generate();
+        this.form = workload.buildForm();
+        this.stylesheet = workload.buildStylesheet();
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        this.parallelValidator = new ParallelValidator(executor);
+    }
+
+    @TearDown
+    public void shutdownExecutor() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public List<Error> validateForm() {
+        return Validator.validate(form);
+    }
+
+    @Benchmark
+    public List<Error> validateFormFused() {
+        return Validator.validate(form, ValidationMode.FUSED);
+    }
+
+    @Benchmark
+    public List<Error> validateStylesheet() {
+        return QLSValidator.validate(form, stylesheet);
+    }
+
+    @Benchmark
+    public List<Error> validateFormAndStylesheet() {
+        final List<Error> errors = new ArrayList<>(Validator.validate(form));
+        errors.addAll(QLSValidator.validate(form, stylesheet));
+
+        return errors;
+    }
+
+    @Benchmark
+    public List<Error> validateFormAndStylesheetParallel() {
+        return parallelValidator.validate(form, stylesheet);
+    }
+
+}
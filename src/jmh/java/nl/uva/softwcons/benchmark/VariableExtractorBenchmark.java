@@ -0,0 +1,81 @@
+package nl.uva.softwcons.benchmark;
+
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.ql.FormBuilder;
+import nl.uva.softwcons.ql.ast.expression.Expression;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.statement.ComputedQuestion;
+import nl.uva.softwcons.ql.validation.VariableExctractor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Extracts the variables of the expression shapes of the
+ * VariableExtractorTest, scaled up to the given number of repetitions: a
+ * chain of distinct variables, a chain of one repeated variable and a
+ * disjunction of nested comparisons.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VariableExtractorBenchmark {
+
+    @Param({ "distinct", "repeated", "nested" })
+    private String shape;
+
+    @Param({ "100", "1000" })
+    private int size;
+
+    private Expression expression;
+
+    @Setup
+    public void buildExpression() {
+        final StringJoiner expression = new StringJoiner(shape.equals("nested") ? " || " : " + ");
+        for (int i = 0; i < size; i++) {
+            switch (shape) {
+            case "distinct":
+                expression.add("v" + i);
+                break;
+            case "repeated":
+                expression.add("var");
+                break;
+            default:
+                expression.add(String.format("((a%1$d > b%1$d) || (b%1$d > c%1$d && !(6*d%1$d + 15/e%1$d/e%1$d == 0)))",
+                        i));
+            }
+        }
+        final String question = "q: \"Label\" boolean (" + expression + ")";
+
+        this.expression = ((ComputedQuestion) FormBuilder.build(TestHelper.buildForm("form1", question))
+                .getStatements().get(0)).getExpression();
+    }
+
+    @Benchmark
+    public Set<Identifier> extractFirstTime() {
+        expression.cacheVariables(null);
+        return VariableExctractor.extractFrom(expression);
+    }
+
+    @Benchmark
+    public Set<Identifier> extractCached() {
+        return VariableExctractor.extractFrom(expression);
+    }
+
+}
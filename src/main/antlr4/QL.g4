@@ -5,14 +5,14 @@ package nl.uva.softwcons.generated;
 }
 
 /* Parser */
-form:   'form' ID '{' statement+ '}';
+form:   'form' name=ID '{' statement+ '}';
 
 statement: question
     |      conditional
     ;
 
-question: ID ':' STRING type                                 # simpleQuestion
-    |     ID ':' STRING type '(' expr ')'                    # computedQuestion
+question: id=ID ':' label=STRING type                        # simpleQuestion
+    |     id=ID ':' label=STRING type '(' expr ')'           # computedQuestion
     ;
 
 conditional: 'if' '(' expr ')' '{' question+ '}'
@@ -29,8 +29,8 @@ expr: expr op=(MUL|DIV) expr                      # mulDivExpr
     | expr op=(ADD|SUB) expr                      # addSubExpr
     | expr op=(GT|GEq|LT|LEq|Eq|NEq) expr         # comparisonExpr
     | NOT expr                                    # notExpr
-    | expr AND expr                               # andExpr
-    | expr OR expr                                # orExpr
+    | expr op=AND expr                            # andExpr
+    | expr op=OR expr                             # orExpr
     | '(' expr ')'                                # parenthesis
     | BOOLEAN                                     # boolean 
     | NUMBER                                      # number
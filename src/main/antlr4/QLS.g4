@@ -5,11 +5,11 @@ package nl.uva.softwcons.generated;
 }
 
 /* Parser */
-stylesheet:   'stylesheet' ID '{' page+ '}';
+stylesheet:   'stylesheet' name=ID '{' page+ '}';
 
-page: 'page' ID '{' pageSegment+ defaultStatement* '}';
+page: 'page' name=ID '{' pageSegment+ defaultStatement* '}';
 
-section: 'section' STRING '{' pageSegment+ defaultStatement* '}';
+section: 'section' label=STRING '{' pageSegment+ defaultStatement* '}';
 
 pageSegment: question
            | section
@@ -17,8 +17,8 @@ pageSegment: question
 
 defaultStatement: 'default' type widget;
 
-question: 'question' ID                              # questionWithoutWidget
-        | 'question' ID widget                       # questionWithWidget
+question: 'question' id=ID                           # questionWithoutWidget
+        | 'question' id=ID widget                    # questionWithWidget
         ;
 
 widget: 'widget' widgetType                          # widgetWithoutStyle
@@ -27,7 +27,7 @@ widget: 'widget' widgetType                          # widgetWithoutStyle
 
 style: '{' styleProperty+ '}';
 
-styleProperty: key=STRING ':' value;
+styleProperty: key=STRING ':' val=value;
 
 value: ID
      | STRING
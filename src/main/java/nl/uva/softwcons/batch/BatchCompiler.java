@@ -0,0 +1,165 @@
+package nl.uva.softwcons.batch;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import nl.uva.softwcons.ql.FormBuilder;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.validation.Error;
+import nl.uva.softwcons.ql.validation.Validator;
+import nl.uva.softwcons.qls.StylesheetBuilder;
+import nl.uva.softwcons.qls.ast.stylesheet.Stylesheet;
+import nl.uva.softwcons.qls.validation.QLSValidator;
+
+/**
+ * Parses and validates many forms in parallel on a fork-join pool. A form
+ * {@code name.ql} is compiled together with the stylesheet
+ * {@code name.qls} next to it, if there is one.
+ * <p>
+ * The generated ANTLR parsers keep their DFA caches in static fields, so all
+ * workers share one cache and benefit from the predictions computed by the
+ * others; ANTLR synchronizes the updates to it.
+ */
+public class BatchCompiler implements AutoCloseable {
+    public static final String FORM_EXTENSION = ".ql";
+    public static final String STYLESHEET_EXTENSION = ".qls";
+
+    private final ForkJoinPool pool;
+
+    public BatchCompiler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchCompiler(final int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Compiles all forms in the given directory and its subdirectories.
+     */
+    public BatchReport compile(final Path directory) throws IOException {
+        final List<Path> formFiles;
+        try (final Stream<Path> files = Files.walk(directory)) {
+            formFiles = files.filter(f -> f.toString().endsWith(FORM_EXTENSION) && Files.isRegularFile(f))
+                    .sorted().collect(toList());
+        }
+
+        return compile(formFiles);
+    }
+
+    public BatchReport compile(final List<Path> formFiles) {
+        final long start = System.nanoTime();
+        final List<FileResult> results = formFiles.isEmpty() ? Collections.emptyList() : pool
+                .invoke(new CompileTask(formFiles));
+
+        return new BatchReport(results, System.nanoTime() - start);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    static FileResult compileFile(final Path formFile) {
+        final Path stylesheetFile = findStylesheet(formFile);
+        final List<Diagnostic> diagnostics = new ArrayList<>();
+
+        final long parseStart = System.nanoTime();
+        final Form form = build(formFile, diagnostics, source -> FormBuilder.build(source,
+                new SyntaxErrorCollector(formFile, diagnostics)));
+        final Stylesheet stylesheet = stylesheetFile == null ? null : build(stylesheetFile, diagnostics,
+                source -> StylesheetBuilder.build(source, new SyntaxErrorCollector(stylesheetFile, diagnostics)));
+        final long parseNanos = System.nanoTime() - parseStart;
+
+        if (form == null || (stylesheetFile != null && stylesheet == null) || !diagnostics.isEmpty()) {
+            return new FileResult(formFile, stylesheetFile, diagnostics, parseNanos, 0);
+        }
+
+        final long validationStart = System.nanoTime();
+        final List<Diagnostic> formErrors = toDiagnostics(formFile, Validator.validate(form));
+        diagnostics.addAll(formErrors);
+        if (stylesheet != null && formErrors.stream().noneMatch(Diagnostic::isFatal)) {
+            diagnostics.addAll(toDiagnostics(stylesheetFile, QLSValidator.validate(form, stylesheet)));
+        }
+
+        return new FileResult(formFile, stylesheetFile, diagnostics, parseNanos, System.nanoTime()
+                - validationStart);
+    }
+
+    private static Path findStylesheet(final Path formFile) {
+        final String name = formFile.getFileName().toString();
+        final String baseName = name.substring(0, name.length() - FORM_EXTENSION.length());
+        final Path stylesheetFile = formFile.resolveSibling(baseName + STYLESHEET_EXTENSION);
+
+        return Files.isRegularFile(stylesheetFile) ? stylesheetFile : null;
+    }
+
+    /**
+     * Reads and builds the given file, or records why it could not be built
+     * and returns null.
+     */
+    private static <T> T build(final Path file, final List<Diagnostic> diagnostics,
+            final Function<String, T> builder) {
+        try {
+            return builder.apply(new String(Files.readAllBytes(file), UTF_8));
+        } catch (final IOException e) {
+            diagnostics.add(new Diagnostic(file, "could not be read: " + e.getMessage(), true));
+        } catch (final RuntimeException e) {
+            // the AST builders do not recover from every syntax error
+            diagnostics.add(new Diagnostic(file, "could not be built: " + e, true));
+        }
+
+        return null;
+    }
+
+    private static List<Diagnostic> toDiagnostics(final Path file, final List<Error> errors) {
+        return errors.stream().map(e -> new Diagnostic(file, e.getMessage(), e.isFatal())).collect(toList());
+    }
+
+    /**
+     * Compiles a range of form files by splitting it in halves until a single
+     * file remains.
+     */
+    private static class CompileTask extends RecursiveTask<List<FileResult>> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Path> formFiles;
+
+        CompileTask(final List<Path> formFiles) {
+            this.formFiles = formFiles;
+        }
+
+        @Override
+        protected List<FileResult> compute() {
+            if (formFiles.size() == 1) {
+                return Collections.singletonList(compileFile(formFiles.get(0)));
+            }
+
+            final int middle = formFiles.size() / 2;
+            final CompileTask left = new CompileTask(formFiles.subList(0, middle));
+            left.fork();
+            final List<FileResult> rightResults = new CompileTask(formFiles.subList(middle, formFiles.size()))
+                    .compute();
+
+            final List<FileResult> results = new ArrayList<>(left.join());
+            results.addAll(rightResults);
+            return results;
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package nl.uva.softwcons.batch;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compiles a directory of forms from the command line and exits with a
+ * non-zero status if any of them has fatal errors.
+ */
+public final class BatchMain {
+
+    private BatchMain() {
+    }
+
+    public static void main(final String... args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: BatchMain <directory> [parallelism]");
+            System.exit(2);
+        }
+
+        final BatchReport report;
+        final int parallelism;
+        try (final BatchCompiler compiler = args.length == 2 ? new BatchCompiler(Integer.parseInt(args[1]))
+                : new BatchCompiler()) {
+            parallelism = compiler.getParallelism();
+            report = compiler.compile(Paths.get(args[0]));
+        }
+
+        for (final FileResult result : report.getResults()) {
+            System.out.printf("%9.2f ms  %s%n", millis(result.getTotalNanos()), result.getFormFile());
+            result.getDiagnostics().forEach(d -> System.out.println("             " + d));
+        }
+        System.out.printf("%d forms, %d errors, %d warnings in %.2f ms (%.2f ms of work on %d threads)%n", report
+                .getResults().size(), report.getFatalErrorCount(), report.getWarningCount(),
+                millis(report.getWallNanos()), millis(report.getTotalFileNanos()), parallelism);
+
+        System.exit(report.hasFatalErrors() ? 1 : 0);
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+}
@@ -0,0 +1,55 @@
+package nl.uva.softwcons.batch;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The results of a batch, in the order of the compiled form files.
+ */
+public class BatchReport {
+    private final List<FileResult> results;
+    private final long wallNanos;
+
+    BatchReport(final List<FileResult> results, final long wallNanos) {
+        this.results = Collections.unmodifiableList(results);
+        this.wallNanos = wallNanos;
+    }
+
+    public List<FileResult> getResults() {
+        return results;
+    }
+
+    public List<Diagnostic> getDiagnostics() {
+        return results.stream().flatMap(r -> r.getDiagnostics().stream()).collect(toList());
+    }
+
+    public long getFatalErrorCount() {
+        return getDiagnostics().stream().filter(Diagnostic::isFatal).count();
+    }
+
+    public long getWarningCount() {
+        return getDiagnostics().stream().filter(d -> !d.isFatal()).count();
+    }
+
+    public boolean hasFatalErrors() {
+        return results.stream().anyMatch(FileResult::hasFatalErrors);
+    }
+
+    /**
+     * Returns the time between starting and finishing the batch.
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * Returns the time spent on all files together, which exceeds the wall
+     * time when files were compiled in parallel.
+     */
+    public long getTotalFileNanos() {
+        return results.stream().mapToLong(FileResult::getTotalNanos).sum();
+    }
+
+}
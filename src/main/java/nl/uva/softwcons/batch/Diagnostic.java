@@ -0,0 +1,36 @@
+package nl.uva.softwcons.batch;
+
+import java.nio.file.Path;
+
+/**
+ * A syntax or validation error found in one file of a batch.
+ */
+public class Diagnostic {
+    private final Path file;
+    private final String message;
+    private final boolean fatal;
+
+    public Diagnostic(final Path file, final String message, final boolean fatal) {
+        this.file = file;
+        this.message = message;
+        this.fatal = fatal;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isFatal() {
+        return fatal;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %s%s", file, fatal ? "" : "warning: ", message);
+    }
+
+}
@@ -0,0 +1,61 @@
+package nl.uva.softwcons.batch;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of compiling one form, and its stylesheet if it has one.
+ */
+public class FileResult {
+    private final Path formFile;
+    private final Path stylesheetFile;
+    private final List<Diagnostic> diagnostics;
+    private final long parseNanos;
+    private final long validationNanos;
+
+    FileResult(final Path formFile, final Path stylesheetFile, final List<Diagnostic> diagnostics,
+            final long parseNanos, final long validationNanos) {
+        this.formFile = formFile;
+        this.stylesheetFile = stylesheetFile;
+        this.diagnostics = Collections.unmodifiableList(diagnostics);
+        this.parseNanos = parseNanos;
+        this.validationNanos = validationNanos;
+    }
+
+    public Path getFormFile() {
+        return formFile;
+    }
+
+    /**
+     * Returns the stylesheet compiled along with the form, or null if there
+     * is none.
+     */
+    public Path getStylesheetFile() {
+        return stylesheetFile;
+    }
+
+    public List<Diagnostic> getDiagnostics() {
+        return diagnostics;
+    }
+
+    public boolean hasFatalErrors() {
+        return diagnostics.stream().anyMatch(Diagnostic::isFatal);
+    }
+
+    /**
+     * Returns the time spent reading and parsing the form and stylesheet.
+     */
+    public long getParseNanos() {
+        return parseNanos;
+    }
+
+    public long getValidationNanos() {
+        return validationNanos;
+    }
+
+    public long getTotalNanos() {
+        return parseNanos + validationNanos;
+    }
+
+}
@@ -0,0 +1,29 @@
+package nl.uva.softwcons.batch;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+
+/**
+ * Turns the syntax errors reported by a lexer or parser into diagnostics of
+ * the file being compiled, in the format of the console error listener.
+ */
+class SyntaxErrorCollector extends BaseErrorListener {
+    private final Path file;
+    private final List<Diagnostic> diagnostics;
+
+    SyntaxErrorCollector(final Path file, final List<Diagnostic> diagnostics) {
+        this.file = file;
+        this.diagnostics = diagnostics;
+    }
+
+    @Override
+    public void syntaxError(final Recognizer<?, ?> recognizer, final Object offendingSymbol, final int line,
+            final int charPositionInLine, final String msg, final RecognitionException e) {
+        diagnostics.add(new Diagnostic(file, String.format("line %d:%d %s", line, charPositionInLine, msg), true));
+    }
+
+}
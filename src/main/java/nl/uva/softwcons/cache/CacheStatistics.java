@@ -0,0 +1,39 @@
+package nl.uva.softwcons.cache;
+
+/**
+ * A snapshot of the lookups served by a {@link CompiledFormCache}, taken at
+ * the time of {@link CompiledFormCache#getStatistics()}.
+ */
+public class CacheStatistics {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+
+    CacheStatistics(final long hits, final long misses, final long evictions) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the fraction of lookups that were served from the cache, or 0
+     * if there were no lookups yet.
+     */
+    public double getHitRate() {
+        final long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+}
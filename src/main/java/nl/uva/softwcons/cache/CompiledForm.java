@@ -0,0 +1,128 @@
+package nl.uva.softwcons.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import nl.uva.softwcons.ql.FormBuilder;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.eval.DependencyGraph;
+import nl.uva.softwcons.ql.eval.FormOptimizer;
+import nl.uva.softwcons.ql.eval.OptimizedForm;
+import nl.uva.softwcons.ql.validation.Error;
+import nl.uva.softwcons.ql.validation.Validator;
+import nl.uva.softwcons.qls.StylesheetBuilder;
+import nl.uva.softwcons.qls.ast.stylesheet.Stylesheet;
+import nl.uva.softwcons.qls.validation.QLSValidator;
+
+import com.google.common.hash.HashCode;
+
+/**
+ * A parsed and validated form together with its stylesheet and its
+ * {@link DependencyGraph}. Forms without fatal errors are optimized by the
+ * {@link FormOptimizer}. Instances are shared between sessions and must
+ * therefore not be modified.
+ */
+public class CompiledForm {
+    private final HashCode sourceHash;
+    private final Form form;
+    private final Stylesheet stylesheet;
+    private final List<Error> formErrors;
+    private final List<Error> stylesheetErrors;
+    private final DependencyGraph dependencies;
+    private final int removedNodes;
+
+    CompiledForm(final HashCode sourceHash, final Form form, final Stylesheet stylesheet,
+            final List<Error> formErrors, final List<Error> stylesheetErrors) {
+        this.sourceHash = sourceHash;
+        this.stylesheet = stylesheet;
+        this.formErrors = Collections.unmodifiableList(new ArrayList<>(formErrors));
+        this.stylesheetErrors = Collections.unmodifiableList(new ArrayList<>(stylesheetErrors));
+        if (this.formErrors.stream().anyMatch(Error::isFatal)) {
+            this.form = form;
+            this.removedNodes = 0;
+            this.dependencies = null;
+        } else {
+            final OptimizedForm optimized = FormOptimizer.optimize(form);
+            this.form = optimized.getForm();
+            this.removedNodes = optimized.getRemovedNodes();
+            this.dependencies = new DependencyGraph(this.form);
+        }
+    }
+
+    /**
+     * Parses, validates and optimizes the given QL and QLS sources. The
+     * stylesheet is only parsed and validated if the form has no fatal
+     * errors.
+     * 
+     * @param stylesheetSource
+     *            The QLS source, or null to compile the form on its own
+     */
+    public static CompiledForm compile(final String formSource, final String stylesheetSource) {
+        final HashCode key = CompiledFormCache.hash(formSource, stylesheetSource);
+        final Form form = FormBuilder.build(formSource);
+        final List<Error> formErrors = Validator.validate(form);
+        if (stylesheetSource == null || formErrors.stream().anyMatch(Error::isFatal)) {
+            return new CompiledForm(key, form, null, formErrors, Collections.emptyList());
+        }
+
+        final Stylesheet stylesheet = StylesheetBuilder.build(stylesheetSource);
+        final List<Error> stylesheetErrors = QLSValidator.validate(form, stylesheet);
+
+        return new CompiledForm(key, form, stylesheet, formErrors, stylesheetErrors);
+    }
+
+    public HashCode getSourceHash() {
+        return sourceHash;
+    }
+
+    public Form getForm() {
+        return form;
+    }
+
+    /**
+     * Returns the stylesheet, or null if the form was compiled without one or
+     * has fatal errors.
+     */
+    public Stylesheet getStylesheet() {
+        return stylesheet;
+    }
+
+    public List<Error> getFormErrors() {
+        return formErrors;
+    }
+
+    public List<Error> getStylesheetErrors() {
+        return stylesheetErrors;
+    }
+
+    /**
+     * Returns the form errors followed by the stylesheet errors.
+     */
+    public List<Error> getErrors() {
+        final List<Error> errors = new ArrayList<>(formErrors);
+        errors.addAll(stylesheetErrors);
+
+        return errors;
+    }
+
+    public boolean hasFatalErrors() {
+        return formErrors.stream().anyMatch(Error::isFatal) || stylesheetErrors.stream().anyMatch(Error::isFatal);
+    }
+
+    /**
+     * Returns the dependency graph of the form, or null if the form has fatal
+     * errors.
+     */
+    public DependencyGraph getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * Returns the number of expression nodes removed by optimizing the form.
+     */
+    public int getRemovedNodes() {
+        return removedNodes;
+    }
+
+}
@@ -0,0 +1,141 @@
+package nl.uva.softwcons.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Keeps the most recently used {@link CompiledForm}s keyed by a SHA-256 hash
+ * of their source text, so that a form which has been compiled before is
+ * returned without parsing or validating it again.
+ * <p>
+ * Forms are compiled outside the lock of the cache. Every entry holds the
+ * future result of its compilation, so concurrent lookups of the same
+ * uncached source wait for one compilation instead of starting their own,
+ * while lookups of other sources are not blocked by it.
+ */
+public class CompiledFormCache {
+    private final int maxEntries;
+    private final Map<HashCode, CompletableFuture<CompiledForm>> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public CompiledFormCache(final int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache must hold at least one entry");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<HashCode, CompletableFuture<CompiledForm>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<HashCode, CompletableFuture<CompiledForm>> eldest) {
+                if (size() > CompiledFormCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the compiled form for the given QL source without a stylesheet.
+     */
+    public CompiledForm get(final String formSource) {
+        return get(formSource, null);
+    }
+
+    /**
+     * Returns the compiled form for the given QL and QLS sources, compiling
+     * and caching it if it has not been seen before.
+     * 
+     * @param stylesheetSource
+     *            The QLS source, or null to compile the form on its own
+     */
+    public CompiledForm get(final String formSource, final String stylesheetSource) {
+        final HashCode key = hash(formSource, stylesheetSource);
+        final CompletableFuture<CompiledForm> pending = new CompletableFuture<>();
+        final CompletableFuture<CompiledForm> cached;
+        synchronized (this) {
+            cached = entries.get(key);
+            if (cached == null) {
+                misses++;
+                entries.put(key, pending);
+            } else {
+                hits++;
+            }
+        }
+
+        if (cached != null) {
+            return await(cached);
+        }
+
+        try {
+            pending.complete(CompiledForm.compile(formSource, stylesheetSource));
+        } catch (final RuntimeException | Error e) {
+            synchronized (this) {
+                entries.remove(key, pending);
+            }
+            pending.completeExceptionally(e);
+            throw e;
+        }
+
+        return pending.join();
+    }
+
+    public synchronized boolean contains(final String formSource, final String stylesheetSource) {
+        return entries.containsKey(hash(formSource, stylesheetSource));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns a snapshot of the lookups served so far.
+     */
+    public synchronized CacheStatistics getStatistics() {
+        return new CacheStatistics(hits, misses, evictions);
+    }
+
+    static HashCode hash(final String formSource, final String stylesheetSource) {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putInt(formSource.length()).putString(formSource, UTF_8);
+        if (stylesheetSource == null) {
+            hasher.putInt(-1);
+        } else {
+            hasher.putInt(stylesheetSource.length()).putString(stylesheetSource, UTF_8);
+        }
+
+        return hasher.hash();
+    }
+
+    private static CompiledForm await(final CompletableFuture<CompiledForm> compiled) {
+        try {
+            return compiled.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,21 @@
+package nl.uva.softwcons.ql;
+
+/**
+ * Decides how {@link FormBuilder} and
+ * {@link nl.uva.softwcons.qls.StylesheetBuilder} turn source text into an AST.
+ * Both modes produce the same AST.
+ */
+public enum BuildMode {
+    /**
+     * Builds the complete ANTLR parse tree first and converts it to an AST
+     * afterwards.
+     */
+    PARSE_TREE,
+
+    /**
+     * Builds the AST nodes while parsing, without keeping a parse tree. Input
+     * that does not parse with SLL prediction is built with
+     * {@link #PARSE_TREE} instead, so syntax errors are reported as usual.
+     */
+    DIRECT
+}
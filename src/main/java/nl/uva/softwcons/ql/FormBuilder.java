@@ -6,10 +6,13 @@ import java.io.InputStream;
 import nl.uva.softwcons.generated.QLLexer;
 import nl.uva.softwcons.generated.QLParser;
 import nl.uva.softwcons.ql.ast.ASTBuilderQL;
+import nl.uva.softwcons.ql.ast.ASTListenerQL;
 import nl.uva.softwcons.ql.ast.form.Form;
 
+import org.antlr.v4.runtime.ANTLRErrorListener;
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ConsoleErrorListener;
 import org.antlr.v4.runtime.tree.ParseTree;
 
 public final class FormBuilder {
@@ -17,19 +20,57 @@ public final class FormBuilder {
     }
 
     public static Form build(final String input) {
-        return parseForm(new ANTLRInputStream(input));
+        return build(input, ParsingStrategy.DEFAULT);
+    }
+
+    public static Form build(final String input, final ParsingStrategy strategy) {
+        return parseForm(new ANTLRInputStream(input), strategy, ConsoleErrorListener.INSTANCE);
+    }
+
+    public static Form build(final String input, final BuildMode mode) {
+        if (mode == BuildMode.DIRECT) {
+            return parseFormDirectly(new ANTLRInputStream(input));
+        }
+        return build(input);
+    }
+
+    /**
+     * Builds the form and reports syntax errors to the given listener
+     * instead of the console.
+     */
+    public static Form build(final String input, final ANTLRErrorListener errorListener) {
+        return parseForm(new ANTLRInputStream(input), ParsingStrategy.DEFAULT, errorListener);
     }
 
     public static Form build(final InputStream input) throws IOException {
-        return parseForm(new ANTLRInputStream(input));
+        return parseForm(new ANTLRInputStream(input), ParsingStrategy.DEFAULT, ConsoleErrorListener.INSTANCE);
     }
 
-    private static Form parseForm(final ANTLRInputStream input) {
+    private static Form parseForm(final ANTLRInputStream input, final ParsingStrategy strategy,
+            final ANTLRErrorListener errorListener) {
         final QLLexer lexer = new QLLexer(input);
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(errorListener);
         final QLParser parser = new QLParser(new CommonTokenStream(lexer));
-        final ParseTree tree = parser.form();
+        parser.removeErrorListeners();
+        parser.addErrorListener(errorListener);
+        final ParseTree tree = strategy.parse(parser, QLParser::form);
 
         return (Form) new ASTBuilderQL().visit(tree);
     }
 
+    private static Form parseFormDirectly(final ANTLRInputStream input) {
+        final QLParser parser = new QLParser(new CommonTokenStream(new QLLexer(input)));
+        final ASTListenerQL listener = new ASTListenerQL();
+        parser.setBuildParseTree(false);
+        parser.addParseListener(listener);
+        if (ParsingStrategy.trySLL(parser, QLParser::form) != null) {
+            return listener.getForm();
+        }
+
+        parser.removeParseListener(listener);
+        parser.setBuildParseTree(true);
+        return (Form) new ASTBuilderQL().visit(ParsingStrategy.LL.parse(parser, QLParser::form));
+    }
+
 }
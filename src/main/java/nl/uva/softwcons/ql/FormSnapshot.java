@@ -0,0 +1,58 @@
+package nl.uva.softwcons.ql;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.snapshot.FormSnapshotReader;
+import nl.uva.softwcons.ql.snapshot.FormSnapshotWriter;
+import nl.uva.softwcons.ql.snapshot.SnapshotFiles;
+import nl.uva.softwcons.ql.snapshot.SnapshotInput;
+import nl.uva.softwcons.ql.snapshot.SnapshotOutput;
+import nl.uva.softwcons.ql.snapshot.StaleSnapshotException;
+
+/**
+ * Saves and loads forms in a compact binary format, so that a form can be
+ * loaded without parsing its source again. Every snapshot starts with a
+ * header holding the format version and a hash of the source it was built
+ * from.
+ */
+public final class FormSnapshot {
+    private static final int MAGIC = 0x514c4631;
+
+    private FormSnapshot() {
+    }
+
+    public static void write(final Form form, final String source, final OutputStream output) throws IOException {
+        final SnapshotOutput snapshot = new SnapshotOutput(output);
+        snapshot.writeHeader(MAGIC, SnapshotOutput.hashSource(source));
+        new FormSnapshotWriter(snapshot).write(form);
+        snapshot.flush();
+    }
+
+    /**
+     * Reads a form snapshot that was built from the given source.
+     * 
+     * @throws StaleSnapshotException
+     *             If the snapshot was written by another format version or
+     *             from other source text
+     */
+    public static Form read(final InputStream input, final String source) throws IOException {
+        final SnapshotInput snapshot = new SnapshotInput(input);
+        snapshot.readHeader(MAGIC, SnapshotOutput.hashSource(source));
+
+        return new FormSnapshotReader(snapshot).read();
+    }
+
+    /**
+     * Loads the form from the given snapshot file, or builds it from source
+     * and writes a new snapshot if the file is missing or stale.
+     */
+    public static Form load(final String source, final Path snapshot) throws IOException {
+        return SnapshotFiles.loadOrRebuild(snapshot, input -> read(input, source), () -> FormBuilder.build(source),
+                (form, output) -> write(form, source, output));
+    }
+
+}
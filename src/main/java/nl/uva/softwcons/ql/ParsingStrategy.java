@@ -0,0 +1,84 @@
+package nl.uva.softwcons.ql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.antlr.v4.runtime.ANTLRErrorListener;
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+
+/**
+ * Decides how the generated ANTLR parsers predict alternatives. Both
+ * strategies produce the same parse tree for every input.
+ */
+public enum ParsingStrategy {
+    /**
+     * Parses with full LL prediction and the default error reporting.
+     */
+    LL {
+        @Override
+        public <P extends Parser, T> T parse(final P parser, final Function<P, T> rule) {
+            parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+            return rule.apply(parser);
+        }
+    },
+
+    /**
+     * Parses with the faster SLL prediction and bails out on the first syntax
+     * error, in which case the input is parsed again with {@link #LL} so that
+     * genuine errors are reported to the parser's error listeners as usual.
+     */
+    SLL_THEN_LL {
+        @Override
+        public <P extends Parser, T> T parse(final P parser, final Function<P, T> rule) {
+            final T result = trySLL(parser, rule);
+
+            return result != null ? result : LL.parse(parser, rule);
+        }
+    };
+
+    public static final ParsingStrategy DEFAULT = SLL_THEN_LL;
+
+    /**
+     * Runs the given start rule of the parser.
+     * 
+     * @param parser
+     *            A freshly created parser positioned at the start of its
+     *            input
+     * @param rule
+     *            The start rule to invoke, e.g. {@code QLParser::form}
+     * @return The result of the start rule
+     */
+    public abstract <P extends Parser, T> T parse(P parser, Function<P, T> rule);
+
+    /**
+     * Runs the given start rule with SLL prediction, bailing out on the first
+     * syntax error.
+     * 
+     * @return The result of the rule, or null if the input could not be
+     *         parsed with SLL prediction. The parser is then reset to the
+     *         start of its input with its error listeners and the default
+     *         error handling restored.
+     */
+    public static <P extends Parser, T> T trySLL(final P parser, final Function<P, T> rule) {
+        final List<ANTLRErrorListener> errorListeners = new ArrayList<>(parser.getErrorListeners());
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.removeErrorListeners();
+        parser.setErrorHandler(new BailErrorStrategy());
+        try {
+            return rule.apply(parser);
+        } catch (final ParseCancellationException e) {
+            parser.reset();
+            parser.setErrorHandler(new DefaultErrorStrategy());
+
+            return null;
+        } finally {
+            errorListeners.forEach(parser::addErrorListener);
+        }
+    }
+
+}
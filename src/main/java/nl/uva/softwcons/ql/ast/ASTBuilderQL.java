@@ -95,70 +95,32 @@ public class ASTBuilderQL extends QLBaseVisitor<ASTNode> {
 
     @Override
     public BinaryExpression visitMulDivExpr(final MulDivExprContext ctx) {
-        final Expression leftExpression = (Expression) ctx.expr(0).accept(this);
-        final Expression rightExpression = (Expression) ctx.expr(1).accept(this);
-
-        switch (ctx.op.getText()) {
-        case "*":
-            return new Multiplication(leftExpression, rightExpression, extractLineInfo(ctx.op));
-        case "/":
-            return new Division(leftExpression, rightExpression, extractLineInfo(ctx.op));
-        default:
-            throw new IllegalArgumentException("Unsupported operator in expression.");
-        }
+        return buildBinaryExpression(ctx.op, (Expression) ctx.expr(0).accept(this),
+                (Expression) ctx.expr(1).accept(this));
     }
 
     @Override
-    public ASTNode visitAddSubExpr(final AddSubExprContext ctx) {
-        final Expression leftExpression = (Expression) ctx.expr(0).accept(this);
-        final Expression rightExpression = (Expression) ctx.expr(1).accept(this);
-
-        switch (ctx.op.getText()) {
-        case "-":
-            return new Subtraction(leftExpression, rightExpression, extractLineInfo(ctx.op));
-        case "+":
-            return new Addition(leftExpression, rightExpression, extractLineInfo(ctx.op));
-
-        default:
-            throw new IllegalArgumentException("Unsupported operator in expression.");
-        }
+    public BinaryExpression visitAddSubExpr(final AddSubExprContext ctx) {
+        return buildBinaryExpression(ctx.op, (Expression) ctx.expr(0).accept(this),
+                (Expression) ctx.expr(1).accept(this));
     }
 
     @Override
-    public ASTNode visitComparisonExpr(final ComparisonExprContext ctx) {
-        final Expression leftExpression = (Expression) ctx.expr(0).accept(this);
-        final Expression rightExpression = (Expression) ctx.expr(1).accept(this);
-
-        switch (ctx.op.getText()) {
-        case "<":
-            return new LowerThan(leftExpression, rightExpression, extractLineInfo(ctx.op));
-        case "<=":
-            return new LowerOrEqual(leftExpression, rightExpression, extractLineInfo(ctx.op));
-        case "==":
-            return new Equal(leftExpression, rightExpression, extractLineInfo(ctx.op));
-        case "!=":
-            return new NotEqual(leftExpression, rightExpression, extractLineInfo(ctx.op));
-        case ">=":
-            return new GreaterOrEqual(leftExpression, rightExpression, extractLineInfo(ctx.op));
-        case ">":
-            return new GreaterThan(leftExpression, rightExpression, extractLineInfo(ctx.op));
-        default:
-            throw new IllegalArgumentException("Unsupported operator in expression.");
-        }
+    public BinaryExpression visitComparisonExpr(final ComparisonExprContext ctx) {
+        return buildBinaryExpression(ctx.op, (Expression) ctx.expr(0).accept(this),
+                (Expression) ctx.expr(1).accept(this));
     }
 
     @Override
-    public And visitAndExpr(final AndExprContext ctx) {
-        final Expression leftExpression = (Expression) ctx.expr(0).accept(this);
-        final Expression rightExpression = (Expression) ctx.expr(1).accept(this);
-        return new And(leftExpression, rightExpression, extractLineInfo(ctx.AND().getSymbol()));
+    public BinaryExpression visitAndExpr(final AndExprContext ctx) {
+        return buildBinaryExpression(ctx.op, (Expression) ctx.expr(0).accept(this),
+                (Expression) ctx.expr(1).accept(this));
     }
 
     @Override
-    public Or visitOrExpr(final OrExprContext ctx) {
-        final Expression leftExpression = (Expression) ctx.expr(0).accept(this);
-        final Expression rightExpression = (Expression) ctx.expr(1).accept(this);
-        return new Or(leftExpression, rightExpression, extractLineInfo(ctx.OR().getSymbol()));
+    public BinaryExpression visitOrExpr(final OrExprContext ctx) {
+        return buildBinaryExpression(ctx.op, (Expression) ctx.expr(0).accept(this),
+                (Expression) ctx.expr(1).accept(this));
     }
 
     @Override
@@ -191,6 +153,40 @@ public class ASTBuilderQL extends QLBaseVisitor<ASTNode> {
         return new Identifier(ctx.ID().getText(), extractLineInfo(ctx.ID().getSymbol()));
     }
 
+    public static BinaryExpression buildBinaryExpression(final Token op, final Expression leftExpression,
+            final Expression rightExpression) {
+        final LineInfo lineInfo = extractLineInfo(op);
+
+        switch (op.getText()) {
+        case "*":
+            return new Multiplication(leftExpression, rightExpression, lineInfo);
+        case "/":
+            return new Division(leftExpression, rightExpression, lineInfo);
+        case "-":
+            return new Subtraction(leftExpression, rightExpression, lineInfo);
+        case "+":
+            return new Addition(leftExpression, rightExpression, lineInfo);
+        case "<":
+            return new LowerThan(leftExpression, rightExpression, lineInfo);
+        case "<=":
+            return new LowerOrEqual(leftExpression, rightExpression, lineInfo);
+        case "==":
+            return new Equal(leftExpression, rightExpression, lineInfo);
+        case "!=":
+            return new NotEqual(leftExpression, rightExpression, lineInfo);
+        case ">=":
+            return new GreaterOrEqual(leftExpression, rightExpression, lineInfo);
+        case ">":
+            return new GreaterThan(leftExpression, rightExpression, lineInfo);
+        case "&&":
+            return new And(leftExpression, rightExpression, lineInfo);
+        case "||":
+            return new Or(leftExpression, rightExpression, lineInfo);
+        default:
+            throw new IllegalArgumentException("Unsupported operator in expression.");
+        }
+    }
+
     public static LineInfo extractLineInfo(final Token token) {
         return new LineInfo(token.getLine(), token.getCharPositionInLine());
     }
@@ -0,0 +1,198 @@
+package nl.uva.softwcons.ql.ast;
+
+import static nl.uva.softwcons.ql.ast.ASTBuilderQL.buildBinaryExpression;
+import static nl.uva.softwcons.ql.ast.ASTBuilderQL.extractLineInfo;
+import static nl.uva.softwcons.ql.ast.ASTBuilderQL.getType;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+import nl.uva.softwcons.generated.QLBaseListener;
+import nl.uva.softwcons.generated.QLParser.AddSubExprContext;
+import nl.uva.softwcons.generated.QLParser.AndExprContext;
+import nl.uva.softwcons.generated.QLParser.BooleanContext;
+import nl.uva.softwcons.generated.QLParser.ComparisonExprContext;
+import nl.uva.softwcons.generated.QLParser.ComputedQuestionContext;
+import nl.uva.softwcons.generated.QLParser.ConditionalContext;
+import nl.uva.softwcons.generated.QLParser.FormContext;
+import nl.uva.softwcons.generated.QLParser.IdContext;
+import nl.uva.softwcons.generated.QLParser.MulDivExprContext;
+import nl.uva.softwcons.generated.QLParser.NotExprContext;
+import nl.uva.softwcons.generated.QLParser.NumberContext;
+import nl.uva.softwcons.generated.QLParser.OrExprContext;
+import nl.uva.softwcons.generated.QLParser.SimpleQuestionContext;
+import nl.uva.softwcons.generated.QLParser.StringContext;
+import nl.uva.softwcons.generated.QLParser.TypeContext;
+import nl.uva.softwcons.ql.ast.expression.Expression;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.expression.literal.BooleanLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.NumberLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.StringLiteral;
+import nl.uva.softwcons.ql.ast.expression.unary.logical.Not;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.ast.statement.ComputedQuestion;
+import nl.uva.softwcons.ql.ast.statement.Conditional;
+import nl.uva.softwcons.ql.ast.statement.Question;
+import nl.uva.softwcons.ql.ast.statement.Statement;
+import nl.uva.softwcons.ql.ast.type.Type;
+import nl.uva.softwcons.ql.util.Utils;
+
+import org.antlr.v4.runtime.Token;
+
+/**
+ * Builds the same AST as {@link ASTBuilderQL}, but while the parser runs, so
+ * that no parse tree has to be kept. It is meant to be registered as a parse
+ * listener on a parser that does not build parse trees; the contexts it
+ * receives then have no children and only their labelled tokens are used.
+ * Finished nodes are kept on a stack until the enclosing rule is exited.
+ */
+public class ASTListenerQL extends QLBaseListener {
+    private final Deque<Object> nodes;
+    private final Deque<Integer> marks;
+    private Form form;
+
+    public ASTListenerQL() {
+        this.nodes = new ArrayDeque<>();
+        this.marks = new ArrayDeque<>();
+    }
+
+    public Form getForm() {
+        return form;
+    }
+
+    @Override
+    public void enterForm(final FormContext ctx) {
+        nodes.clear();
+        marks.clear();
+        marks.push(nodes.size());
+    }
+
+    @Override
+    public void exitForm(final FormContext ctx) {
+        final List<Statement> statements = popSinceMark();
+
+        this.form = new Form(identifier(ctx.name), statements);
+    }
+
+    @Override
+    public void exitSimpleQuestion(final SimpleQuestionContext ctx) {
+        final Type type = (Type) nodes.pop();
+
+        nodes.push(new Question(identifier(ctx.id), Utils.unquote(ctx.label.getText()), type));
+    }
+
+    @Override
+    public void exitComputedQuestion(final ComputedQuestionContext ctx) {
+        final Expression value = (Expression) nodes.pop();
+        final Type type = (Type) nodes.pop();
+
+        nodes.push(new ComputedQuestion(identifier(ctx.id), Utils.unquote(ctx.label.getText()), type, value));
+    }
+
+    @Override
+    public void enterConditional(final ConditionalContext ctx) {
+        marks.push(nodes.size());
+    }
+
+    @Override
+    public void exitConditional(final ConditionalContext ctx) {
+        final List<Object> children = popSinceMark();
+        final Expression condition = (Expression) children.get(0);
+        final List<Question> questions = new ArrayList<>(children.size() - 1);
+        children.subList(1, children.size()).forEach(q -> questions.add((Question) q));
+
+        nodes.push(new Conditional(condition, questions));
+    }
+
+    @Override
+    public void exitType(final TypeContext ctx) {
+        nodes.push(getType(ctx.getStart().getText()));
+    }
+
+    @Override
+    public void exitMulDivExpr(final MulDivExprContext ctx) {
+        pushBinaryExpression(ctx.op);
+    }
+
+    @Override
+    public void exitAddSubExpr(final AddSubExprContext ctx) {
+        pushBinaryExpression(ctx.op);
+    }
+
+    @Override
+    public void exitComparisonExpr(final ComparisonExprContext ctx) {
+        pushBinaryExpression(ctx.op);
+    }
+
+    @Override
+    public void exitAndExpr(final AndExprContext ctx) {
+        pushBinaryExpression(ctx.op);
+    }
+
+    @Override
+    public void exitOrExpr(final OrExprContext ctx) {
+        pushBinaryExpression(ctx.op);
+    }
+
+    @Override
+    public void exitNotExpr(final NotExprContext ctx) {
+        nodes.push(new Not((Expression) nodes.pop(), extractLineInfo(ctx.getStart())));
+    }
+
+    @Override
+    public void exitBoolean(final BooleanContext ctx) {
+        final Token token = ctx.getStart();
+
+        nodes.push(new BooleanLiteral(Boolean.valueOf(token.getText()), extractLineInfo(token)));
+    }
+
+    @Override
+    public void exitString(final StringContext ctx) {
+        final Token token = ctx.getStart();
+
+        nodes.push(new StringLiteral(Utils.unquote(token.getText()), extractLineInfo(token)));
+    }
+
+    @Override
+    public void exitNumber(final NumberContext ctx) {
+        final Token token = ctx.getStart();
+
+        nodes.push(new NumberLiteral(Double.valueOf(token.getText()), extractLineInfo(token)));
+    }
+
+    @Override
+    public void exitId(final IdContext ctx) {
+        nodes.push(identifier(ctx.getStart()));
+    }
+
+    private void pushBinaryExpression(final Token op) {
+        final Expression right = (Expression) nodes.pop();
+        final Expression left = (Expression) nodes.pop();
+
+        nodes.push(buildBinaryExpression(op, left, right));
+    }
+
+    /**
+     * Removes and returns, in source order, the nodes pushed since the most
+     * recent mark.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<T> popSinceMark() {
+        final int count = nodes.size() - marks.pop();
+        final List<T> children = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            children.add((T) nodes.pop());
+        }
+        Collections.reverse(children);
+
+        return children;
+    }
+
+    private static Identifier identifier(final Token token) {
+        return new Identifier(token.getText(), extractLineInfo(token));
+    }
+
+}
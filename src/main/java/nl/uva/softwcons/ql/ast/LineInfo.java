@@ -17,4 +17,17 @@ public class LineInfo {
         return positionInLine;
     }
 
+    public boolean isBefore(final LineInfo other) {
+        return line < other.line || line == other.line && positionInLine < other.positionInLine;
+    }
+
+    /**
+     * Returns the position after the lines from the given position on have
+     * moved by the given number of lines. Positions before it are returned
+     * unchanged.
+     */
+    public LineInfo moveLines(final LineInfo from, final int lineDelta) {
+        return lineDelta == 0 || isBefore(from) ? this : new LineInfo(line + lineDelta, positionInLine);
+    }
+
 }
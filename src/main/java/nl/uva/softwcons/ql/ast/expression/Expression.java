@@ -2,9 +2,11 @@ package nl.uva.softwcons.ql.ast.expression;
 
 import nl.uva.softwcons.ql.ast.ASTNode;
 import nl.uva.softwcons.ql.ast.LineInfo;
+import nl.uva.softwcons.ql.ast.expression.identifier.VariableSet;
 
 public abstract class Expression implements ASTNode {
     private final LineInfo lineInfo;
+    private volatile VariableSet variables;
 
     public Expression(final LineInfo lineInfo) {
         this.lineInfo = lineInfo;
@@ -15,4 +17,21 @@ public abstract class Expression implements ASTNode {
     public LineInfo getLineInfo() {
         return lineInfo;
     }
+
+    /**
+     * Returns the variables of this expression if they have been cached
+     * before, or null otherwise.
+     */
+    public VariableSet getCachedVariables() {
+        return variables;
+    }
+
+    /**
+     * Caches the variables referenced by this expression. Expressions are not
+     * modified after they are built, so the set stays valid for the lifetime
+     * of the node.
+     */
+    public void cacheVariables(final VariableSet variables) {
+        this.variables = variables;
+    }
 }
@@ -6,10 +6,12 @@ import nl.uva.softwcons.ql.ast.expression.ExpressionVisitor;
 
 public class Identifier extends Expression {
     private final String name;
+    private final int hash;
 
     public Identifier(final String name, final LineInfo lineInfo) {
         super(lineInfo);
         this.name = name;
+        this.hash = name.hashCode();
     }
 
     public String getName() {
@@ -23,10 +25,7 @@ public class Identifier extends Expression {
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + ((name == null) ? 0 : name.hashCode());
-        return result;
+        return hash;
     }
 
     @Override
@@ -41,8 +40,7 @@ public class Identifier extends Expression {
             return false;
         }
         final Identifier other = (Identifier) obj;
-
-        return name.equals(other.name);
+        return hash == other.hash && name.equals(other.name);
     }
 
 }
@@ -0,0 +1,96 @@
+package nl.uva.softwcons.ql.ast.expression.identifier;
+
+import static nl.uva.softwcons.ql.ast.symbol.SymbolTable.UNRESOLVED_SLOT;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import nl.uva.softwcons.ql.ast.symbol.SymbolTable;
+
+/**
+ * An immutable set of the distinct identifiers referenced by an expression,
+ * kept in the order of their first occurrence in a plain array. The slots of
+ * the identifiers are resolved once per symbol table and shared by all
+ * callers of {@link #getSlots(SymbolTable)}.
+ */
+public final class VariableSet extends AbstractSet<Identifier> {
+    public static final VariableSet EMPTY = new VariableSet(new Identifier[0]);
+
+    private final Identifier[] variables;
+    private volatile ResolvedSlots resolvedSlots;
+
+    public VariableSet(final Identifier[] variables) {
+        this.variables = variables;
+    }
+
+    @Override
+    public int size() {
+        return variables.length;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        for (final Identifier variable : variables) {
+            if (variable.equals(o)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public Iterator<Identifier> iterator() {
+        return new Iterator<Identifier>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < variables.length;
+            }
+
+            @Override
+            public Identifier next() {
+                if (next == variables.length) {
+                    throw new NoSuchElementException();
+                }
+                return variables[next++];
+            }
+        };
+    }
+
+    /**
+     * Returns the slots of the variables that are declared in the given table,
+     * in the order of the variables. The array is shared and must not be
+     * modified.
+     *
+     * @param symbolTable
+     *            The symbol table of the form containing the expression
+     * @return The resolved slots of the variables
+     */
+    public int[] getSlots(final SymbolTable symbolTable) {
+        final ResolvedSlots resolved = this.resolvedSlots;
+        if (resolved != null && resolved.table == symbolTable) {
+            return resolved.slots;
+        }
+
+        final int[] slots = Arrays.stream(variables).mapToInt(symbolTable::getSlot)
+                .filter(slot -> slot != UNRESOLVED_SLOT).toArray();
+        this.resolvedSlots = new ResolvedSlots(symbolTable, slots);
+
+        return slots;
+    }
+
+    private static final class ResolvedSlots {
+        private final SymbolTable table;
+        private final int[] slots;
+
+        private ResolvedSlots(final SymbolTable table, final int[] slots) {
+            this.table = table;
+            this.slots = slots;
+        }
+    }
+
+}
@@ -14,6 +14,11 @@ public class NumberLiteral extends Expression {
         this.value = new BigDecimal(value);
     }
 
+    public NumberLiteral(final BigDecimal value, final LineInfo lineInfo) {
+        super(lineInfo);
+        this.value = value;
+    }
+
     public BigDecimal getValue() {
         return value;
     }
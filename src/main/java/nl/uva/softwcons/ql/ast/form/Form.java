@@ -6,14 +6,18 @@ import nl.uva.softwcons.ql.ast.ASTNode;
 import nl.uva.softwcons.ql.ast.LineInfo;
 import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
 import nl.uva.softwcons.ql.ast.statement.Statement;
+import nl.uva.softwcons.ql.ast.symbol.SymbolResolver;
+import nl.uva.softwcons.ql.ast.symbol.SymbolTable;
 
 public class Form implements ASTNode {
     private final Identifier name;
     private final List<Statement> statements;
+    private final SymbolTable symbolTable;
 
     public Form(final Identifier name, final List<Statement> statements) {
         this.name = name;
         this.statements = statements;
+        this.symbolTable = SymbolResolver.resolve(statements);
     }
 
     public Identifier getName() {
@@ -24,6 +28,10 @@ public class Form implements ASTNode {
         return statements;
     }
 
+    public SymbolTable getSymbolTable() {
+        return symbolTable;
+    }
+
     public <T> T accept(final FormVisitor<T> visitor) {
         return visitor.visit(this);
     }
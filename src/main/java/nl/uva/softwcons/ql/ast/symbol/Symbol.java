@@ -0,0 +1,58 @@
+package nl.uva.softwcons.ql.ast.symbol;
+
+/**
+ * The canonical representation of a name within a form. Every occurrence of
+ * the same name in a form is bound to the same symbol, so symbols of one
+ * table can be compared by reference and carry a precomputed hash.
+ */
+public final class Symbol {
+    private final SymbolTable table;
+    private final String name;
+    private final int id;
+    private final int hash;
+    private final boolean declared;
+
+    Symbol(final SymbolTable table, final String name, final int id, final boolean declared) {
+        this.table = table;
+        this.name = name;
+        this.id = id;
+        this.hash = name.hashCode();
+        this.declared = declared;
+    }
+
+    public SymbolTable getTable() {
+        return table;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the id of this symbol in its table. Declared questions are
+     * numbered first, so the id of a declared symbol is also its slot.
+     *
+     * @return The id of the symbol
+     */
+    public int getId() {
+        return id;
+    }
+
+    public int getHash() {
+        return hash;
+    }
+
+    public boolean isDeclared() {
+        return declared;
+    }
+
+    public int getSlot() {
+        return declared ? id : SymbolTable.UNRESOLVED_SLOT;
+    }
+
+    @Override
+    public String toString() {
+        return name + "#" + id;
+    }
+
+}
@@ -0,0 +1,203 @@
+package nl.uva.softwcons.ql.ast.symbol;
+
+import java.util.List;
+
+import nl.uva.softwcons.ql.ast.expression.ExpressionVisitor;
+import nl.uva.softwcons.ql.ast.expression.binary.BinaryExpression;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Addition;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Division;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Multiplication;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Subtraction;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.Equal;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.GreaterOrEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.GreaterThan;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.LowerOrEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.LowerThan;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.NotEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.And;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.Or;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.expression.literal.BooleanLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.NumberLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.StringLiteral;
+import nl.uva.softwcons.ql.ast.expression.unary.logical.Not;
+import nl.uva.softwcons.ql.ast.statement.ComputedQuestion;
+import nl.uva.softwcons.ql.ast.statement.Conditional;
+import nl.uva.softwcons.ql.ast.statement.Question;
+import nl.uva.softwcons.ql.ast.statement.Statement;
+import nl.uva.softwcons.ql.ast.statement.StatementVisitor;
+
+/**
+ * Assigns a slot to every question of a form and binds all identifiers in the
+ * form (both question declarations and references in expressions) to the
+ * symbol of their name. References to names that are not declared as
+ * questions are interned as well, but their symbols have no slot.
+ */
+public final class SymbolResolver implements StatementVisitor<Void>, ExpressionVisitor<Void> {
+    private final SymbolTable symbolTable;
+
+    /**
+     * Resolves the names in the given statements. The statements of a form
+     * that was recovered from syntax errors may contain null entries, which
+     * are skipped.
+     */
+    public static SymbolTable resolve(final List<? extends Statement> statements) {
+        final SymbolResolver resolver = new SymbolResolver();
+        final DeclarationCollector declarations = resolver.new DeclarationCollector();
+        visitAll(statements, declarations);
+        visitAll(statements, resolver);
+
+        return resolver.symbolTable;
+    }
+
+    private SymbolResolver() {
+        this.symbolTable = new SymbolTable();
+    }
+
+    @Override
+    public Void visit(final ComputedQuestion question) {
+        question.getId().accept(this);
+        question.getExpression().accept(this);
+        return null;
+    }
+
+    @Override
+    public Void visit(final Question question) {
+        question.getId().accept(this);
+        return null;
+    }
+
+    @Override
+    public Void visit(final Conditional conditional) {
+        conditional.getExpression().accept(this);
+        visitAll(conditional.getQuestions(), this);
+        return null;
+    }
+
+    @Override
+    public Void visit(final Addition expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final Division expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final Multiplication expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final Subtraction expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final Equal expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final GreaterOrEqual expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final GreaterThan expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final LowerOrEqual expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final LowerThan expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final NotEqual expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final And expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final Or expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final Not expr) {
+        return visitUnaryOperand(expr);
+    }
+
+    @Override
+    public Void visit(final Identifier questionId) {
+        this.symbolTable.bind(questionId, this.symbolTable.intern(questionId.getName()));
+        return null;
+    }
+
+    @Override
+    public Void visit(final BooleanLiteral expr) {
+        return null;
+    }
+
+    @Override
+    public Void visit(final StringLiteral expr) {
+        return null;
+    }
+
+    @Override
+    public Void visit(final NumberLiteral expr) {
+        return null;
+    }
+
+    private static void visitAll(final List<? extends Statement> statements, final StatementVisitor<Void> visitor) {
+        for (final Statement statement : statements) {
+            if (statement != null) {
+                statement.accept(visitor);
+            }
+        }
+    }
+
+    private Void visitOperands(final BinaryExpression expr) {
+        visitLeftOperand(expr);
+        visitRightOperand(expr);
+        return null;
+    }
+
+    /**
+     * Defines a slot for every question in declaration order, so that
+     * references preceding the declaration of a question are bound as well.
+     */
+    private class DeclarationCollector implements StatementVisitor<Void> {
+
+        @Override
+        public Void visit(final ComputedQuestion question) {
+            symbolTable.define(question.getId().getName());
+            return null;
+        }
+
+        @Override
+        public Void visit(final Question question) {
+            symbolTable.define(question.getId().getName());
+            return null;
+        }
+
+        @Override
+        public Void visit(final Conditional conditional) {
+            visitAll(conditional.getQuestions(), this);
+            return null;
+        }
+
+    }
+
+}
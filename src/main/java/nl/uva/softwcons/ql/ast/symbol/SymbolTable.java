@@ -0,0 +1,97 @@
+package nl.uva.softwcons.ql.ast.symbol;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+
+/**
+ * Interns the names used in a form into {@link Symbol}s. The questions of the
+ * form are defined first and get dense integer slots, starting from 0 in
+ * declaration order; names that are only referenced get the ids after those.
+ * The {@link SymbolResolver} binds every identifier node of the form to the
+ * symbol of its name in this table, so looking those nodes up does not
+ * involve hashing their name. The bindings are kept here rather than on the
+ * nodes, because forms created from edits or rewrites share nodes with other
+ * forms.
+ */
+public class SymbolTable {
+    public static final int UNRESOLVED_SLOT = -1;
+
+    private final Map<String, Symbol> symbols;
+    private final Map<Identifier, Symbol> bindings;
+    private int declaredCount;
+
+    public SymbolTable() {
+        this.symbols = new HashMap<>();
+        this.bindings = new IdentityHashMap<>();
+    }
+
+    /**
+     * Returns the slot of the given identifier or {@link #UNRESOLVED_SLOT} if
+     * no question with that name is defined in this table.
+     *
+     * @param id
+     *            The identifier whose slot should be found
+     * @return The slot of the identifier
+     */
+    public int getSlot(final Identifier id) {
+        final Symbol symbol = this.bindings.get(id);
+        return symbol == null ? lookup(id.getName()) : symbol.getSlot();
+    }
+
+    /**
+     * Returns the symbol the given identifier node is bound to, or null if
+     * the node is not part of the form of this table.
+     *
+     * @param id
+     *            The identifier node to look up
+     * @return The symbol of the identifier
+     */
+    public Symbol getSymbol(final Identifier id) {
+        return this.bindings.get(id);
+    }
+
+    /**
+     * Returns the symbol interned for the given name, or null if the name
+     * does not occur in the form of this table.
+     *
+     * @param name
+     *            The name to look up
+     * @return The symbol of the name
+     */
+    public Symbol getSymbol(final String name) {
+        return this.symbols.get(name);
+    }
+
+    /**
+     * Returns the number of slots, i.e. of distinct questions declared in the
+     * form. Names that are only referenced are not counted.
+     */
+    public int size() {
+        return this.declaredCount;
+    }
+
+    public int symbolCount() {
+        return this.symbols.size();
+    }
+
+    Symbol define(final String name) {
+        return this.symbols.computeIfAbsent(name, n -> new Symbol(this, n, this.declaredCount++, true));
+    }
+
+    void bind(final Identifier id, final Symbol symbol) {
+        this.bindings.put(id, symbol);
+    }
+
+    Symbol intern(final String name) {
+        return this.symbols.computeIfAbsent(name, n -> new Symbol(this, n, this.symbols.size(), false));
+    }
+
+    int lookup(final String name) {
+        final Symbol symbol = this.symbols.get(name);
+        return symbol == null ? UNRESOLVED_SLOT : symbol.getSlot();
+    }
+
+}
@@ -0,0 +1,13 @@
+package nl.uva.softwcons.ql.eval;
+
+import nl.uva.softwcons.ql.eval.value.Value;
+
+/**
+ * An expression that has been translated by the {@link ExpressionCompiler}
+ * into a tree of closures and can be evaluated against form answers without
+ * visiting the AST.
+ */
+@FunctionalInterface
+public interface CompiledExpression {
+    Value evaluate(FormAnswers answers);
+}
@@ -0,0 +1,152 @@
+package nl.uva.softwcons.ql.eval;
+
+import static nl.uva.softwcons.ql.eval.value.UndefinedValue.UNDEFINED;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.uva.softwcons.ql.ast.expression.Expression;
+import nl.uva.softwcons.ql.ast.expression.ExpressionVisitor;
+import nl.uva.softwcons.ql.ast.expression.binary.BinaryExpression;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Addition;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Division;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Multiplication;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Subtraction;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.Equal;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.GreaterOrEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.GreaterThan;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.LowerOrEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.LowerThan;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.NotEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.And;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.Or;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.expression.literal.BooleanLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.NumberLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.StringLiteral;
+import nl.uva.softwcons.ql.ast.expression.unary.logical.Not;
+
+/**
+ * Decides whether an expression evaluates to a defined value without computing
+ * it. Every operator except {@link Or} is undefined exactly when one of its
+ * operands is, so an expression is defined when all identifiers it references
+ * outside of a disjunction are answered and all those outermost disjunctions
+ * evaluate to a defined value. These are the strict operands of the
+ * expression.
+ */
+final class DefinednessProbe implements ExpressionVisitor<Void> {
+    private final List<Expression> strictOperands = new ArrayList<>();
+
+    private DefinednessProbe() {
+    }
+
+    static List<Expression> getStrictOperands(final Expression expr) {
+        final DefinednessProbe probe = new DefinednessProbe();
+        expr.accept(probe);
+
+        return probe.strictOperands;
+    }
+
+    static boolean isDefined(final Expression expr, final FormAnswers answers) {
+        return getStrictOperands(expr).stream().allMatch(
+                operand -> ExpressionEvaluator.evaluate(operand, answers) != UNDEFINED);
+    }
+
+    @Override
+    public Void visit(final Addition expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final Division expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final Multiplication expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final Subtraction expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final Equal expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final GreaterOrEqual expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final GreaterThan expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final LowerOrEqual expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final LowerThan expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final NotEqual expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final And expr) {
+        return visitOperands(expr);
+    }
+
+    @Override
+    public Void visit(final Or expr) {
+        this.strictOperands.add(expr);
+        return null;
+    }
+
+    @Override
+    public Void visit(final Not expr) {
+        return visitUnaryOperand(expr);
+    }
+
+    @Override
+    public Void visit(final Identifier questionId) {
+        if (!this.strictOperands.contains(questionId)) {
+            this.strictOperands.add(questionId);
+        }
+
+        return null;
+    }
+
+    @Override
+    public Void visit(final BooleanLiteral expr) {
+        return null;
+    }
+
+    @Override
+    public Void visit(final StringLiteral expr) {
+        return null;
+    }
+
+    @Override
+    public Void visit(final NumberLiteral expr) {
+        return null;
+    }
+
+    private Void visitOperands(final BinaryExpression expr) {
+        visitLeftOperand(expr);
+        visitRightOperand(expr);
+
+        return null;
+    }
+
+}
@@ -0,0 +1,255 @@
+package nl.uva.softwcons.ql.eval;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.ast.form.FormVisitor;
+import nl.uva.softwcons.ql.ast.statement.ComputedQuestion;
+import nl.uva.softwcons.ql.ast.statement.Conditional;
+import nl.uva.softwcons.ql.ast.statement.Question;
+import nl.uva.softwcons.ql.ast.statement.Statement;
+import nl.uva.softwcons.ql.ast.statement.StatementVisitor;
+
+/**
+ * The dependencies between the computed questions and conditionals of a form.
+ * Nodes are numbered in topological order, so every node comes after all the
+ * computed questions its expression references, and after the conditional it
+ * is declared in. Nodes that take part in a cyclic dependency are placed after
+ * all other nodes in declaration order.
+ */
+public class DependencyGraph implements FormVisitor<Void>, StatementVisitor<Void> {
+    public static final int NO_CONDITIONAL = -1;
+
+    private static final int[] NO_DEPENDANTS = new int[0];
+
+    private final List<Statement> declaredNodes;
+    private final Map<Statement, Conditional> enclosingConditionals;
+    private final Map<Statement, List<Statement>> nestedNodes;
+    private final List<Statement> nodes;
+    private final int[][] nodeDependants;
+    private final int[][] nodeDependencies;
+    private final int[] nodeConditionals;
+    private final Map<Identifier, int[]> identifierDependants;
+    private final Map<Statement, Integer> positions;
+
+    public DependencyGraph(final Form form) {
+        this.declaredNodes = new ArrayList<>();
+        this.enclosingConditionals = new IdentityHashMap<>();
+        this.nestedNodes = new IdentityHashMap<>();
+        form.accept(this);
+
+        final ReferenceResolver references = new ReferenceResolver(form);
+        this.nodes = sortTopologically(references);
+        this.nodeDependants = new int[this.nodes.size()][];
+        this.identifierDependants = new HashMap<>();
+
+        this.positions = new IdentityHashMap<>();
+        for (int i = 0; i < this.nodes.size(); i++) {
+            this.positions.put(this.nodes.get(i), i);
+        }
+
+        for (int i = 0; i < this.nodes.size(); i++) {
+            this.nodeDependants[i] = toPositions(getDirectDependants(references, this.nodes.get(i)),
+                    this.positions);
+        }
+
+        this.nodeDependencies = invert(this.nodeDependants);
+        this.nodeConditionals = new int[this.nodes.size()];
+        for (int i = 0; i < this.nodes.size(); i++) {
+            final Conditional conditional = this.enclosingConditionals.get(this.nodes.get(i));
+            this.nodeConditionals[i] = conditional == null ? NO_CONDITIONAL : this.positions.get(conditional);
+        }
+
+        references.getReferencedIdentifiers().forEach(
+                id -> this.identifierDependants.put(id,
+                        toPositions(getDirectDependants(references, id), this.positions)));
+    }
+
+    public int size() {
+        return this.nodes.size();
+    }
+
+    public Statement getNode(final int position) {
+        return this.nodes.get(position);
+    }
+
+    public int getPosition(final Statement node) {
+        return this.positions.get(node);
+    }
+
+    /**
+     * Returns the positions of the nodes whose expressions reference the value
+     * of the node on the given position.
+     */
+    public int[] getDependants(final int position) {
+        return this.nodeDependants[position];
+    }
+
+    /**
+     * Returns the positions of the computed questions the expression of the
+     * node on the given position references.
+     */
+    public int[] getDependencies(final int position) {
+        return this.nodeDependencies[position];
+    }
+
+    /**
+     * Returns the position of the conditional the node on the given position
+     * is declared in, or {@link #NO_CONDITIONAL} for top-level nodes.
+     */
+    public int getEnclosingConditional(final int position) {
+        return this.nodeConditionals[position];
+    }
+
+    /**
+     * Returns the positions of the nodes whose expressions reference the given
+     * identifier.
+     */
+    public int[] getDependants(final Identifier variable) {
+        return this.identifierDependants.getOrDefault(variable, NO_DEPENDANTS);
+    }
+
+    @Override
+    public Void visit(final Form form) {
+        form.getStatements().forEach(st -> st.accept(this));
+        return null;
+    }
+
+    @Override
+    public Void visit(final ComputedQuestion question) {
+        this.declaredNodes.add(question);
+
+        final Conditional conditional = this.enclosingConditionals.get(question);
+        if (conditional != null) {
+            this.nestedNodes.computeIfAbsent(conditional, c -> new ArrayList<>()).add(question);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(final Question question) {
+        return null;
+    }
+
+    @Override
+    public Void visit(final Conditional conditional) {
+        this.declaredNodes.add(conditional);
+        conditional.getQuestions().forEach(q -> {
+            this.enclosingConditionals.put(q, conditional);
+            q.accept(this);
+        });
+        return null;
+    }
+
+    /**
+     * Orders the declared nodes with Kahn's algorithm, preferring declaration
+     * order between nodes that do not depend on each other. Conditionals are
+     * ordered before the computed questions declared in them.
+     */
+    private List<Statement> sortTopologically(final ReferenceResolver references) {
+        final Map<Statement, Integer> declarationIndex = new IdentityHashMap<>();
+        for (int i = 0; i < this.declaredNodes.size(); i++) {
+            declarationIndex.put(this.declaredNodes.get(i), i);
+        }
+
+        final int[] inDegree = new int[this.declaredNodes.size()];
+        for (final Statement node : this.declaredNodes) {
+            for (final Statement successor : getSuccessors(references, node)) {
+                inDegree[declarationIndex.get(successor)]++;
+            }
+        }
+
+        final PriorityQueue<Integer> ready = new PriorityQueue<>();
+        for (int i = 0; i < inDegree.length; i++) {
+            if (inDegree[i] == 0) {
+                ready.add(i);
+            }
+        }
+
+        final List<Statement> sorted = new ArrayList<>(this.declaredNodes.size());
+        final boolean[] placed = new boolean[this.declaredNodes.size()];
+        while (!ready.isEmpty()) {
+            final int index = ready.poll();
+            final Statement node = this.declaredNodes.get(index);
+            sorted.add(node);
+            placed[index] = true;
+
+            for (final Statement successor : getSuccessors(references, node)) {
+                final int successorIndex = declarationIndex.get(successor);
+                if (--inDegree[successorIndex] == 0) {
+                    ready.add(successorIndex);
+                }
+            }
+        }
+
+        for (int i = 0; i < placed.length; i++) {
+            if (!placed[i]) {
+                sorted.add(this.declaredNodes.get(i));
+            }
+        }
+
+        return sorted;
+    }
+
+    private List<Statement> getSuccessors(final ReferenceResolver references, final Statement node) {
+        final List<Statement> successors = getDirectDependants(references, node);
+        successors.addAll(this.nestedNodes.getOrDefault(node, Collections.emptyList()));
+
+        return successors;
+    }
+
+    private static List<Statement> getDirectDependants(final ReferenceResolver references, final Statement node) {
+        return node.accept(new StatementVisitor<List<Statement>>() {
+            @Override
+            public List<Statement> visit(final ComputedQuestion question) {
+                return getDirectDependants(references, question.getId());
+            }
+
+            @Override
+            public List<Statement> visit(final Question question) {
+                return new ArrayList<>();
+            }
+
+            @Override
+            public List<Statement> visit(final Conditional conditional) {
+                return new ArrayList<>();
+            }
+        });
+    }
+
+    private static List<Statement> getDirectDependants(final ReferenceResolver references, final Identifier id) {
+        final List<Statement> dependants = new ArrayList<>();
+        dependants.addAll(references.getReferencedQuestions(id));
+        dependants.addAll(references.getReferencedConditionals(id));
+
+        return dependants;
+    }
+
+    private static int[][] invert(final int[][] edges) {
+        final List<List<Integer>> inverted = new ArrayList<>();
+        for (int i = 0; i < edges.length; i++) {
+            inverted.add(new ArrayList<>());
+        }
+        for (int i = 0; i < edges.length; i++) {
+            for (final int target : edges[i]) {
+                inverted.get(target).add(i);
+            }
+        }
+
+        return inverted.stream().map(sources -> sources.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+    }
+
+    private static int[] toPositions(final Collection<Statement> nodes, final Map<Statement, Integer> positions) {
+        return nodes.stream().mapToInt(positions::get).distinct().sorted().toArray();
+    }
+
+}
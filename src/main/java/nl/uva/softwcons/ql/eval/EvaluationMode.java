@@ -0,0 +1,18 @@
+package nl.uva.softwcons.ql.eval;
+
+/**
+ * Determines when the {@link Evaluator} recomputes computed questions that
+ * are declared in a conditional which is currently not satisfied.
+ */
+public enum EvaluationMode {
+    /**
+     * Hidden computed questions are recomputed like all others.
+     */
+    EAGER,
+
+    /**
+     * Hidden computed questions are only marked stale, and recomputed when
+     * their value is read or their conditional becomes satisfied.
+     */
+    LAZY
+}
@@ -0,0 +1,36 @@
+package nl.uva.softwcons.ql.eval;
+
+/**
+ * Counts how many computed questions and conditionals the {@link Evaluator}
+ * recomputes when values are updated.
+ */
+public class EvaluationStatistics {
+    private int lastUpdateRecomputations;
+    private long totalRecomputations;
+    private long updates;
+
+    void recordUpdate(final int recomputations) {
+        this.lastUpdateRecomputations = recomputations;
+        this.totalRecomputations += recomputations;
+        this.updates++;
+    }
+
+    /**
+     * Returns the number of nodes recomputed by the most recent update.
+     */
+    public int getLastUpdateRecomputations() {
+        return lastUpdateRecomputations;
+    }
+
+    /**
+     * Returns the number of nodes recomputed by all updates so far.
+     */
+    public long getTotalRecomputations() {
+        return totalRecomputations;
+    }
+
+    public long getUpdates() {
+        return updates;
+    }
+
+}
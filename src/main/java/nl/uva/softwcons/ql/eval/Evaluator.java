@@ -1,52 +1,132 @@
 package nl.uva.softwcons.ql.eval;
 
+import static java.util.stream.Collectors.toList;
+import static nl.uva.softwcons.ql.ast.symbol.SymbolTable.UNRESOLVED_SLOT;
+import static nl.uva.softwcons.ql.eval.DependencyGraph.NO_CONDITIONAL;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+
 import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
 import nl.uva.softwcons.ql.ast.form.Form;
-import nl.uva.softwcons.ql.ast.form.FormVisitor;
 import nl.uva.softwcons.ql.ast.statement.Computable;
 import nl.uva.softwcons.ql.ast.statement.ComputedQuestion;
 import nl.uva.softwcons.ql.ast.statement.Conditional;
 import nl.uva.softwcons.ql.ast.statement.Question;
 import nl.uva.softwcons.ql.ast.statement.StatementVisitor;
+import nl.uva.softwcons.ql.ast.symbol.SymbolTable;
 import nl.uva.softwcons.ql.eval.value.Value;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 
-public class Evaluator implements FormVisitor<Void>, StatementVisitor<Void> {
+/**
+ * Evaluates the computed questions and conditionals of a form. Their
+ * expressions are compiled once on construction and stored per node of the
+ * {@link DependencyGraph}, so recomputing a node does not visit the AST.
+ * Subexpressions that occur in several nodes are compiled to one shared
+ * closure that is only evaluated again when its inputs change. In
+ * {@link EvaluationMode#LAZY} mode computed questions in unsatisfied
+ * conditionals are marked stale instead of being recomputed; a stale node is
+ * refreshed before anything reads its value.
+ */
+public class Evaluator implements StatementVisitor<Void> {
+    private static final int NO_NODE = -1;
+
+    private final EvaluationMode mode;
+    private final SymbolTable symbolTable;
     private final FormAnswers answers;
-    private final ReferenceResolver referencesResolver;
+    private final DependencyGraph dependencies;
+    private final EvaluationStatistics statistics;
     private final Multimap<Computable, ValueChangeListener<Value>> changeListeners = ArrayListMultimap.create();
 
+    private final Computable[] computables;
+    private final CompiledExpression[] expressions;
+    private final int[] resultSlots;
+    private final Value[] publishedValues;
+    private final int[] slotNodes;
+    private final BitSet staleNodes;
+    private int compiledNodes;
+
     public Evaluator(final Form form) {
-        this.answers = new FormAnswers();
-        this.referencesResolver = new ReferenceResolver(form);
+        this(form, EvaluationMode.EAGER);
+    }
 
-        form.accept(this);
+    public Evaluator(final Form form, final EvaluationMode mode) {
+        this(form, new DependencyGraph(form), mode);
+    }
+
+    /**
+     * Creates an evaluator that uses a dependency graph which was already
+     * built for the given form, e.g. one that was cached together with the
+     * compiled form. The graph is only read, so it can be shared by several
+     * evaluators.
+     */
+    public Evaluator(final Form form, final DependencyGraph dependencies, final EvaluationMode mode) {
+        this.mode = mode;
+        this.symbolTable = form.getSymbolTable();
+        this.answers = new FormAnswers(this.symbolTable);
+        this.dependencies = dependencies;
+        this.statistics = new EvaluationStatistics();
+
+        this.computables = new Computable[this.dependencies.size()];
+        this.expressions = new CompiledExpression[this.dependencies.size()];
+        this.resultSlots = new int[this.dependencies.size()];
+        this.publishedValues = new Value[this.dependencies.size()];
+        this.slotNodes = new int[this.symbolTable.size()];
+        this.staleNodes = new BitSet(this.dependencies.size());
+        Arrays.fill(this.slotNodes, NO_NODE);
+        for (int i = 0; i < this.dependencies.size(); i++) {
+            this.dependencies.getNode(i).accept(this);
+        }
+        ExpressionCompiler.compileAll(Arrays.stream(this.computables).map(Computable::getExpression).collect(toList()),
+                this.symbolTable).toArray(this.expressions);
+
+        final BitSet allNodes = new BitSet(this.dependencies.size());
+        allNodes.set(0, this.dependencies.size());
+        recomputeDirtyNodes(allNodes);
     }
 
     public Value getValue(final Identifier variable) {
+        final int slot = this.symbolTable.getSlot(variable);
+        final int node = slot == UNRESOLVED_SLOT ? NO_NODE : this.slotNodes[slot];
+        if (node != NO_NODE && this.staleNodes.get(node)) {
+            final BitSet changedNodes = new BitSet(this.dependencies.size());
+            refresh(node, changedNodes);
+            notifyListeners(changedNodes);
+        }
+
         return this.answers.getValue(variable);
     }
 
     public Value getValue(final Conditional conditional) {
-        return ExpressionEvaluator.evaluate(conditional.getExpression(), answers);
+        return this.expressions[this.dependencies.getPosition(conditional)].evaluate(this.answers);
     }
 
     public void updateValue(final Identifier variable, final Value value) {
-        this.answers.setValue(variable, value);
+        final BitSet dirtyNodes = new BitSet(this.dependencies.size());
+        setAnswer(dirtyNodes, variable, value);
+        propagate(dirtyNodes);
+    }
 
-        reevaluateIdentifierReferences(variable);
+    /**
+     * Applies all given answers before propagating them in a single pass, so
+     * every affected computed question and conditional is recomputed once and
+     * listeners are notified once per changed node.
+     */
+    public void updateValues(final Map<Identifier, Value> values) {
+        final BitSet dirtyNodes = new BitSet(this.dependencies.size());
+        values.forEach((variable, value) -> setAnswer(dirtyNodes, variable, value));
+        propagate(dirtyNodes);
     }
 
     public void addListener(final Computable computable, final ValueChangeListener<Value> listener) {
         this.changeListeners.put(computable, listener);
     }
 
-    @Override
-    public Void visit(final Form form) {
-        form.getStatements().forEach(st -> st.accept(this));
-        return null;
+    public EvaluationStatistics getStatistics() {
+        return statistics;
     }
 
     @Override
@@ -56,30 +136,173 @@ public class Evaluator implements FormVisitor<Void>, StatementVisitor<Void> {
 
     @Override
     public Void visit(final ComputedQuestion question) {
-        final Value resultValue = ExpressionEvaluator.evaluate(question.getExpression(), answers);
-        this.answers.setValue(question.getId(), resultValue);
-        notifyListeners(question, resultValue);
-
+        compileNode(question, this.symbolTable.getSlot(question.getId()));
         return null;
     }
 
     @Override
     public Void visit(final Conditional conditional) {
-        notifyListeners(conditional, getValue(conditional));
-
+        compileNode(conditional, UNRESOLVED_SLOT);
         return null;
     }
 
-    private void reevaluateIdentifierReferences(final Identifier variableName) {
-        this.referencesResolver.getReferencedQuestions(variableName).forEach(q -> {
-            q.accept(this);
-            this.reevaluateIdentifierReferences(q.getId());
-        });
+    private void compileNode(final Computable computable, final int resultSlot) {
+        if (resultSlot != UNRESOLVED_SLOT) {
+            this.slotNodes[resultSlot] = this.compiledNodes;
+        }
+        this.computables[this.compiledNodes] = computable;
+        this.resultSlots[this.compiledNodes] = resultSlot;
+        this.compiledNodes++;
+    }
+
+    private void setAnswer(final BitSet dirtyNodes, final Identifier variable, final Value value) {
+        if (!value.equals(this.answers.getValue(variable))) {
+            this.answers.setValue(variable, value);
+            markDirty(dirtyNodes, this.dependencies.getDependants(variable));
+        }
+    }
+
+    /**
+     * Recomputes the dirty nodes and then notifies the listeners of the nodes
+     * whose value changed.
+     */
+    private void propagate(final BitSet dirtyNodes) {
+        this.statistics.recordUpdate(recomputeDirtyNodes(dirtyNodes));
+        notifyListeners(dirtyNodes);
+    }
+
+    /**
+     * Recomputes the node on the given position and publishes the result if
+     * it differs from the last published one. Conditionals, which have no
+     * result slot, only count as changed when their truthiness flips.
+     * 
+     * @return Whether the published value of the node changed
+     */
+    private boolean recompute(final int position) {
+        final Value resultValue = this.expressions[position].evaluate(this.answers);
+        final Value publishedValue = this.publishedValues[position];
+        if (this.resultSlots[position] != UNRESOLVED_SLOT) {
+            this.answers.setValue(this.resultSlots[position], resultValue);
+            if (resultValue.equals(publishedValue)) {
+                return false;
+            }
+        } else if (publishedValue != null
+                && publishedValue.inConditionalContext() == resultValue.inConditionalContext()) {
+            return false;
+        }
 
-        this.referencesResolver.getReferencedConditionals(variableName).forEach(c -> c.accept(this));
+        this.publishedValues[position] = resultValue;
+        return true;
+    }
+
+    /**
+     * Recomputes the dirty nodes in topological order, marking the dependants
+     * of every node whose value changed as dirty as well. Since dependants
+     * always come after the nodes they depend on, each node is recomputed at
+     * most once. Afterwards only the nodes whose value changed are left set.
+     * 
+     * @return The number of recomputed nodes
+     */
+    private int recomputeDirtyNodes(final BitSet dirtyNodes) {
+        int recomputed = 0;
+        for (int i = dirtyNodes.nextSetBit(0); i >= 0; i = dirtyNodes.nextSetBit(i + 1)) {
+            if (isHidden(i)) {
+                // the value of a stale node is unknown, so its dependants are
+                // recomputed and refresh it if they are not hidden themselves
+                this.staleNodes.set(i);
+                dirtyNodes.clear(i);
+                markDirty(dirtyNodes, this.dependencies.getDependants(i));
+                continue;
+            }
+
+            recomputed += refreshDependencies(i, dirtyNodes) + 1;
+            if (recompute(i)) {
+                markDirty(dirtyNodes, this.dependencies.getDependants(i));
+                markStaleNestedNodesDirty(dirtyNodes, i);
+            } else {
+                dirtyNodes.clear(i);
+            }
+        }
+
+        return recomputed;
+    }
+
+    /**
+     * Recomputes the given stale node after refreshing the stale nodes it
+     * depends on, and marks it in the changed nodes if its value changed.
+     * 
+     * @return The number of recomputed nodes
+     */
+    private int refresh(final int position, final BitSet changedNodes) {
+        this.staleNodes.clear(position);
+        final int recomputed = refreshDependencies(position, changedNodes) + 1;
+        if (recompute(position)) {
+            changedNodes.set(position);
+        }
+
+        return recomputed;
+    }
+
+    private int refreshDependencies(final int position, final BitSet changedNodes) {
+        int recomputed = 0;
+        if (this.mode == EvaluationMode.LAZY) {
+            for (final int dependency : this.dependencies.getDependencies(position)) {
+                if (this.staleNodes.get(dependency)) {
+                    recomputed += refresh(dependency, changedNodes);
+                }
+            }
+        }
+
+        return recomputed;
+    }
+
+    private boolean isHidden(final int position) {
+        if (this.mode == EvaluationMode.EAGER) {
+            return false;
+        }
+
+        final int conditional = this.dependencies.getEnclosingConditional(position);
+        return conditional != NO_CONDITIONAL && this.publishedValues[conditional] != null
+                && !this.publishedValues[conditional].inConditionalContext();
+    }
+
+    /**
+     * Marks the stale nodes declared in the given conditional as dirty when it
+     * has just become satisfied. These come after the conditional, so they are
+     * refreshed in the same pass.
+     */
+    private void markStaleNestedNodesDirty(final BitSet dirtyNodes, final int conditional) {
+        if (this.resultSlots[conditional] != UNRESOLVED_SLOT
+                || !this.publishedValues[conditional].inConditionalContext()) {
+            return;
+        }
+
+        for (int i = this.staleNodes.nextSetBit(conditional + 1); i >= 0; i = this.staleNodes.nextSetBit(i + 1)) {
+            if (this.dependencies.getEnclosingConditional(i) == conditional) {
+                dirtyNodes.set(i);
+            }
+        }
+    }
+
+    private static void markDirty(final BitSet dirtyNodes, final int[] positions) {
+        for (final int position : positions) {
+            dirtyNodes.set(position);
+        }
+    }
+
+    private void notifyListeners(final BitSet changedNodes) {
+        for (int i = changedNodes.nextSetBit(0); i >= 0; i = changedNodes.nextSetBit(i + 1)) {
+            notifyListeners(this.computables[i], this.publishedValues[i]);
+        }
     }
 
     private void notifyListeners(final Computable computable, final Value newValue) {
-        this.changeListeners.get(computable).forEach(l -> l.processValueChange(newValue));
+        if (!this.changeListeners.containsKey(computable)) {
+            return;
+        }
+
+        for (final ValueChangeListener<Value> listener : this.changeListeners.get(computable)) {
+            listener.processValueChange(newValue);
+        }
     }
 }
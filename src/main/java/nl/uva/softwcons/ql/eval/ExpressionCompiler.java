@@ -0,0 +1,291 @@
+package nl.uva.softwcons.ql.eval;
+
+import static java.util.stream.Collectors.toList;
+import static nl.uva.softwcons.ql.ast.symbol.SymbolTable.UNRESOLVED_SLOT;
+import static nl.uva.softwcons.ql.eval.value.UndefinedValue.UNDEFINED;
+
+import java.util.List;
+
+import nl.uva.softwcons.ql.ast.expression.Expression;
+import nl.uva.softwcons.ql.ast.expression.ExpressionVisitor;
+import nl.uva.softwcons.ql.ast.expression.binary.BinaryExpression;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Addition;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Division;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Multiplication;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Subtraction;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.Equal;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.GreaterOrEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.GreaterThan;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.LowerOrEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.LowerThan;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.NotEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.And;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.Or;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.expression.identifier.VariableSet;
+import nl.uva.softwcons.ql.ast.expression.literal.BooleanLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.NumberLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.StringLiteral;
+import nl.uva.softwcons.ql.ast.expression.unary.UnaryExpression;
+import nl.uva.softwcons.ql.ast.expression.unary.logical.Not;
+import nl.uva.softwcons.ql.ast.symbol.SymbolTable;
+import nl.uva.softwcons.ql.eval.value.BooleanValue;
+import nl.uva.softwcons.ql.eval.value.NumberValue;
+import nl.uva.softwcons.ql.eval.value.StringValue;
+import nl.uva.softwcons.ql.eval.value.Value;
+import nl.uva.softwcons.ql.validation.VariableExctractor;
+
+/**
+ * Translates expressions into {@link CompiledExpression} closures once, so that
+ * evaluating them afterwards does not allocate visitors or dispatch through
+ * {@link ExpressionVisitor}. Literal values are created at compile time and
+ * identifiers that have a slot in the given symbol table read their answer
+ * directly from that slot. {@link ExpressionEvaluator} remains the reference
+ * interpreter the compiled expressions must agree with.
+ */
+public final class ExpressionCompiler implements ExpressionVisitor<CompiledExpression> {
+    private final SymbolTable symbolTable;
+    private final SubexpressionIndex subexpressions;
+    private final CompiledExpression[] compiledSubexpressions;
+
+    private ExpressionCompiler(final SymbolTable symbolTable) {
+        this.symbolTable = symbolTable;
+        this.subexpressions = null;
+        this.compiledSubexpressions = null;
+    }
+
+    private ExpressionCompiler(final SymbolTable symbolTable, final SubexpressionIndex subexpressions) {
+        this.symbolTable = symbolTable;
+        this.subexpressions = subexpressions;
+        this.compiledSubexpressions = new CompiledExpression[subexpressions.size()];
+    }
+
+    /**
+     * Compiles the given expression for evaluation against answers that are
+     * stored using the given symbol table.
+     */
+    public static CompiledExpression compile(final Expression expr, final SymbolTable symbolTable) {
+        return expr.accept(new ExpressionCompiler(symbolTable));
+    }
+
+    /**
+     * Compiles the given expression without linking identifiers to slots, so
+     * that it can be evaluated against any form answers.
+     */
+    public static CompiledExpression compile(final Expression expr) {
+        return compile(expr, new SymbolTable());
+    }
+
+    /**
+     * Compiles the given expressions of a form together. Structurally equal
+     * subexpressions are compiled once, and those used from more than one
+     * place keep their result until an answer they read changes, see
+     * {@link SharedExpression}.
+     */
+    public static List<CompiledExpression> compileAll(final List<Expression> expressions,
+            final SymbolTable symbolTable) {
+        final ExpressionCompiler compiler = new ExpressionCompiler(symbolTable, new SubexpressionIndex(expressions));
+        return expressions.stream().map(compiler::compileOperand).collect(toList());
+    }
+
+    @Override
+    public CompiledExpression visit(final Addition expr) {
+        final CompiledExpression left = visitLeftOperand(expr);
+        final CompiledExpression right = visitRightOperand(expr);
+        return answers -> left.evaluate(answers).add(right.evaluate(answers));
+    }
+
+    @Override
+    public CompiledExpression visit(final Division expr) {
+        final CompiledExpression left = visitLeftOperand(expr);
+        final CompiledExpression right = visitRightOperand(expr);
+        return answers -> left.evaluate(answers).divide(right.evaluate(answers));
+    }
+
+    @Override
+    public CompiledExpression visit(final Multiplication expr) {
+        final CompiledExpression left = visitLeftOperand(expr);
+        final CompiledExpression right = visitRightOperand(expr);
+        return answers -> left.evaluate(answers).multiply(right.evaluate(answers));
+    }
+
+    @Override
+    public CompiledExpression visit(final Subtraction expr) {
+        final CompiledExpression left = visitLeftOperand(expr);
+        final CompiledExpression right = visitRightOperand(expr);
+        return answers -> left.evaluate(answers).subtract(right.evaluate(answers));
+    }
+
+    @Override
+    public CompiledExpression visit(final Equal expr) {
+        final CompiledExpression left = visitLeftOperand(expr);
+        final CompiledExpression right = visitRightOperand(expr);
+        return answers -> left.evaluate(answers).isEqual(right.evaluate(answers));
+    }
+
+    @Override
+    public CompiledExpression visit(final GreaterOrEqual expr) {
+        final CompiledExpression left = visitLeftOperand(expr);
+        final CompiledExpression right = visitRightOperand(expr);
+        return answers -> left.evaluate(answers).isGreaterOrEqual(right.evaluate(answers));
+    }
+
+    @Override
+    public CompiledExpression visit(final GreaterThan expr) {
+        final CompiledExpression left = visitLeftOperand(expr);
+        final CompiledExpression right = visitRightOperand(expr);
+        return answers -> left.evaluate(answers).isGreater(right.evaluate(answers));
+    }
+
+    @Override
+    public CompiledExpression visit(final LowerOrEqual expr) {
+        final CompiledExpression left = visitLeftOperand(expr);
+        final CompiledExpression right = visitRightOperand(expr);
+        return answers -> left.evaluate(answers).isLowerOrEqual(right.evaluate(answers));
+    }
+
+    @Override
+    public CompiledExpression visit(final LowerThan expr) {
+        final CompiledExpression left = visitLeftOperand(expr);
+        final CompiledExpression right = visitRightOperand(expr);
+        return answers -> left.evaluate(answers).isLower(right.evaluate(answers));
+    }
+
+    @Override
+    public CompiledExpression visit(final NotEqual expr) {
+        final CompiledExpression left = visitLeftOperand(expr);
+        final CompiledExpression right = visitRightOperand(expr);
+        return answers -> left.evaluate(answers).isEqual(right.evaluate(answers)).not();
+    }
+
+    /**
+     * Short-circuits like {@link ExpressionEvaluator#visit(And)}.
+     */
+    @Override
+    public CompiledExpression visit(final And expr) {
+        final CompiledExpression left = visitLeftOperand(expr);
+        final CompiledExpression right = visitRightOperand(expr);
+        final CompiledExpression[] rightStrictOperands = DefinednessProbe
+                .getStrictOperands(expr.getRightExpression()).stream().map(this::compileOperand)
+                .toArray(CompiledExpression[]::new);
+
+        return answers -> {
+            final Value leftValue = left.evaluate(answers);
+            if (leftValue == UNDEFINED) {
+                return UNDEFINED;
+            }
+            if (leftValue == BooleanValue.FALSE) {
+                return isDefined(rightStrictOperands, answers) ? leftValue : UNDEFINED;
+            }
+
+            return leftValue.and(right.evaluate(answers));
+        };
+    }
+
+    /**
+     * Short-circuits like {@link ExpressionEvaluator#visit(Or)}.
+     */
+    @Override
+    public CompiledExpression visit(final Or expr) {
+        final CompiledExpression left = visitLeftOperand(expr);
+        final CompiledExpression right = visitRightOperand(expr);
+
+        return answers -> {
+            final Value leftValue = left.evaluate(answers);
+            if (leftValue == BooleanValue.TRUE) {
+                return leftValue;
+            }
+
+            return leftValue.or(right.evaluate(answers));
+        };
+    }
+
+    @Override
+    public CompiledExpression visit(final Not expr) {
+        final CompiledExpression operand = visitUnaryOperand(expr);
+        return answers -> operand.evaluate(answers).not();
+    }
+
+    @Override
+    public CompiledExpression visit(final Identifier questionId) {
+        final int slot = this.symbolTable.getSlot(questionId);
+        if (slot == UNRESOLVED_SLOT) {
+            return answers -> answers.getValue(questionId);
+        }
+
+        return answers -> answers.getValue(slot);
+    }
+
+    @Override
+    public CompiledExpression visit(final BooleanLiteral expr) {
+        final Value value = BooleanValue.valueOf(expr.getValue());
+        return answers -> value;
+    }
+
+    @Override
+    public CompiledExpression visit(final StringLiteral expr) {
+        final Value value = new StringValue(expr.getValue());
+        return answers -> value;
+    }
+
+    @Override
+    public CompiledExpression visit(final NumberLiteral expr) {
+        final Value value = NumberValue.valueOf(expr.getValue());
+        return answers -> value;
+    }
+
+    @Override
+    public CompiledExpression visitLeftOperand(final BinaryExpression expr) {
+        return compileOperand(expr.getLeftExpression());
+    }
+
+    @Override
+    public CompiledExpression visitRightOperand(final BinaryExpression expr) {
+        return compileOperand(expr.getRightExpression());
+    }
+
+    @Override
+    public CompiledExpression visitUnaryOperand(final UnaryExpression expr) {
+        return compileOperand(expr.getExpression());
+    }
+
+    private CompiledExpression compileOperand(final Expression expr) {
+        if (this.subexpressions == null) {
+            return expr.accept(this);
+        }
+
+        final int id = this.subexpressions.getId(expr);
+        if (this.compiledSubexpressions[id] == null) {
+            final CompiledExpression compiled = expr.accept(this);
+            this.compiledSubexpressions[id] = this.subexpressions.isShared(expr) ? share(expr, compiled) : compiled;
+        }
+
+        return this.compiledSubexpressions[id];
+    }
+
+    /**
+     * Caches the result of a shared subexpression. Single identifiers and
+     * literals are cheaper to evaluate than to check, and subexpressions that
+     * read answers without a slot cannot be checked, so these are not cached.
+     */
+    private CompiledExpression share(final Expression expr, final CompiledExpression compiled) {
+        final VariableSet variables = VariableExctractor.extractFrom(expr);
+        final int[] inputSlots = variables.getSlots(this.symbolTable);
+        if (ExpressionSize.of(expr) == 1 || inputSlots.length != variables.size()) {
+            return compiled;
+        }
+
+        return new SharedExpression(compiled, inputSlots);
+    }
+
+    private static boolean isDefined(final CompiledExpression[] strictOperands, final FormAnswers answers) {
+        for (final CompiledExpression operand : strictOperands) {
+            if (operand.evaluate(answers) == UNDEFINED) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+}
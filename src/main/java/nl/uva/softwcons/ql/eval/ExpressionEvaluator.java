@@ -1,5 +1,7 @@
 package nl.uva.softwcons.ql.eval;
 
+import static nl.uva.softwcons.ql.eval.value.UndefinedValue.UNDEFINED;
+
 import nl.uva.softwcons.ql.ast.expression.Expression;
 import nl.uva.softwcons.ql.ast.expression.ExpressionVisitor;
 import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Addition;
@@ -85,14 +87,37 @@ public final class ExpressionEvaluator implements ExpressionVisitor<Value> {
         return visitLeftOperand(expr).isEqual(visitRightOperand(expr)).not();
     }
 
+    /**
+     * Skips the right operand when the left one decides the result: an
+     * undefined left operand makes the conjunction undefined, and a false one
+     * makes it false unless the right operand is undefined, which is checked
+     * without evaluating it.
+     */
     @Override
     public Value visit(final And expr) {
-        return visitLeftOperand(expr).and(visitRightOperand(expr));
+        final Value left = visitLeftOperand(expr);
+        if (left == UNDEFINED) {
+            return UNDEFINED;
+        }
+        if (left == BooleanValue.FALSE) {
+            return DefinednessProbe.isDefined(expr.getRightExpression(), variablesTable) ? left : UNDEFINED;
+        }
+
+        return left.and(visitRightOperand(expr));
     }
 
+    /**
+     * Skips the right operand when the left one is true, since a true
+     * disjunction stays true even if the right operand is undefined.
+     */
     @Override
     public Value visit(final Or expr) {
-        return visitLeftOperand(expr).or(visitRightOperand(expr));
+        final Value left = visitLeftOperand(expr);
+        if (left == BooleanValue.TRUE) {
+            return left;
+        }
+
+        return left.or(visitRightOperand(expr));
     }
 
     @Override
@@ -107,7 +132,7 @@ public final class ExpressionEvaluator implements ExpressionVisitor<Value> {
 
     @Override
     public BooleanValue visit(final BooleanLiteral expr) {
-        return new BooleanValue(expr.getValue());
+        return BooleanValue.valueOf(expr.getValue());
     }
 
     @Override
@@ -117,6 +142,6 @@ public final class ExpressionEvaluator implements ExpressionVisitor<Value> {
 
     @Override
     public NumberValue visit(final NumberLiteral expr) {
-        return new NumberValue(expr.getValue());
+        return NumberValue.valueOf(expr.getValue());
     }
 }
@@ -0,0 +1,274 @@
+package nl.uva.softwcons.ql.eval;
+
+import static nl.uva.softwcons.ql.eval.value.UndefinedValue.UNDEFINED;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import nl.uva.softwcons.ql.ast.LineInfo;
+import nl.uva.softwcons.ql.ast.expression.Expression;
+import nl.uva.softwcons.ql.ast.expression.ExpressionVisitor;
+import nl.uva.softwcons.ql.ast.expression.binary.BinaryExpression;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Addition;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Division;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Multiplication;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Subtraction;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.Equal;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.GreaterOrEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.GreaterThan;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.LowerOrEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.LowerThan;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.NotEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.And;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.Or;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.expression.literal.BooleanLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.NumberLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.StringLiteral;
+import nl.uva.softwcons.ql.ast.expression.unary.logical.Not;
+import nl.uva.softwcons.ql.eval.value.BooleanValue;
+import nl.uva.softwcons.ql.eval.value.NumberValue;
+import nl.uva.softwcons.ql.eval.value.Value;
+
+/**
+ * Rewrites an expression bottom-up into an equivalent one with fewer nodes.
+ * Operators whose operands are all literals are replaced by the literal of
+ * their value, and operands that do not change the result (such as
+ * {@code x * 1}, {@code true && x} or {@code !!x}) are dropped. A rewrite is
+ * only done when it gives the same value as the {@link ExpressionEvaluator}
+ * for every answer, including undefined ones; that is why {@code x * 0} is
+ * kept and {@code false && x} and {@code x || false} are only folded when x
+ * is always defined. Subtrees that are not rewritten are shared with the
+ * original expression.
+ */
+final class ExpressionFolder implements ExpressionVisitor<Expression> {
+    private static final NumberValue ZERO = NumberValue.valueOf(0);
+    private static final NumberValue ONE = NumberValue.valueOf(1);
+
+    private final FormAnswers noAnswers = new FormAnswers();
+    private final Map<Expression, Value> literalValues = new IdentityHashMap<>();
+    private final Map<Expression, Expression> negatedOperands = new IdentityHashMap<>();
+
+    private ExpressionFolder() {
+    }
+
+    static Expression fold(final Expression expr) {
+        return expr.accept(new ExpressionFolder());
+    }
+
+    @Override
+    public Expression visit(final Addition expr) {
+        final Expression left = visitLeftOperand(expr);
+        final Expression right = visitRightOperand(expr);
+        if (isLiteral(left, ZERO) && !isLiteral(right)) {
+            return right;
+        }
+        if (isLiteral(right, ZERO) && !isLiteral(left)) {
+            return left;
+        }
+
+        return rebuild(expr, left, right, Addition::new);
+    }
+
+    @Override
+    public Expression visit(final Division expr) {
+        final Expression left = visitLeftOperand(expr);
+        final Expression right = visitRightOperand(expr);
+        if (isLiteral(right, ONE) && !isLiteral(left)) {
+            return left;
+        }
+
+        return rebuild(expr, left, right, Division::new);
+    }
+
+    @Override
+    public Expression visit(final Multiplication expr) {
+        final Expression left = visitLeftOperand(expr);
+        final Expression right = visitRightOperand(expr);
+        if (isLiteral(left, ONE) && !isLiteral(right)) {
+            return right;
+        }
+        if (isLiteral(right, ONE) && !isLiteral(left)) {
+            return left;
+        }
+
+        return rebuild(expr, left, right, Multiplication::new);
+    }
+
+    @Override
+    public Expression visit(final Subtraction expr) {
+        final Expression left = visitLeftOperand(expr);
+        final Expression right = visitRightOperand(expr);
+        if (isLiteral(right, ZERO) && !isLiteral(left)) {
+            return left;
+        }
+
+        return rebuild(expr, left, right, Subtraction::new);
+    }
+
+    @Override
+    public Expression visit(final Equal expr) {
+        return rebuild(expr, visitLeftOperand(expr), visitRightOperand(expr), Equal::new);
+    }
+
+    @Override
+    public Expression visit(final GreaterOrEqual expr) {
+        return rebuild(expr, visitLeftOperand(expr), visitRightOperand(expr), GreaterOrEqual::new);
+    }
+
+    @Override
+    public Expression visit(final GreaterThan expr) {
+        return rebuild(expr, visitLeftOperand(expr), visitRightOperand(expr), GreaterThan::new);
+    }
+
+    @Override
+    public Expression visit(final LowerOrEqual expr) {
+        return rebuild(expr, visitLeftOperand(expr), visitRightOperand(expr), LowerOrEqual::new);
+    }
+
+    @Override
+    public Expression visit(final LowerThan expr) {
+        return rebuild(expr, visitLeftOperand(expr), visitRightOperand(expr), LowerThan::new);
+    }
+
+    @Override
+    public Expression visit(final NotEqual expr) {
+        return rebuild(expr, visitLeftOperand(expr), visitRightOperand(expr), NotEqual::new);
+    }
+
+    /**
+     * A false left operand only decides the conjunction when the right one is
+     * always defined, see {@link ExpressionEvaluator#visit(And)}.
+     */
+    @Override
+    public Expression visit(final And expr) {
+        final Expression left = visitLeftOperand(expr);
+        final Expression right = visitRightOperand(expr);
+        if (isLiteral(left, BooleanValue.FALSE) && DefinednessProbe.getStrictOperands(right).isEmpty()) {
+            return left;
+        }
+        if (isLiteral(left, BooleanValue.TRUE) && !isLiteral(right)) {
+            return right;
+        }
+        if (isLiteral(right, BooleanValue.TRUE) && !isLiteral(left)) {
+            return left;
+        }
+
+        return rebuild(expr, left, right, And::new);
+    }
+
+    /**
+     * An undefined left operand is ignored by a disjunction, see
+     * {@link nl.uva.softwcons.ql.eval.value.UndefinedValue#or}, so a false right
+     * operand is only dropped when the left one is always defined.
+     */
+    @Override
+    public Expression visit(final Or expr) {
+        final Expression left = visitLeftOperand(expr);
+        final Expression right = visitRightOperand(expr);
+        if (isLiteral(left, BooleanValue.TRUE)) {
+            return left;
+        }
+        if (isLiteral(right, BooleanValue.TRUE)) {
+            return right;
+        }
+        if (isLiteral(left, BooleanValue.FALSE) && !isLiteral(right)) {
+            return right;
+        }
+        if (isLiteral(right, BooleanValue.FALSE) && !isLiteral(left)
+                && DefinednessProbe.getStrictOperands(left).isEmpty()) {
+            return left;
+        }
+
+        return rebuild(expr, left, right, Or::new);
+    }
+
+    @Override
+    public Expression visit(final Not expr) {
+        final Expression operand = visitUnaryOperand(expr);
+        final Expression doubleNegated = negatedOperands.get(operand);
+        if (doubleNegated != null) {
+            return doubleNegated;
+        }
+        if (isLiteral(operand)) {
+            return evaluateToLiteral(new Not(operand, expr.getLineInfo()));
+        }
+
+        final Expression negation = operand == expr.getExpression() ? expr : new Not(operand, expr.getLineInfo());
+        negatedOperands.put(negation, operand);
+
+        return negation;
+    }
+
+    @Override
+    public Expression visit(final Identifier questionId) {
+        return questionId;
+    }
+
+    @Override
+    public Expression visit(final BooleanLiteral expr) {
+        return literal(expr);
+    }
+
+    @Override
+    public Expression visit(final StringLiteral expr) {
+        return literal(expr);
+    }
+
+    @Override
+    public Expression visit(final NumberLiteral expr) {
+        return literal(expr);
+    }
+
+    private Expression rebuild(final BinaryExpression expr, final Expression left, final Expression right,
+            final BinaryConstructor constructor) {
+        final boolean unchanged = left == expr.getLeftExpression() && right == expr.getRightExpression();
+        final Expression result = unchanged ? expr : constructor.create(left, right, expr.getLineInfo());
+        if (isLiteral(left) && isLiteral(right)) {
+            return evaluateToLiteral(result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Replaces the given expression over literals by the literal of its value.
+     * Expressions that are undefined or fail to evaluate, such as a division
+     * by zero, are kept so that they behave as before at runtime.
+     */
+    private Expression evaluateToLiteral(final Expression expr) {
+        final Value value;
+        try {
+            value = ExpressionEvaluator.evaluate(expr, noAnswers);
+        } catch (final ArithmeticException e) {
+            return expr;
+        }
+        if (value == UNDEFINED) {
+            return expr;
+        }
+
+        final Expression literal = value.toLiteral(expr.getLineInfo());
+        literalValues.put(literal, value);
+
+        return literal;
+    }
+
+    private Expression literal(final Expression expr) {
+        literalValues.put(expr, ExpressionEvaluator.evaluate(expr, noAnswers));
+        return expr;
+    }
+
+    private boolean isLiteral(final Expression expr) {
+        return literalValues.containsKey(expr);
+    }
+
+    private boolean isLiteral(final Expression expr, final Value value) {
+        return value.equals(literalValues.get(expr));
+    }
+
+    @FunctionalInterface
+    private interface BinaryConstructor {
+        BinaryExpression create(Expression left, Expression right, LineInfo lineInfo);
+    }
+
+}
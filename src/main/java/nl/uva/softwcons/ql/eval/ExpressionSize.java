@@ -0,0 +1,126 @@
+package nl.uva.softwcons.ql.eval;
+
+import nl.uva.softwcons.ql.ast.expression.Expression;
+import nl.uva.softwcons.ql.ast.expression.ExpressionVisitor;
+import nl.uva.softwcons.ql.ast.expression.binary.BinaryExpression;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Addition;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Division;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Multiplication;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Subtraction;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.Equal;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.GreaterOrEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.GreaterThan;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.LowerOrEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.LowerThan;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.NotEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.And;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.Or;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.expression.literal.BooleanLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.NumberLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.StringLiteral;
+import nl.uva.softwcons.ql.ast.expression.unary.logical.Not;
+
+/**
+ * Counts the nodes of an expression tree.
+ */
+final class ExpressionSize implements ExpressionVisitor<Integer> {
+    private static final ExpressionSize INSTANCE = new ExpressionSize();
+
+    private ExpressionSize() {
+    }
+
+    static int of(final Expression expr) {
+        return expr.accept(INSTANCE);
+    }
+
+    @Override
+    public Integer visit(final Addition expr) {
+        return sizeOfOperands(expr);
+    }
+
+    @Override
+    public Integer visit(final Division expr) {
+        return sizeOfOperands(expr);
+    }
+
+    @Override
+    public Integer visit(final Multiplication expr) {
+        return sizeOfOperands(expr);
+    }
+
+    @Override
+    public Integer visit(final Subtraction expr) {
+        return sizeOfOperands(expr);
+    }
+
+    @Override
+    public Integer visit(final Equal expr) {
+        return sizeOfOperands(expr);
+    }
+
+    @Override
+    public Integer visit(final GreaterOrEqual expr) {
+        return sizeOfOperands(expr);
+    }
+
+    @Override
+    public Integer visit(final GreaterThan expr) {
+        return sizeOfOperands(expr);
+    }
+
+    @Override
+    public Integer visit(final LowerOrEqual expr) {
+        return sizeOfOperands(expr);
+    }
+
+    @Override
+    public Integer visit(final LowerThan expr) {
+        return sizeOfOperands(expr);
+    }
+
+    @Override
+    public Integer visit(final NotEqual expr) {
+        return sizeOfOperands(expr);
+    }
+
+    @Override
+    public Integer visit(final And expr) {
+        return sizeOfOperands(expr);
+    }
+
+    @Override
+    public Integer visit(final Or expr) {
+        return sizeOfOperands(expr);
+    }
+
+    @Override
+    public Integer visit(final Not expr) {
+        return 1 + visitUnaryOperand(expr);
+    }
+
+    @Override
+    public Integer visit(final Identifier expr) {
+        return 1;
+    }
+
+    @Override
+    public Integer visit(final BooleanLiteral expr) {
+        return 1;
+    }
+
+    @Override
+    public Integer visit(final StringLiteral expr) {
+        return 1;
+    }
+
+    @Override
+    public Integer visit(final NumberLiteral expr) {
+        return 1;
+    }
+
+    private Integer sizeOfOperands(final BinaryExpression expr) {
+        return 1 + visitLeftOperand(expr) + visitRightOperand(expr);
+    }
+
+}
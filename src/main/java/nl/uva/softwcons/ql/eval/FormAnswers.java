@@ -1,25 +1,91 @@
 package nl.uva.softwcons.ql.eval;
 
+import static nl.uva.softwcons.ql.ast.symbol.SymbolTable.UNRESOLVED_SLOT;
 import static nl.uva.softwcons.ql.eval.value.UndefinedValue.UNDEFINED;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.symbol.SymbolTable;
 import nl.uva.softwcons.ql.eval.value.Value;
 
+/**
+ * Stores the answers of a form in an array indexed by the slots of the form's
+ * {@link SymbolTable}. Answers for identifiers that have no slot in the table
+ * are kept in a separate map. Every slot remembers when its answer last
+ * changed, so cached results over a set of slots can be checked for
+ * staleness.
+ */
 public class FormAnswers {
-    private final Map<Identifier, Value> answersTable;
+    private final SymbolTable symbolTable;
+    private final Value[] answersTable;
+    private final Map<Identifier, Value> unresolvedAnswers;
+    private final long[] slotModifications;
+    private long modificationCount;
 
     public FormAnswers() {
-        answersTable = new HashMap<>();
+        this(new SymbolTable());
+    }
+
+    public FormAnswers(final SymbolTable symbolTable) {
+        this.symbolTable = symbolTable;
+        this.answersTable = new Value[symbolTable.size()];
+        this.unresolvedAnswers = new HashMap<>();
+        this.slotModifications = new long[symbolTable.size()];
+
+        Arrays.fill(this.answersTable, UNDEFINED);
     }
 
     public void setValue(final Identifier id, final Value value) {
-        this.answersTable.put(id, value);
+        final int slot = this.symbolTable.getSlot(id);
+        if (slot == UNRESOLVED_SLOT) {
+            this.unresolvedAnswers.put(id, value);
+        } else {
+            setValue(slot, value);
+        }
     }
 
     public Value getValue(final Identifier id) {
-        return this.answersTable.getOrDefault(id, UNDEFINED);
+        final int slot = this.symbolTable.getSlot(id);
+        if (slot == UNRESOLVED_SLOT) {
+            return this.unresolvedAnswers.getOrDefault(id, UNDEFINED);
+        }
+
+        return this.answersTable[slot];
+    }
+
+    public void setValue(final int slot, final Value value) {
+        if (!value.equals(this.answersTable[slot])) {
+            this.slotModifications[slot] = ++this.modificationCount;
+        }
+        this.answersTable[slot] = value;
+    }
+
+    public Value getValue(final int slot) {
+        return this.answersTable[slot];
+    }
+
+    /**
+     * Returns a counter that grows whenever the answer in a slot changes.
+     */
+    public long getModificationCount() {
+        return modificationCount;
     }
+
+    /**
+     * Returns whether the answer in any of the given slots changed after the
+     * given value of {@link #getModificationCount()}.
+     */
+    public boolean isModifiedSince(final int[] slots, final long modificationCount) {
+        for (final int slot : slots) {
+            if (this.slotModifications[slot] > modificationCount) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
 }
@@ -0,0 +1,80 @@
+package nl.uva.softwcons.ql.eval;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+
+import nl.uva.softwcons.ql.ast.expression.Expression;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.ast.statement.ComputedQuestion;
+import nl.uva.softwcons.ql.ast.statement.Conditional;
+import nl.uva.softwcons.ql.ast.statement.Question;
+import nl.uva.softwcons.ql.ast.statement.Statement;
+import nl.uva.softwcons.ql.ast.statement.StatementVisitor;
+
+/**
+ * Folds the expressions of a form with the {@link ExpressionFolder}, so that
+ * the evaluator does not recompute constant subexpressions on every change.
+ * The folding relies on the operand types, so it must only be applied to forms
+ * that passed the type checker.
+ */
+public final class FormOptimizer implements StatementVisitor<Statement> {
+    private int removedNodes;
+
+    private FormOptimizer() {
+    }
+
+    /**
+     * Returns the optimized form together with the number of expression nodes
+     * that were removed. A form in which nothing could be folded is returned
+     * as it is.
+     *
+     * @param form
+     *            A form without fatal validation errors
+     * @return The optimized form
+     */
+    public static OptimizedForm optimize(final Form form) {
+        final FormOptimizer optimizer = new FormOptimizer();
+        final List<Statement> statements = form.getStatements().stream().map(st -> st.accept(optimizer))
+                .collect(toList());
+        if (optimizer.removedNodes == 0) {
+            return new OptimizedForm(form, 0);
+        }
+
+        return new OptimizedForm(new Form(form.getName(), statements), optimizer.removedNodes);
+    }
+
+    @Override
+    public Statement visit(final ComputedQuestion question) {
+        final Expression expression = optimize(question.getExpression());
+        if (expression == question.getExpression()) {
+            return question;
+        }
+
+        return new ComputedQuestion(question.getId(), question.getLabel(), question.getType(), expression);
+    }
+
+    @Override
+    public Statement visit(final Question question) {
+        return question;
+    }
+
+    @Override
+    public Statement visit(final Conditional conditional) {
+        final Expression condition = optimize(conditional.getExpression());
+        final List<Question> questions = conditional.getQuestions().stream().map(q -> (Question) q.accept(this))
+                .collect(toList());
+
+        return new Conditional(condition, questions);
+    }
+
+    private Expression optimize(final Expression expression) {
+        final Expression folded = ExpressionFolder.fold(expression);
+        if (folded != expression) {
+            this.removedNodes += ExpressionSize.of(expression) - ExpressionSize.of(folded);
+        }
+
+        return folded;
+    }
+
+}
@@ -0,0 +1,29 @@
+package nl.uva.softwcons.ql.eval;
+
+import nl.uva.softwcons.ql.ast.form.Form;
+
+/**
+ * The result of the {@link FormOptimizer}.
+ */
+public class OptimizedForm {
+    private final Form form;
+    private final int removedNodes;
+
+    OptimizedForm(final Form form, final int removedNodes) {
+        this.form = form;
+        this.removedNodes = removedNodes;
+    }
+
+    public Form getForm() {
+        return form;
+    }
+
+    /**
+     * Returns the number of expression nodes the optimized form has less than
+     * the original one.
+     */
+    public int getRemovedNodes() {
+        return removedNodes;
+    }
+
+}
@@ -1,6 +1,7 @@
 package nl.uva.softwcons.ql.eval;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Set;
 
 import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
@@ -34,6 +35,17 @@ public class ReferenceResolver implements FormVisitor<Void>, StatementVisitor<Vo
         return conditionalReferences.get(variableName);
     }
 
+    /**
+     * Returns all identifiers that are referenced by at least one computed
+     * question or conditional.
+     */
+    public Set<Identifier> getReferencedIdentifiers() {
+        final Set<Identifier> identifiers = new HashSet<>(questionReferences.keySet());
+        identifiers.addAll(conditionalReferences.keySet());
+
+        return identifiers;
+    }
+
     @Override
     public Void visit(final Form form) {
         form.getStatements().forEach(st -> st.accept(this));
@@ -0,0 +1,34 @@
+package nl.uva.softwcons.ql.eval;
+
+import nl.uva.softwcons.ql.eval.value.Value;
+
+/**
+ * A compiled subexpression that is used from several places. It keeps its
+ * last result and only evaluates again when the answer in one of the slots it
+ * reads has changed since, so a change is followed by a single evaluation no
+ * matter how many expressions contain the subexpression.
+ */
+final class SharedExpression implements CompiledExpression {
+    private final CompiledExpression expression;
+    private final int[] inputSlots;
+    private FormAnswers answers;
+    private long evaluatedAt;
+    private Value value;
+
+    SharedExpression(final CompiledExpression expression, final int[] inputSlots) {
+        this.expression = expression;
+        this.inputSlots = inputSlots;
+    }
+
+    @Override
+    public Value evaluate(final FormAnswers answers) {
+        if (answers != this.answers || answers.isModifiedSince(this.inputSlots, this.evaluatedAt)) {
+            this.evaluatedAt = answers.getModificationCount();
+            this.value = this.expression.evaluate(answers);
+            this.answers = answers;
+        }
+
+        return this.value;
+    }
+
+}
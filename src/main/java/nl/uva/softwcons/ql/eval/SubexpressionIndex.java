@@ -0,0 +1,178 @@
+package nl.uva.softwcons.ql.eval;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import nl.uva.softwcons.ql.ast.expression.Expression;
+import nl.uva.softwcons.ql.ast.expression.ExpressionVisitor;
+import nl.uva.softwcons.ql.ast.expression.binary.BinaryExpression;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Addition;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Division;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Multiplication;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Subtraction;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.Equal;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.GreaterOrEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.GreaterThan;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.LowerOrEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.LowerThan;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.NotEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.And;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.Or;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.expression.literal.BooleanLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.NumberLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.StringLiteral;
+import nl.uva.softwcons.ql.ast.expression.unary.logical.Not;
+
+/**
+ * Hash-conses the expressions of a form: structurally equal subtrees get the
+ * same id, regardless of the expression they occur in. Each distinct subtree
+ * also counts the places it is used from, i.e. the distinct parent subtrees
+ * and the expressions it is the root of, so that subtrees used from more
+ * than one place can share their result.
+ */
+final class SubexpressionIndex implements ExpressionVisitor<Integer> {
+    private final Map<List<Object>, Integer> ids = new HashMap<>();
+    private final Map<Expression, Integer> nodeIds = new IdentityHashMap<>();
+    private final List<Integer> uses = new ArrayList<>();
+
+    SubexpressionIndex(final List<Expression> expressions) {
+        expressions.forEach(expr -> use(expr.accept(this)));
+    }
+
+    int getId(final Expression expr) {
+        return nodeIds.get(expr);
+    }
+
+    boolean isShared(final Expression expr) {
+        return uses.get(getId(expr)) > 1;
+    }
+
+    int size() {
+        return uses.size();
+    }
+
+    @Override
+    public Integer visit(final Addition expr) {
+        return internNode(expr, visitLeftOperand(expr), visitRightOperand(expr));
+    }
+
+    @Override
+    public Integer visit(final Division expr) {
+        return internNode(expr, visitLeftOperand(expr), visitRightOperand(expr));
+    }
+
+    @Override
+    public Integer visit(final Multiplication expr) {
+        return internNode(expr, visitLeftOperand(expr), visitRightOperand(expr));
+    }
+
+    @Override
+    public Integer visit(final Subtraction expr) {
+        return internNode(expr, visitLeftOperand(expr), visitRightOperand(expr));
+    }
+
+    @Override
+    public Integer visit(final Equal expr) {
+        return internNode(expr, visitLeftOperand(expr), visitRightOperand(expr));
+    }
+
+    @Override
+    public Integer visit(final GreaterOrEqual expr) {
+        return internNode(expr, visitLeftOperand(expr), visitRightOperand(expr));
+    }
+
+    @Override
+    public Integer visit(final GreaterThan expr) {
+        return internNode(expr, visitLeftOperand(expr), visitRightOperand(expr));
+    }
+
+    @Override
+    public Integer visit(final LowerOrEqual expr) {
+        return internNode(expr, visitLeftOperand(expr), visitRightOperand(expr));
+    }
+
+    @Override
+    public Integer visit(final LowerThan expr) {
+        return internNode(expr, visitLeftOperand(expr), visitRightOperand(expr));
+    }
+
+    @Override
+    public Integer visit(final NotEqual expr) {
+        return internNode(expr, visitLeftOperand(expr), visitRightOperand(expr));
+    }
+
+    @Override
+    public Integer visit(final And expr) {
+        return internNode(expr, visitLeftOperand(expr), visitRightOperand(expr));
+    }
+
+    @Override
+    public Integer visit(final Or expr) {
+        return internNode(expr, visitLeftOperand(expr), visitRightOperand(expr));
+    }
+
+    @Override
+    public Integer visit(final Not expr) {
+        return internNode(expr, visitUnaryOperand(expr));
+    }
+
+    @Override
+    public Integer visit(final Identifier expr) {
+        return internLeaf(expr, expr.getName());
+    }
+
+    @Override
+    public Integer visit(final BooleanLiteral expr) {
+        return internLeaf(expr, expr.getValue());
+    }
+
+    @Override
+    public Integer visit(final StringLiteral expr) {
+        return internLeaf(expr, expr.getValue());
+    }
+
+    @Override
+    public Integer visit(final NumberLiteral expr) {
+        return internLeaf(expr, expr.getValue());
+    }
+
+    private Integer internLeaf(final Expression expr, final Object value) {
+        return intern(expr, Arrays.asList(expr.getClass(), value), new int[0]);
+    }
+
+    private Integer internNode(final Expression expr, final int... children) {
+        final List<Object> key = new ArrayList<>(children.length + 1);
+        key.add(expr.getClass());
+        Arrays.stream(children).forEach(key::add);
+
+        return intern(expr, key, children);
+    }
+
+    /**
+     * Returns the id of the subtree with the given key, which consists of the
+     * node type and either the ids of its children or the value of a leaf.
+     * The children of a new subtree gain a use.
+     */
+    private Integer intern(final Expression expr, final List<Object> key, final int[] children) {
+        Integer id = ids.get(key);
+        if (id == null) {
+            id = uses.size();
+            ids.put(key, id);
+            uses.add(0);
+            Arrays.stream(children).forEach(this::use);
+        }
+        nodeIds.put(expr, id);
+
+        return id;
+    }
+
+    private void use(final int id) {
+        uses.set(id, uses.get(id) + 1);
+    }
+
+}
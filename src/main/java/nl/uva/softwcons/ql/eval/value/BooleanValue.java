@@ -1,12 +1,25 @@
 package nl.uva.softwcons.ql.eval.value;
 
+import java.util.Objects;
+
+import nl.uva.softwcons.ql.ast.LineInfo;
+import nl.uva.softwcons.ql.ast.expression.Expression;
+import nl.uva.softwcons.ql.ast.expression.literal.BooleanLiteral;
+
 public class BooleanValue extends Value {
+    public static final BooleanValue TRUE = new BooleanValue(true);
+    public static final BooleanValue FALSE = new BooleanValue(false);
+
     private final Boolean value;
 
-    public BooleanValue(final boolean literal) {
+    private BooleanValue(final boolean literal) {
         this.value = literal;
     }
 
+    public static BooleanValue valueOf(final boolean literal) {
+        return literal ? TRUE : FALSE;
+    }
+
     @Override
     public boolean inConditionalContext() {
         return this.value;
@@ -17,6 +30,11 @@ public class BooleanValue extends Value {
         return value;
     }
 
+    @Override
+    public Expression toLiteral(final LineInfo lineInfo) {
+        return new BooleanLiteral(this.value, lineInfo);
+    }
+
     @Override
     public Value isEqual(final Value otherValue) {
         return otherValue.isEqualBoolean(this);
@@ -34,27 +52,44 @@ public class BooleanValue extends Value {
 
     @Override
     public Value not() {
-        return new BooleanValue(!this.value);
+        return valueOf(!this.value);
     }
 
     @Override
     public Value andBoolean(final BooleanValue otherValue) {
-        return new BooleanValue(this.value && otherValue.getBoolean());
+        return valueOf(this.value && otherValue.getBoolean());
     }
 
     @Override
     public Value orBoolean(final BooleanValue otherValue) {
-        return new BooleanValue(this.value || otherValue.getBoolean());
+        return valueOf(this.value || otherValue.getBoolean());
     }
 
     @Override
     public Value isEqualBoolean(final Value otherValue) {
-        return new BooleanValue(this.value.equals(otherValue.getBoolean()));
+        return valueOf(this.value.equals(otherValue.getBoolean()));
     }
 
     @Override
     public Value orUndefined() {
-        return new BooleanValue(this.value);
+        return this;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        return Objects.equals(this.value, ((BooleanValue) obj).value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(value);
     }
 
 }
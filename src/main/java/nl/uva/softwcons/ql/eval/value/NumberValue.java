@@ -3,37 +3,110 @@ package nl.uva.softwcons.ql.eval.value;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
+import nl.uva.softwcons.ql.ast.LineInfo;
+import nl.uva.softwcons.ql.ast.expression.Expression;
+import nl.uva.softwcons.ql.ast.expression.literal.NumberLiteral;
+
+/**
+ * A numeric value with {@link BigDecimal} semantics. Numbers whose unscaled
+ * value fits in a {@code long} are kept as an unscaled value and a scale, so
+ * that addition, subtraction, multiplication and comparison on them do not
+ * allocate a {@link BigDecimal}. Whenever such an operation overflows, or for
+ * numbers that do not fit, the {@link BigDecimal} representation is used.
+ */
 public class NumberValue extends Value {
-    private final BigDecimal value;
+    private static final long[] TEN_POWERS = { 1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+            100000000L, 1000000000L, 10000000000L, 100000000000L, 1000000000000L, 10000000000000L,
+            100000000000000L, 1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L };
+
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1024;
+    private static final NumberValue[] CACHE = new NumberValue[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new NumberValue(CACHE_LOW + i, 0);
+        }
+    }
+
+    private final boolean compact;
+    private final long unscaled;
+    private final int scale;
+    private BigDecimal value;
 
     public NumberValue(final int value) {
-        this.value = new BigDecimal(value);
+        this(value, 0);
     }
 
     public NumberValue(final double value) {
-        this.value = new BigDecimal(value);
+        this(new BigDecimal(value));
     }
 
     public NumberValue(final Number value) {
-        this.value = new BigDecimal(value.toString());
+        this(new BigDecimal(value.toString()));
     }
 
     public NumberValue(final BigDecimal value) {
+        this.compact = value.unscaledValue().bitLength() < Long.SIZE;
+        this.unscaled = this.compact ? value.unscaledValue().longValue() : 0;
+        this.scale = value.scale();
         this.value = value;
     }
 
     public NumberValue(final BigInteger value) {
-        this.value = new BigDecimal(value);
+        this(new BigDecimal(value));
+    }
+
+    private NumberValue(final long unscaled, final int scale) {
+        this.compact = true;
+        this.unscaled = unscaled;
+        this.scale = scale;
+    }
+
+    /**
+     * Returns the number for the given integer, shared for small integers.
+     */
+    public static NumberValue valueOf(final long value) {
+        return valueOf(value, 0);
+    }
+
+    /**
+     * Returns the number for the given decimal, shared for small integers
+     * without fraction digits.
+     */
+    public static NumberValue valueOf(final BigDecimal value) {
+        if (value.scale() == 0 && value.unscaledValue().bitLength() < Long.SIZE) {
+            return valueOf(value.longValue(), 0);
+        }
+
+        return new NumberValue(value);
+    }
+
+    private static NumberValue valueOf(final long unscaled, final int scale) {
+        if (scale == 0 && unscaled >= CACHE_LOW && unscaled <= CACHE_HIGH) {
+            return CACHE[(int) unscaled - CACHE_LOW];
+        }
+
+        return new NumberValue(unscaled, scale);
     }
 
     @Override
     public BigDecimal getNumber() {
+        if (value == null) {
+            value = BigDecimal.valueOf(unscaled, scale);
+        }
+
         return value;
     }
 
     @Override
     public String toString() {
-        return value.toString();
+        return getNumber().toString();
+    }
+
+    @Override
+    public Expression toLiteral(final LineInfo lineInfo) {
+        return new NumberLiteral(getNumber(), lineInfo);
     }
 
     @Override
@@ -83,47 +156,138 @@ public class NumberValue extends Value {
 
     @Override
     public Value addNumber(final NumberValue otherValue) {
-        return new NumberValue(this.value.add(otherValue.getNumber()));
+        if (this.compact && otherValue.compact) {
+            try {
+                final int resultScale = Math.max(this.scale, otherValue.scale);
+                return valueOf(Math.addExact(rescale(this, resultScale), rescale(otherValue, resultScale)),
+                        resultScale);
+            } catch (final ArithmeticException e) {
+                // overflow, fall back to BigDecimal
+            }
+        }
+
+        return valueOf(this.getNumber().add(otherValue.getNumber()));
     }
 
     @Override
     public Value subtractNumber(final NumberValue otherValue) {
-        return new NumberValue(otherValue.getNumber().subtract(this.value));
+        if (this.compact && otherValue.compact) {
+            try {
+                final int resultScale = Math.max(this.scale, otherValue.scale);
+                return valueOf(Math.subtractExact(rescale(otherValue, resultScale),
+                        rescale(this, resultScale)), resultScale);
+            } catch (final ArithmeticException e) {
+                // overflow, fall back to BigDecimal
+            }
+        }
+
+        return valueOf(otherValue.getNumber().subtract(this.getNumber()));
     }
 
     @Override
     public Value multiplyNumber(final NumberValue otherValue) {
-        return new NumberValue(this.value.multiply(otherValue.getNumber()));
+        if (this.compact && otherValue.compact) {
+            try {
+                return valueOf(Math.multiplyExact(this.unscaled, otherValue.unscaled), Math.addExact(
+                        this.scale, otherValue.scale));
+            } catch (final ArithmeticException e) {
+                // overflow, fall back to BigDecimal
+            }
+        }
+
+        return valueOf(this.getNumber().multiply(otherValue.getNumber()));
     }
 
     @Override
     public Value divideNumber(final NumberValue otherValue) {
-        return new NumberValue(otherValue.getNumber().divide(this.value));
+        return valueOf(otherValue.getNumber().divide(this.getNumber()));
     }
 
     @Override
     public BooleanValue isEqualNumber(final NumberValue otherValue) {
-        return new BooleanValue(this.value.compareTo(otherValue.getNumber()) == 0);
+        return BooleanValue.valueOf(compare(this, otherValue) == 0);
     }
 
     @Override
     public BooleanValue isGreaterNumber(final NumberValue otherValue) {
-        return new BooleanValue(otherValue.getNumber().compareTo(this.value) > 0);
+        return BooleanValue.valueOf(compare(otherValue, this) > 0);
     }
 
     @Override
     public BooleanValue isLowerNumber(final NumberValue otherValue) {
-        return new BooleanValue(otherValue.getNumber().compareTo(this.value) < 0);
+        return BooleanValue.valueOf(compare(otherValue, this) < 0);
     }
 
     @Override
     public BooleanValue isGreaterOrEqualNumber(final NumberValue otherValue) {
-        return new BooleanValue(otherValue.getNumber().compareTo(this.value) >= 0);
+        return BooleanValue.valueOf(compare(otherValue, this) >= 0);
     }
 
     @Override
     public BooleanValue isLowerOrEqualNumber(final NumberValue otherValue) {
-        return new BooleanValue(otherValue.getNumber().compareTo(this.value) <= 0);
+        return BooleanValue.valueOf(compare(otherValue, this) <= 0);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final NumberValue other = (NumberValue) obj;
+        if (this.compact && other.compact) {
+            return this.unscaled == other.unscaled && this.scale == other.scale;
+        }
+
+        return this.getNumber().equals(other.getNumber());
+    }
+
+    @Override
+    public int hashCode() {
+        if (this.compact) {
+            return 31 * Long.hashCode(this.unscaled) + this.scale;
+        }
+
+        return getNumber().hashCode();
+    }
+
+    /**
+     * Compares two numbers numerically, like {@link BigDecimal#compareTo}.
+     */
+    private static int compare(final NumberValue first, final NumberValue second) {
+        if (first.compact && second.compact) {
+            if (first.scale == second.scale) {
+                return Long.compare(first.unscaled, second.unscaled);
+            }
+
+            try {
+                final int commonScale = Math.max(first.scale, second.scale);
+                return Long.compare(rescale(first, commonScale), rescale(second, commonScale));
+            } catch (final ArithmeticException e) {
+                // overflow, fall back to BigDecimal
+            }
+        }
+
+        return first.getNumber().compareTo(second.getNumber());
+    }
+
+    /**
+     * Returns the unscaled value of the given compact number for the given
+     * scale, which must not be lower than the scale of the number.
+     * 
+     * @throws ArithmeticException
+     *             When the rescaled value does not fit in a {@code long}
+     */
+    private static long rescale(final NumberValue number, final int newScale) {
+        final int scaleIncrease = Math.subtractExact(newScale, number.scale);
+        if (scaleIncrease >= TEN_POWERS.length) {
+            throw new ArithmeticException("Rescaled value does not fit in a long");
+        }
+
+        return Math.multiplyExact(number.unscaled, TEN_POWERS[scaleIncrease]);
     }
 
 }
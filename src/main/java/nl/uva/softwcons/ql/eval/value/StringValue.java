@@ -1,5 +1,11 @@
 package nl.uva.softwcons.ql.eval.value;
 
+import java.util.Objects;
+
+import nl.uva.softwcons.ql.ast.LineInfo;
+import nl.uva.softwcons.ql.ast.expression.Expression;
+import nl.uva.softwcons.ql.ast.expression.literal.StringLiteral;
+
 public class StringValue extends Value {
     private final String value;
 
@@ -12,6 +18,11 @@ public class StringValue extends Value {
         return value;
     }
 
+    @Override
+    public Expression toLiteral(final LineInfo lineInfo) {
+        return new StringLiteral(this.value, lineInfo);
+    }
+
     @Override
     public Value isEqual(final Value otherValue) {
         return otherValue.isEqualString(this);
@@ -19,7 +30,24 @@ public class StringValue extends Value {
 
     @Override
     public Value isEqualString(final Value otherValue) {
-        return new BooleanValue(this.value.equals(otherValue.getString()));
+        return BooleanValue.valueOf(this.value.equals(otherValue.getString()));
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        return Objects.equals(this.value, ((StringValue) obj).value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(value);
     }
 
 }
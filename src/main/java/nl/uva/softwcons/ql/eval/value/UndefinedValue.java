@@ -134,7 +134,7 @@ public final class UndefinedValue extends Value {
     @Override
     public Value orBoolean(final BooleanValue otherValue) {
         if (otherValue.getBoolean()) {
-            return new BooleanValue(true);
+            return BooleanValue.TRUE;
         }
 
         return UNDEFINED;
@@ -2,6 +2,9 @@ package nl.uva.softwcons.ql.eval.value;
 
 import java.math.BigDecimal;
 
+import nl.uva.softwcons.ql.ast.LineInfo;
+import nl.uva.softwcons.ql.ast.expression.Expression;
+
 public abstract class Value {
 
     public boolean inConditionalContext() {
@@ -20,6 +23,13 @@ public abstract class Value {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Returns a literal expression that evaluates to this value.
+     */
+    public Expression toLiteral(final LineInfo lineInfo) {
+        throw new UnsupportedOperationException();
+    }
+
     public Value add(final Value otherValue) {
         throw new UnsupportedOperationException();
     }
@@ -0,0 +1,605 @@
+package nl.uva.softwcons.ql.incremental;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import nl.uva.softwcons.generated.QLBaseListener;
+import nl.uva.softwcons.generated.QLLexer;
+import nl.uva.softwcons.generated.QLParser;
+import nl.uva.softwcons.generated.QLParser.ComputedQuestionContext;
+import nl.uva.softwcons.generated.QLParser.ConditionalContext;
+import nl.uva.softwcons.generated.QLParser.ExprContext;
+import nl.uva.softwcons.generated.QLParser.FormContext;
+import nl.uva.softwcons.generated.QLParser.SimpleQuestionContext;
+import nl.uva.softwcons.generated.QLParser.StatementContext;
+import nl.uva.softwcons.generated.QLParser.TypeContext;
+import nl.uva.softwcons.ql.ast.ASTBuilderQL;
+import nl.uva.softwcons.ql.ast.LineInfo;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.ast.statement.Statement;
+import nl.uva.softwcons.ql.validation.Error;
+
+import org.antlr.v4.runtime.ANTLRInputStream;
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ConsoleErrorListener;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
+
+/**
+ * A form together with its source and validation errors that can be updated
+ * with text edits, for editors that rebuild the form on every keystroke.
+ * <p>
+ * An edit only re-lexes and re-parses the top-level statements it touches,
+ * together with the whitespace and comments around them; all other
+ * {@link Statement} nodes are reused. When the edit adds or removes lines the
+ * statements after it are reused as well, together with the number of lines
+ * they moved, and are only copied with shifted line numbers once the form is
+ * needed. Only the validation checks whose results can change are rerun:
+ * changed declarations rerun all checks, changed expressions the type and
+ * dependency checks and changed labels the label check. The errors of the
+ * other checks are moved along with the lines.
+ * <p>
+ * Edits after which no check has to be rerun, like edits of whitespace, only
+ * copy the source text and a few arrays with an entry per top-level
+ * statement, so they take a fraction of a full build. Edits that change a
+ * label, an expression or a declaration still take time linear in the size
+ * of the form: the rerun checks walk the whole form, and creating the form
+ * they check resolves the symbols of every statement and copies the
+ * statements that moved with shifted line numbers.
+ * <p>
+ * Edits of the form header, edits that cause syntax errors and edits of
+ * forms with syntax errors rebuild the whole form like
+ * {@link nl.uva.softwcons.ql.FormBuilder#build(String)}, except that the
+ * statements the parser could not fully recognize are left out of the form
+ * and are not validated.
+ */
+public final class IncrementalForm {
+    private final String source;
+    private final Identifier name;
+    private final Statements statements;
+    private final Body body;
+    private final Spans spans;
+    private final Map<ValidationCheck, List<Error>> errors;
+    private final Set<ValidationCheck> rerunChecks;
+    private final int reparsedStatements;
+    private volatile Form form;
+
+    private IncrementalForm(final String source, final Identifier name, final Statements statements,
+            final Form form, final Body body, final Spans spans, final Map<ValidationCheck, List<Error>> errors,
+            final Set<ValidationCheck> rerunChecks, final int reparsedStatements) {
+        this.source = source;
+        this.name = name;
+        this.statements = statements;
+        this.form = form;
+        this.body = body;
+        this.spans = spans;
+        this.errors = errors;
+        this.rerunChecks = rerunChecks;
+        this.reparsedStatements = reparsedStatements;
+    }
+
+    /**
+     * Parses and validates the whole given source. Syntax errors are reported
+     * on the console, and the statements containing them are left out.
+     */
+    public static IncrementalForm build(final String source) {
+        final SyntaxErrorFlag syntaxErrors = new SyntaxErrorFlag();
+        final CommonTokenStream tokens = new CommonTokenStream(createLexer(source, syntaxErrors, 1, 0));
+        final QLParser parser = createParser(tokens, syntaxErrors);
+        parser.addErrorListener(ConsoleErrorListener.INSTANCE);
+        final FormContext tree = parser.form();
+        final Form form = syntaxErrors.found ? buildRecovered(tree) : new ASTBuilderQL().visitForm(tree);
+
+        final Map<ValidationCheck, List<Error>> errors = new EnumMap<>(ValidationCheck.class);
+        for (final ValidationCheck check : ValidationCheck.values()) {
+            errors.put(check, check.check(form));
+        }
+        if (syntaxErrors.found) {
+            return new IncrementalForm(source, form.getName(), null, form, null, null, errors,
+                    EnumSet.allOf(ValidationCheck.class), form.getStatements().size());
+        }
+
+        final Token openingBrace = tokens.get(tree.name.getTokenIndex() + 1);
+        final Body body = new Body(openingBrace.getStopIndex() + 1, openingBrace.getLine(),
+                openingBrace.getCharPositionInLine() + 1, tree.getStop().getStartIndex());
+        final List<StatementSpan> spans = tree.statement().stream().map(st -> describe(st, tokens, 0))
+                .collect(toList());
+
+        return new IncrementalForm(source, form.getName(), new Statements(form.getStatements()), form, body,
+                new Spans(spans), errors, EnumSet.allOf(ValidationCheck.class), spans.size());
+    }
+
+    /**
+     * Applies the given edit to the source of this form and returns the
+     * updated form. This form is not changed, but shares its unchanged
+     * statements with the result.
+     */
+    public IncrementalForm edit(final TextEdit edit) {
+        final String newSource = edit.applyTo(this.source);
+        if (this.body == null || edit.getOffset() < this.body.start || edit.getEnd() > this.body.end) {
+            return build(newSource);
+        }
+
+        final int first = this.spans.firstStoppingAtOrAfter(edit.getOffset());
+        int last = this.spans.firstStartingAfter(edit.getEnd()) - 1;
+        // statements starting on the line the edit ends on move sideways
+        while (last + 1 < this.spans.size()
+                && TextEdit.countLines(this.source, edit.getEnd(), this.spans.getStart(last + 1)) == 0) {
+            last++;
+        }
+
+        final StatementSpan previous = first > 0 ? this.spans.get(first - 1) : null;
+        final int regionStart = previous != null ? previous.getStop() : this.body.start;
+        final int regionLine = previous != null ? previous.getEndLine() : this.body.line;
+        final int regionColumn = previous != null ? previous.getEndColumn() : this.body.column;
+        final int regionEnd = last + 1 < this.spans.size() ? this.spans.getStart(last + 1) : this.body.end;
+        final int offsetDelta = newSource.length() - this.source.length();
+        final Region region = parseRegion(newSource.substring(regionStart, regionEnd + offsetDelta), regionStart,
+                regionLine, regionColumn);
+        if (region == null || first == 0 && last == this.spans.size() - 1 && region.statements.isEmpty()) {
+            return build(newSource);
+        }
+
+        final int lineDelta = edit.getLineDelta(this.source);
+        final Set<ValidationCheck> checks = affectedChecks(this.spans.subList(first, last + 1), region.spans,
+                edit.getOffset() + edit.getText().length(), lineDelta);
+        final Form currentForm = this.form;
+        final Statements currentStatements = currentForm == null ? this.statements : new Statements(
+                currentForm.getStatements());
+        final Statements newStatements = currentStatements.replace(first, last, region.statements, lineDelta);
+        final Form newForm = checks.isEmpty() ? null : newStatements.toForm(this.name);
+
+        final LineInfo editEnd = positionOf(edit.getEnd(), regionStart, regionLine, regionColumn);
+        final Map<ValidationCheck, List<Error>> newErrors = new EnumMap<>(ValidationCheck.class);
+        for (final ValidationCheck check : ValidationCheck.values()) {
+            newErrors.put(check, checks.contains(check) ? check.check(newForm) : moveLines(this.errors.get(check),
+                    editEnd, lineDelta));
+        }
+
+        return new IncrementalForm(newSource, this.name, newStatements, newForm, this.body.shift(offsetDelta),
+                this.spans.replace(first, last, region.spans, offsetDelta, lineDelta), newErrors, checks,
+                region.statements.size());
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the form, shifting the line numbers of the statements that
+     * moved since they were parsed the first time it is called.
+     */
+    public synchronized Form getForm() {
+        if (this.form == null) {
+            this.form = this.statements.toForm(this.name);
+        }
+
+        return this.form;
+    }
+
+    /**
+     * Returns the validation errors in the order of
+     * {@link nl.uva.softwcons.ql.validation.Validator#validate(Form)}.
+     */
+    public List<Error> getErrors() {
+        final List<Error> allErrors = new ArrayList<>();
+        this.errors.values().forEach(allErrors::addAll);
+
+        return allErrors;
+    }
+
+    /**
+     * Returns the validation checks that were run for the last edit.
+     */
+    public Set<ValidationCheck> getRerunChecks() {
+        return Collections.unmodifiableSet(rerunChecks);
+    }
+
+    /**
+     * Returns the number of top-level statements that were parsed for the
+     * last edit.
+     */
+    public int getReparsedStatements() {
+        return reparsedStatements;
+    }
+
+    /**
+     * Builds a form from a parse tree that was recovered from syntax errors.
+     * The recovered tree can miss any part of a statement, so only the
+     * statements that were recognized without errors are built.
+     */
+    private static Form buildRecovered(final FormContext tree) {
+        final Identifier name = tree.name == null ? new Identifier("", new LineInfo(1, 0)) : new Identifier(
+                tree.name.getText(), ASTBuilderQL.extractLineInfo(tree.name));
+        final ASTBuilderQL builder = new ASTBuilderQL();
+        final List<Statement> statements = tree.statement().stream().filter(IncrementalForm::isRecognized)
+                .map(st -> (Statement) st.accept(builder)).collect(toList());
+
+        return new Form(name, statements);
+    }
+
+    /**
+     * Indicates whether the given part of a parse tree was recognized without
+     * syntax errors, i.e. it contains no error nodes for missing or extra
+     * tokens and no rule that failed to match.
+     */
+    private static boolean isRecognized(final ParseTree tree) {
+        if (tree instanceof ErrorNode) {
+            return false;
+        }
+        if (tree instanceof ParserRuleContext && ((ParserRuleContext) tree).exception != null) {
+            return false;
+        }
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            if (!isRecognized(tree.getChild(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the position of the given offset in the source, counting from
+     * an earlier offset with a known position.
+     */
+    private LineInfo positionOf(final int offset, final int start, final int line, final int column) {
+        final int lines = TextEdit.countLines(this.source, start, offset);
+        if (lines == 0) {
+            return new LineInfo(line, column + offset - start);
+        }
+
+        return new LineInfo(line + lines, offset - this.source.lastIndexOf('\n', offset - 1) - 1);
+    }
+
+    /**
+     * Parses the statements in the given part of the source, which starts at
+     * the given offset, line and column. Returns null if it contains syntax
+     * errors.
+     */
+    private static Region parseRegion(final String text, final int offset, final int line, final int column) {
+        final SyntaxErrorFlag syntaxErrors = new SyntaxErrorFlag();
+        final CommonTokenStream tokens = new CommonTokenStream(createLexer(text, syntaxErrors, line, column));
+        final QLParser parser = createParser(tokens, syntaxErrors);
+        final ASTBuilderQL builder = new ASTBuilderQL();
+        final Region region = new Region();
+        while (!syntaxErrors.found && parser.getCurrentToken().getType() != Token.EOF) {
+            final StatementContext statement = parser.statement();
+            if (!syntaxErrors.found) {
+                region.statements.add((Statement) statement.accept(builder));
+                region.spans.add(describe(statement, tokens, offset));
+            }
+        }
+
+        return syntaxErrors.found ? null : region;
+    }
+
+    /**
+     * Returns the checks whose results can change when the old statements of
+     * a region are replaced by the new ones. The new statements that start
+     * after the inserted text are compared at their line before the edit,
+     * since the errors of the checks that are not rerun move along with them.
+     */
+    private static Set<ValidationCheck> affectedChecks(final List<StatementSpan> oldSpans,
+            final List<StatementSpan> newSpans, final int movedFrom, final int lineDelta) {
+        final List<StatementSpan> unmovedSpans = newSpans.stream()
+                .map(span -> span.getStart() >= movedFrom ? span.shift(0, -lineDelta) : span).collect(toList());
+        if (!summarize(oldSpans, StatementSpan::getDeclarations).equals(
+                summarize(unmovedSpans, StatementSpan::getDeclarations))) {
+            return EnumSet.allOf(ValidationCheck.class);
+        }
+
+        final Set<ValidationCheck> checks = EnumSet.noneOf(ValidationCheck.class);
+        if (!summarize(oldSpans, StatementSpan::getLabels).equals(summarize(unmovedSpans, StatementSpan::getLabels))) {
+            checks.add(ValidationCheck.LABELS);
+        }
+        if (!summarize(oldSpans, StatementSpan::getExpressions).equals(
+                summarize(unmovedSpans, StatementSpan::getExpressions))) {
+            checks.add(ValidationCheck.TYPES);
+            checks.add(ValidationCheck.DEPENDENCIES);
+        }
+
+        return checks;
+    }
+
+    private static List<Error> moveLines(final List<Error> errors, final LineInfo from, final int lineDelta) {
+        return lineDelta == 0 ? errors : errors.stream().map(error -> error.moveLines(from, lineDelta))
+                .collect(toList());
+    }
+
+    private static String summarize(final List<StatementSpan> spans, final Function<StatementSpan, String> part) {
+        return spans.stream().map(span -> span.getLine() + "|" + part.apply(span)).collect(joining("\n"));
+    }
+
+    private static StatementSpan describe(final StatementContext statement, final TokenStream tokens,
+            final int offset) {
+        final Token first = statement.getStart();
+        final Token last = statement.getStop();
+        final SummaryCollector summary = new SummaryCollector(tokens, first.getLine());
+        ParseTreeWalker.DEFAULT.walk(summary, statement);
+
+        return new StatementSpan(offset + first.getStartIndex(), offset + last.getStopIndex() + 1, first.getLine(),
+                last.getLine(), last.getCharPositionInLine() + last.getText().length(),
+                summary.declarations.toString(), summary.labels.toString(), summary.expressions.toString());
+    }
+
+    private static QLLexer createLexer(final String text, final SyntaxErrorFlag syntaxErrors, final int line,
+            final int column) {
+        final QLLexer lexer = new QLLexer(new ANTLRInputStream(text));
+        lexer.setLine(line);
+        lexer.setCharPositionInLine(column);
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(syntaxErrors);
+
+        return lexer;
+    }
+
+    private static QLParser createParser(final TokenStream tokens, final SyntaxErrorFlag syntaxErrors) {
+        final QLParser parser = new QLParser(tokens);
+        parser.removeErrorListeners();
+        parser.addErrorListener(syntaxErrors);
+
+        return parser;
+    }
+
+    /**
+     * Returns a copy of the given list in which the elements from first to
+     * last are replaced by the given region.
+     */
+    private static <T> List<T> replace(final List<T> list, final int first, final int last, final List<T> region) {
+        final List<T> result = new ArrayList<>(list.size() - (last - first + 1) + region.size());
+        result.addAll(list.subList(0, first));
+        result.addAll(region);
+        result.addAll(list.subList(last + 1, list.size()));
+
+        return result;
+    }
+
+    /**
+     * Returns the shifts for a list in which the elements from first to last
+     * are replaced by newly parsed ones, and the elements after them moved by
+     * the given distance.
+     */
+    private static int[] replaceShifts(final int[] shifts, final int first, final int last, final int regionSize,
+            final int delta) {
+        final int[] result = new int[shifts.length - (last - first + 1) + regionSize];
+        System.arraycopy(shifts, 0, result, 0, first);
+        for (int i = last + 1, j = first + regionSize; i < shifts.length; i++, j++) {
+            result[j] = shifts[i] + delta;
+        }
+
+        return result;
+    }
+
+    /**
+     * The part of the source between the braces of the form.
+     */
+    private static final class Body {
+        private final int start;
+        private final int line;
+        private final int column;
+        private final int end;
+
+        private Body(final int start, final int line, final int column, final int end) {
+            this.start = start;
+            this.line = line;
+            this.column = column;
+            this.end = end;
+        }
+
+        private Body shift(final int offsetDelta) {
+            return new Body(start, line, column, end + offsetDelta);
+        }
+    }
+
+    /**
+     * The top-level statements of a form. Statements that moved since they
+     * were parsed keep their old line numbers together with the number of
+     * lines they moved, until the form is created.
+     */
+    private static final class Statements {
+        private final List<Statement> statements;
+        private final int[] lineShifts;
+
+        private Statements(final List<Statement> statements) {
+            this(statements, new int[statements.size()]);
+        }
+
+        private Statements(final List<Statement> statements, final int[] lineShifts) {
+            this.statements = statements;
+            this.lineShifts = lineShifts;
+        }
+
+        private Statements replace(final int first, final int last, final List<Statement> region,
+                final int lineDelta) {
+            return new Statements(IncrementalForm.replace(statements, first, last, region), replaceShifts(
+                    lineShifts, first, last, region.size(), lineDelta));
+        }
+
+        private Form toForm(final Identifier name) {
+            final List<Statement> shifted = new ArrayList<>(statements.size());
+            for (int i = 0; i < statements.size(); i++) {
+                shifted.add(lineShifts[i] == 0 ? statements.get(i) : LineShifter.shift(statements.get(i),
+                        lineShifts[i]));
+            }
+
+            return new Form(name, shifted);
+        }
+    }
+
+    /**
+     * The spans of the top-level statements, which like the statements keep
+     * their old positions together with the distance they moved.
+     */
+    private static final class Spans {
+        private final List<StatementSpan> spans;
+        private final int[] offsetShifts;
+        private final int[] lineShifts;
+
+        private Spans(final List<StatementSpan> spans) {
+            this(spans, new int[spans.size()], new int[spans.size()]);
+        }
+
+        private Spans(final List<StatementSpan> spans, final int[] offsetShifts, final int[] lineShifts) {
+            this.spans = spans;
+            this.offsetShifts = offsetShifts;
+            this.lineShifts = lineShifts;
+        }
+
+        private int size() {
+            return spans.size();
+        }
+
+        private int getStart(final int index) {
+            return spans.get(index).getStart() + offsetShifts[index];
+        }
+
+        private int getStop(final int index) {
+            return spans.get(index).getStop() + offsetShifts[index];
+        }
+
+        private StatementSpan get(final int index) {
+            final StatementSpan span = spans.get(index);
+            return offsetShifts[index] == 0 && lineShifts[index] == 0 ? span : span.shift(offsetShifts[index],
+                    lineShifts[index]);
+        }
+
+        private List<StatementSpan> subList(final int from, final int to) {
+            final List<StatementSpan> result = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                result.add(get(i));
+            }
+
+            return result;
+        }
+
+        /**
+         * Returns the index of the first span that stops at or after the given
+         * offset, or the number of spans if there is none.
+         */
+        private int firstStoppingAtOrAfter(final int offset) {
+            int low = 0;
+            int high = spans.size();
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (getStop(middle) < offset) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+
+        /**
+         * Returns the index of the first span that starts after the given
+         * offset, or the number of spans if there is none.
+         */
+        private int firstStartingAfter(final int offset) {
+            int low = 0;
+            int high = spans.size();
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (getStart(middle) <= offset) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+
+        private Spans replace(final int first, final int last, final List<StatementSpan> region,
+                final int offsetDelta, final int lineDelta) {
+            return new Spans(IncrementalForm.replace(spans, first, last, region), replaceShifts(offsetShifts, first,
+                    last, region.size(), offsetDelta), replaceShifts(lineShifts, first, last, region.size(),
+                    lineDelta));
+        }
+    }
+
+    private static final class Region {
+        private final List<Statement> statements = new ArrayList<>();
+        private final List<StatementSpan> spans = new ArrayList<>();
+    }
+
+    private static final class SyntaxErrorFlag extends BaseErrorListener {
+        private boolean found;
+
+        @Override
+        public void syntaxError(final Recognizer<?, ?> recognizer, final Object offendingSymbol, final int line,
+                final int charPositionInLine, final String msg, final RecognitionException e) {
+            this.found = true;
+        }
+    }
+
+    /**
+     * Summarizes the parts of a statement that the validation checks look at:
+     * the identifiers with their positions and types, the labels, and the
+     * tokens of the expressions with their positions.
+     */
+    private static final class SummaryCollector extends QLBaseListener {
+        private final TokenStream tokens;
+        private final int line;
+        private final StringBuilder declarations = new StringBuilder();
+        private final StringBuilder labels = new StringBuilder();
+        private final StringBuilder expressions = new StringBuilder();
+
+        private SummaryCollector(final TokenStream tokens, final int line) {
+            this.tokens = tokens;
+            this.line = line;
+        }
+
+        @Override
+        public void enterSimpleQuestion(final SimpleQuestionContext ctx) {
+            declare(ctx.id, ctx.label, ctx.type());
+        }
+
+        @Override
+        public void enterComputedQuestion(final ComputedQuestionContext ctx) {
+            declare(ctx.id, ctx.label, ctx.type());
+            describe(ctx.expr());
+        }
+
+        @Override
+        public void enterConditional(final ConditionalContext ctx) {
+            describe(ctx.expr());
+        }
+
+        private void declare(final Token id, final Token label, final TypeContext type) {
+            declarations.append(id.getText()).append(positionOf(id)).append(':').append(type.getText()).append(' ');
+            labels.append(label.getText()).append(' ');
+        }
+
+        private void describe(final ExprContext expr) {
+            for (int i = expr.getStart().getTokenIndex(); i <= expr.getStop().getTokenIndex(); i++) {
+                final Token token = tokens.get(i);
+                expressions.append(token.getText()).append(positionOf(token)).append(' ');
+            }
+            expressions.append(';');
+        }
+
+        private String positionOf(final Token token) {
+            return "@" + (token.getLine() - line) + ":" + token.getCharPositionInLine();
+        }
+    }
+
+}
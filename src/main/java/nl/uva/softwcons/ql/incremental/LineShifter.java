@@ -0,0 +1,157 @@
+package nl.uva.softwcons.ql.incremental;
+
+import static java.util.stream.Collectors.toList;
+
+import nl.uva.softwcons.ql.ast.LineInfo;
+import nl.uva.softwcons.ql.ast.expression.Expression;
+import nl.uva.softwcons.ql.ast.expression.ExpressionVisitor;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Addition;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Division;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Multiplication;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Subtraction;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.Equal;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.GreaterOrEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.GreaterThan;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.LowerOrEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.LowerThan;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.NotEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.And;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.Or;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.expression.literal.BooleanLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.NumberLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.StringLiteral;
+import nl.uva.softwcons.ql.ast.expression.unary.logical.Not;
+
+import nl.uva.softwcons.ql.ast.statement.ComputedQuestion;
+import nl.uva.softwcons.ql.ast.statement.Conditional;
+import nl.uva.softwcons.ql.ast.statement.Question;
+import nl.uva.softwcons.ql.ast.statement.Statement;
+import nl.uva.softwcons.ql.ast.statement.StatementVisitor;
+
+/**
+ * Copies statements with all their line numbers moved by a fixed amount, for
+ * statements that follow an edit which added or removed lines.
+ */
+final class LineShifter implements StatementVisitor<Statement>, ExpressionVisitor<Expression> {
+    private final int lineDelta;
+
+    private LineShifter(final int lineDelta) {
+        this.lineDelta = lineDelta;
+    }
+
+    static Statement shift(final Statement statement, final int lineDelta) {
+        return statement.accept(new LineShifter(lineDelta));
+    }
+
+    @Override
+    public Statement visit(final ComputedQuestion question) {
+        return new ComputedQuestion(shift(question.getId()), question.getLabel(), question.getType(), question
+                .getExpression().accept(this));
+    }
+
+    @Override
+    public Statement visit(final Question question) {
+        return new Question(shift(question.getId()), question.getLabel(), question.getType());
+    }
+
+    @Override
+    public Statement visit(final Conditional conditional) {
+        return new Conditional(conditional.getExpression().accept(this), conditional.getQuestions().stream()
+                .map(q -> (Question) q.accept(this)).collect(toList()));
+    }
+
+    @Override
+    public Expression visit(final Addition expr) {
+        return new Addition(visitLeftOperand(expr), visitRightOperand(expr), shift(expr.getLineInfo()));
+    }
+
+    @Override
+    public Expression visit(final Division expr) {
+        return new Division(visitLeftOperand(expr), visitRightOperand(expr), shift(expr.getLineInfo()));
+    }
+
+    @Override
+    public Expression visit(final Multiplication expr) {
+        return new Multiplication(visitLeftOperand(expr), visitRightOperand(expr), shift(expr.getLineInfo()));
+    }
+
+    @Override
+    public Expression visit(final Subtraction expr) {
+        return new Subtraction(visitLeftOperand(expr), visitRightOperand(expr), shift(expr.getLineInfo()));
+    }
+
+    @Override
+    public Expression visit(final Equal expr) {
+        return new Equal(visitLeftOperand(expr), visitRightOperand(expr), shift(expr.getLineInfo()));
+    }
+
+    @Override
+    public Expression visit(final GreaterOrEqual expr) {
+        return new GreaterOrEqual(visitLeftOperand(expr), visitRightOperand(expr), shift(expr.getLineInfo()));
+    }
+
+    @Override
+    public Expression visit(final GreaterThan expr) {
+        return new GreaterThan(visitLeftOperand(expr), visitRightOperand(expr), shift(expr.getLineInfo()));
+    }
+
+    @Override
+    public Expression visit(final LowerOrEqual expr) {
+        return new LowerOrEqual(visitLeftOperand(expr), visitRightOperand(expr), shift(expr.getLineInfo()));
+    }
+
+    @Override
+    public Expression visit(final LowerThan expr) {
+        return new LowerThan(visitLeftOperand(expr), visitRightOperand(expr), shift(expr.getLineInfo()));
+    }
+
+    @Override
+    public Expression visit(final NotEqual expr) {
+        return new NotEqual(visitLeftOperand(expr), visitRightOperand(expr), shift(expr.getLineInfo()));
+    }
+
+    @Override
+    public Expression visit(final And expr) {
+        return new And(visitLeftOperand(expr), visitRightOperand(expr), shift(expr.getLineInfo()));
+    }
+
+    @Override
+    public Expression visit(final Or expr) {
+        return new Or(visitLeftOperand(expr), visitRightOperand(expr), shift(expr.getLineInfo()));
+    }
+
+    @Override
+    public Expression visit(final Not expr) {
+        return new Not(visitUnaryOperand(expr), shift(expr.getLineInfo()));
+    }
+
+    @Override
+    public Expression visit(final Identifier expr) {
+        return shift(expr);
+    }
+
+    @Override
+    public Expression visit(final BooleanLiteral expr) {
+        return new BooleanLiteral(expr.getValue(), shift(expr.getLineInfo()));
+    }
+
+    @Override
+    public Expression visit(final StringLiteral expr) {
+        return new StringLiteral(expr.getValue(), shift(expr.getLineInfo()));
+    }
+
+    @Override
+    public Expression visit(final NumberLiteral expr) {
+        return new NumberLiteral(expr.getValue(), shift(expr.getLineInfo()));
+    }
+
+    private Identifier shift(final Identifier id) {
+        return new Identifier(id.getName(), shift(id.getLineInfo()));
+    }
+
+    private LineInfo shift(final LineInfo lineInfo) {
+        return new LineInfo(lineInfo.getLine() + lineDelta, lineInfo.getPositionInLine());
+    }
+
+}
@@ -0,0 +1,86 @@
+package nl.uva.softwcons.ql.incremental;
+
+/**
+ * The position of a top-level statement in the source of an
+ * {@link IncrementalForm}, together with summaries of the parts of the
+ * statement the validation checks look at. The summaries use line numbers
+ * relative to the first line of the statement, so they stay valid when the
+ * statement moves.
+ */
+final class StatementSpan {
+    private final int start;
+    private final int stop;
+    private final int line;
+    private final int endLine;
+    private final int endColumn;
+    private final String declarations;
+    private final String labels;
+    private final String expressions;
+
+    StatementSpan(final int start, final int stop, final int line, final int endLine, final int endColumn,
+            final String declarations, final String labels, final String expressions) {
+        this.start = start;
+        this.stop = stop;
+        this.line = line;
+        this.endLine = endLine;
+        this.endColumn = endColumn;
+        this.declarations = declarations;
+        this.labels = labels;
+        this.expressions = expressions;
+    }
+
+    /**
+     * Returns the offset of the first character of the statement.
+     */
+    int getStart() {
+        return start;
+    }
+
+    /**
+     * Returns the offset after the last character of the statement.
+     */
+    int getStop() {
+        return stop;
+    }
+
+    int getLine() {
+        return line;
+    }
+
+    int getEndLine() {
+        return endLine;
+    }
+
+    /**
+     * Returns the position in the last line after the last character of the
+     * statement.
+     */
+    int getEndColumn() {
+        return endColumn;
+    }
+
+    /**
+     * Returns the identifiers, their positions and the types of the questions
+     * declared by the statement.
+     */
+    String getDeclarations() {
+        return declarations;
+    }
+
+    String getLabels() {
+        return labels;
+    }
+
+    /**
+     * Returns the tokens and positions of the expressions of the statement.
+     */
+    String getExpressions() {
+        return expressions;
+    }
+
+    StatementSpan shift(final int offsetDelta, final int lineDelta) {
+        return new StatementSpan(start + offsetDelta, stop + offsetDelta, line + lineDelta, endLine + lineDelta,
+                endColumn, declarations, labels, expressions);
+    }
+
+}
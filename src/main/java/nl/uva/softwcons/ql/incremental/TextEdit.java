@@ -0,0 +1,65 @@
+package nl.uva.softwcons.ql.incremental;
+
+/**
+ * Replaces the given number of characters at an offset of a source text by
+ * new text, as reported by an editor after a keystroke or paste.
+ */
+public class TextEdit {
+    private final int offset;
+    private final int length;
+    private final String text;
+
+    public TextEdit(final int offset, final int length, final String text) {
+        this.offset = offset;
+        this.length = length;
+        this.text = text;
+    }
+
+    public static TextEdit insert(final int offset, final String text) {
+        return new TextEdit(offset, 0, text);
+    }
+
+    public static TextEdit delete(final int offset, final int length) {
+        return new TextEdit(offset, length, "");
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public int getEnd() {
+        return offset + length;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String applyTo(final String source) {
+        return source.substring(0, offset) + text + source.substring(offset + length);
+    }
+
+    /**
+     * Returns how many lines the edit adds to the given source, which is
+     * negative when it removes lines.
+     */
+    int getLineDelta(final String source) {
+        return countLines(text, 0, text.length()) - countLines(source, offset, getEnd());
+    }
+
+    static int countLines(final String text, final int start, final int end) {
+        int lines = 0;
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+
+        return lines;
+    }
+
+}
@@ -0,0 +1,33 @@
+package nl.uva.softwcons.ql.incremental;
+
+import java.util.List;
+import java.util.function.Function;
+
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.validation.Error;
+import nl.uva.softwcons.ql.validation.dependency.CyclicDependencyChecker;
+import nl.uva.softwcons.ql.validation.identifier.QuestionIdentifierChecker;
+import nl.uva.softwcons.ql.validation.label.LabelChecker;
+import nl.uva.softwcons.ql.validation.type.TypeChecker;
+
+/**
+ * The checkers run by the {@link nl.uva.softwcons.ql.validation.Validator},
+ * in the same order, so that their results can be kept and rerun separately.
+ */
+public enum ValidationCheck {
+    DEPENDENCIES(CyclicDependencyChecker::check),
+    IDENTIFIERS(QuestionIdentifierChecker::check),
+    LABELS(LabelChecker::check),
+    TYPES(TypeChecker::check);
+
+    private final Function<Form, List<Error>> checker;
+
+    private ValidationCheck(final Function<Form, List<Error>> checker) {
+        this.checker = checker;
+    }
+
+    public List<Error> check(final Form form) {
+        return checker.apply(form);
+    }
+
+}
@@ -0,0 +1,65 @@
+package nl.uva.softwcons.ql.snapshot;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.uva.softwcons.ql.ast.expression.Expression;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.ast.statement.ComputedQuestion;
+import nl.uva.softwcons.ql.ast.statement.Conditional;
+import nl.uva.softwcons.ql.ast.statement.Question;
+import nl.uva.softwcons.ql.ast.statement.Statement;
+import nl.uva.softwcons.ql.ast.type.Type;
+
+public class FormSnapshotReader {
+    private final SnapshotInput input;
+
+    public FormSnapshotReader(final SnapshotInput input) {
+        this.input = input;
+    }
+
+    public Form read() throws IOException {
+        final Identifier name = input.readIdentifier();
+        final int size = input.readInt();
+        final List<Statement> statements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            statements.add(readStatement());
+        }
+
+        return new Form(name, statements);
+    }
+
+    private Statement readStatement() throws IOException {
+        final byte tag = input.readByte();
+        if (tag != Tags.CONDITIONAL) {
+            return readQuestion(tag);
+        }
+
+        final Expression condition = input.readExpression();
+        final int size = input.readInt();
+        final List<Question> questions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            questions.add(readQuestion(input.readByte()));
+        }
+
+        return new Conditional(condition, questions);
+    }
+
+    private Question readQuestion(final byte tag) throws IOException {
+        final Identifier id = input.readIdentifier();
+        final String label = input.readString();
+        final Type type = input.readType();
+
+        switch (tag) {
+        case Tags.QUESTION:
+            return new Question(id, label, type);
+        case Tags.COMPUTED_QUESTION:
+            return new ComputedQuestion(id, label, type, input.readExpression());
+        default:
+            throw new IOException("Unknown statement tag " + tag);
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+package nl.uva.softwcons.ql.snapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.ast.form.FormVisitor;
+import nl.uva.softwcons.ql.ast.statement.ComputedQuestion;
+import nl.uva.softwcons.ql.ast.statement.Conditional;
+import nl.uva.softwcons.ql.ast.statement.Question;
+import nl.uva.softwcons.ql.ast.statement.StatementVisitor;
+
+public class FormSnapshotWriter implements FormVisitor<Void>, StatementVisitor<Void> {
+    private final SnapshotOutput output;
+
+    public FormSnapshotWriter(final SnapshotOutput output) {
+        this.output = output;
+    }
+
+    public void write(final Form form) throws IOException {
+        try {
+            form.accept(this);
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public Void visit(final Form form) {
+        try {
+            output.writeIdentifier(form.getName());
+            output.writeInt(form.getStatements().size());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        form.getStatements().forEach(st -> st.accept(this));
+        return null;
+    }
+
+    @Override
+    public Void visit(final ComputedQuestion question) {
+        try {
+            output.writeByte(Tags.COMPUTED_QUESTION);
+            writeQuestionHeader(question);
+            output.writeExpression(question.getExpression());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(final Question question) {
+        try {
+            output.writeByte(Tags.QUESTION);
+            writeQuestionHeader(question);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(final Conditional conditional) {
+        try {
+            output.writeByte(Tags.CONDITIONAL);
+            output.writeExpression(conditional.getExpression());
+            output.writeInt(conditional.getQuestions().size());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        conditional.getQuestions().forEach(q -> q.accept(this));
+        return null;
+    }
+
+    private void writeQuestionHeader(final Question question) throws IOException {
+        output.writeIdentifier(question.getId());
+        output.writeString(question.getLabel());
+        output.writeType(question.getType());
+    }
+
+}
@@ -0,0 +1,54 @@
+package nl.uva.softwcons.ql.snapshot;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * Loads trees from snapshot files, rebuilding the snapshot from source when
+ * it is missing, truncated or stale.
+ */
+public final class SnapshotFiles {
+
+    public interface Reader<T> {
+        T read(InputStream input) throws IOException;
+    }
+
+    public interface Writer<T> {
+        void write(T tree, OutputStream output) throws IOException;
+    }
+
+    private SnapshotFiles() {
+    }
+
+    public static <T> T loadOrRebuild(final Path snapshot, final Reader<T> reader, final Supplier<T> builder,
+            final Writer<T> writer) throws IOException {
+        if (Files.isRegularFile(snapshot)) {
+            try (final InputStream input = new BufferedInputStream(Files.newInputStream(snapshot))) {
+                return reader.read(input);
+            } catch (final StaleSnapshotException | EOFException e) {
+                // fall through and rebuild the snapshot from source
+            }
+        }
+
+        final T tree = builder.get();
+        final Path directory = snapshot.toAbsolutePath().getParent();
+        final Path temporary = Files.createTempFile(directory, snapshot.getFileName().toString(), ".tmp");
+        try (final OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+            writer.write(tree, output);
+        }
+        Files.move(temporary, snapshot, REPLACE_EXISTING, ATOMIC_MOVE);
+
+        return tree;
+    }
+
+}
@@ -0,0 +1,192 @@
+package nl.uva.softwcons.ql.snapshot;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static nl.uva.softwcons.ql.ast.type.BooleanType.BOOLEAN_TYPE;
+import static nl.uva.softwcons.ql.ast.type.DateType.DATE_TYPE;
+import static nl.uva.softwcons.ql.ast.type.NumberType.NUMBER_TYPE;
+import static nl.uva.softwcons.ql.ast.type.StringType.STRING_TYPE;
+import static nl.uva.softwcons.ql.ast.type.UndefinedType.UNDEFINED_TYPE;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.uva.softwcons.ql.ast.LineInfo;
+import nl.uva.softwcons.ql.ast.expression.Expression;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Addition;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Division;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Multiplication;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Subtraction;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.Equal;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.GreaterOrEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.GreaterThan;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.LowerOrEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.LowerThan;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.NotEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.And;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.Or;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.expression.literal.BooleanLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.NumberLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.StringLiteral;
+import nl.uva.softwcons.ql.ast.expression.unary.logical.Not;
+import nl.uva.softwcons.ql.ast.type.Type;
+
+import com.google.common.hash.HashCode;
+
+/**
+ * Reads what {@link SnapshotOutput} writes.
+ */
+public class SnapshotInput {
+    private final DataInputStream input;
+    private final List<String> strings;
+
+    public SnapshotInput(final InputStream input) {
+        this.input = new DataInputStream(input);
+        this.strings = new ArrayList<>();
+    }
+
+    /**
+     * Reads and checks the header of a snapshot.
+     * 
+     * @param magic
+     *            The number identifying the kind of snapshot
+     * @param sourceHash
+     *            The hash of the source the snapshot must have been built
+     *            from, or null to accept any source
+     * @throws StaleSnapshotException
+     *             If the snapshot is of another kind, format version or
+     *             source
+     */
+    public void readHeader(final int magic, final HashCode sourceHash) throws IOException {
+        if (input.readInt() != magic) {
+            throw new StaleSnapshotException("Not a snapshot of the expected kind");
+        }
+        if (input.readInt() != SnapshotOutput.FORMAT_VERSION) {
+            throw new StaleSnapshotException("Snapshot format version is not supported");
+        }
+
+        final byte[] hash = new byte[sourceHash == null ? 32 : sourceHash.bits() / Byte.SIZE];
+        input.readFully(hash);
+        if (sourceHash != null && !sourceHash.equals(HashCode.fromBytes(hash))) {
+            throw new StaleSnapshotException("Snapshot was built from other source text");
+        }
+    }
+
+    public int readInt() throws IOException {
+        return input.readInt();
+    }
+
+    public byte readByte() throws IOException {
+        return input.readByte();
+    }
+
+    public double readDouble() throws IOException {
+        return input.readDouble();
+    }
+
+    public String readString() throws IOException {
+        final int index = input.readInt();
+        if (index < strings.size()) {
+            return strings.get(index);
+        }
+
+        final byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        final String value = new String(bytes, UTF_8);
+        strings.add(value);
+
+        return value;
+    }
+
+    public LineInfo readLineInfo() throws IOException {
+        final int line = input.readInt();
+        if (line == SnapshotOutput.NO_LINE) {
+            return null;
+        }
+
+        return new LineInfo(line, input.readInt());
+    }
+
+    public Identifier readIdentifier() throws IOException {
+        final String name = readString();
+
+        return new Identifier(name, readLineInfo());
+    }
+
+    public Type readType() throws IOException {
+        final byte tag = input.readByte();
+        switch (tag) {
+        case Tags.BOOLEAN_TYPE:
+            return BOOLEAN_TYPE;
+        case Tags.STRING_TYPE:
+            return STRING_TYPE;
+        case Tags.NUMBER_TYPE:
+            return NUMBER_TYPE;
+        case Tags.DATE_TYPE:
+            return DATE_TYPE;
+        case Tags.UNDEFINED_TYPE:
+            return UNDEFINED_TYPE;
+        default:
+            throw new IOException("Unknown type tag " + tag);
+        }
+    }
+
+    public Expression readExpression() throws IOException {
+        final byte tag = input.readByte();
+        if (tag == Tags.IDENTIFIER) {
+            return readIdentifier();
+        }
+
+        final LineInfo lineInfo = readLineInfo();
+        switch (tag) {
+        case Tags.BOOLEAN_LITERAL:
+            return new BooleanLiteral(input.readBoolean(), lineInfo);
+        case Tags.STRING_LITERAL:
+            return new StringLiteral(readString(), lineInfo);
+        case Tags.NUMBER_LITERAL:
+            return new NumberLiteral(input.readDouble(), lineInfo);
+        case Tags.NOT:
+            return new Not(readExpression(), lineInfo);
+        default:
+            return readBinary(tag, lineInfo);
+        }
+    }
+
+    private Expression readBinary(final byte tag, final LineInfo lineInfo) throws IOException {
+        final Expression left = readExpression();
+        final Expression right = readExpression();
+
+        switch (tag) {
+        case Tags.ADDITION:
+            return new Addition(left, right, lineInfo);
+        case Tags.DIVISION:
+            return new Division(left, right, lineInfo);
+        case Tags.MULTIPLICATION:
+            return new Multiplication(left, right, lineInfo);
+        case Tags.SUBTRACTION:
+            return new Subtraction(left, right, lineInfo);
+        case Tags.EQUAL:
+            return new Equal(left, right, lineInfo);
+        case Tags.GREATER_OR_EQUAL:
+            return new GreaterOrEqual(left, right, lineInfo);
+        case Tags.GREATER_THAN:
+            return new GreaterThan(left, right, lineInfo);
+        case Tags.LOWER_OR_EQUAL:
+            return new LowerOrEqual(left, right, lineInfo);
+        case Tags.LOWER_THAN:
+            return new LowerThan(left, right, lineInfo);
+        case Tags.NOT_EQUAL:
+            return new NotEqual(left, right, lineInfo);
+        case Tags.AND:
+            return new And(left, right, lineInfo);
+        case Tags.OR:
+            return new Or(left, right, lineInfo);
+        default:
+            throw new IOException("Unknown expression tag " + tag);
+        }
+    }
+
+}
@@ -0,0 +1,297 @@
+package nl.uva.softwcons.ql.snapshot;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import nl.uva.softwcons.ql.ast.LineInfo;
+import nl.uva.softwcons.ql.ast.expression.Expression;
+import nl.uva.softwcons.ql.ast.expression.ExpressionVisitor;
+import nl.uva.softwcons.ql.ast.expression.binary.BinaryExpression;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Addition;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Division;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Multiplication;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Subtraction;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.Equal;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.GreaterOrEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.GreaterThan;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.LowerOrEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.LowerThan;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.NotEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.And;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.Or;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.expression.literal.BooleanLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.NumberLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.StringLiteral;
+import nl.uva.softwcons.ql.ast.expression.unary.logical.Not;
+import nl.uva.softwcons.ql.ast.type.BooleanType;
+import nl.uva.softwcons.ql.ast.type.DateType;
+import nl.uva.softwcons.ql.ast.type.NumberType;
+import nl.uva.softwcons.ql.ast.type.StringType;
+import nl.uva.softwcons.ql.ast.type.Type;
+import nl.uva.softwcons.ql.ast.type.TypeVisitor;
+import nl.uva.softwcons.ql.ast.type.UndefinedType;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+
+/**
+ * Writes the building blocks of QL and QLS snapshots: the header, strings,
+ * line information, types and expression trees. Every distinct string is
+ * written once and referred to by its index afterwards.
+ */
+public class SnapshotOutput implements ExpressionVisitor<Void>, TypeVisitor<Void> {
+    static final int FORMAT_VERSION = 1;
+    static final int NO_LINE = Integer.MIN_VALUE;
+
+    private final DataOutputStream output;
+    private final Map<String, Integer> strings;
+
+    public SnapshotOutput(final OutputStream output) {
+        this.output = new DataOutputStream(output);
+        this.strings = new HashMap<>();
+    }
+
+    /**
+     * Returns the hash identifying the source text a snapshot is built from.
+     */
+    public static HashCode hashSource(final String source) {
+        return Hashing.sha256().hashString(source, UTF_8);
+    }
+
+    public void writeHeader(final int magic, final HashCode sourceHash) throws IOException {
+        output.writeInt(magic);
+        output.writeInt(FORMAT_VERSION);
+        output.write(sourceHash.asBytes());
+    }
+
+    public void writeInt(final int value) throws IOException {
+        output.writeInt(value);
+    }
+
+    public void writeByte(final byte value) throws IOException {
+        output.writeByte(value);
+    }
+
+    public void writeDouble(final double value) throws IOException {
+        output.writeDouble(value);
+    }
+
+    public void writeString(final String value) throws IOException {
+        final Integer index = strings.get(value);
+        if (index != null) {
+            output.writeInt(index);
+            return;
+        }
+
+        strings.put(value, strings.size());
+        output.writeInt(strings.size() - 1);
+        final byte[] bytes = value.getBytes(UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    public void writeLineInfo(final LineInfo lineInfo) throws IOException {
+        if (lineInfo == null) {
+            output.writeInt(NO_LINE);
+            return;
+        }
+        output.writeInt(lineInfo.getLine());
+        output.writeInt(lineInfo.getPositionInLine());
+    }
+
+    public void writeIdentifier(final Identifier identifier) throws IOException {
+        writeString(identifier.getName());
+        writeLineInfo(identifier.getLineInfo());
+    }
+
+    public void writeType(final Type type) throws IOException {
+        try {
+            type.accept(this);
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public void writeExpression(final Expression expression) throws IOException {
+        try {
+            expression.accept(this);
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    @Override
+    public Void visit(final Addition expr) {
+        return writeBinary(Tags.ADDITION, expr);
+    }
+
+    @Override
+    public Void visit(final Division expr) {
+        return writeBinary(Tags.DIVISION, expr);
+    }
+
+    @Override
+    public Void visit(final Multiplication expr) {
+        return writeBinary(Tags.MULTIPLICATION, expr);
+    }
+
+    @Override
+    public Void visit(final Subtraction expr) {
+        return writeBinary(Tags.SUBTRACTION, expr);
+    }
+
+    @Override
+    public Void visit(final Equal expr) {
+        return writeBinary(Tags.EQUAL, expr);
+    }
+
+    @Override
+    public Void visit(final GreaterOrEqual expr) {
+        return writeBinary(Tags.GREATER_OR_EQUAL, expr);
+    }
+
+    @Override
+    public Void visit(final GreaterThan expr) {
+        return writeBinary(Tags.GREATER_THAN, expr);
+    }
+
+    @Override
+    public Void visit(final LowerOrEqual expr) {
+        return writeBinary(Tags.LOWER_OR_EQUAL, expr);
+    }
+
+    @Override
+    public Void visit(final LowerThan expr) {
+        return writeBinary(Tags.LOWER_THAN, expr);
+    }
+
+    @Override
+    public Void visit(final NotEqual expr) {
+        return writeBinary(Tags.NOT_EQUAL, expr);
+    }
+
+    @Override
+    public Void visit(final And expr) {
+        return writeBinary(Tags.AND, expr);
+    }
+
+    @Override
+    public Void visit(final Or expr) {
+        return writeBinary(Tags.OR, expr);
+    }
+
+    @Override
+    public Void visit(final Not expr) {
+        try {
+            output.writeByte(Tags.NOT);
+            writeLineInfo(expr.getLineInfo());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return expr.getExpression().accept(this);
+    }
+
+    @Override
+    public Void visit(final Identifier expr) {
+        try {
+            output.writeByte(Tags.IDENTIFIER);
+            writeIdentifier(expr);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(final BooleanLiteral expr) {
+        try {
+            output.writeByte(Tags.BOOLEAN_LITERAL);
+            writeLineInfo(expr.getLineInfo());
+            output.writeBoolean(expr.getValue());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(final StringLiteral expr) {
+        try {
+            output.writeByte(Tags.STRING_LITERAL);
+            writeLineInfo(expr.getLineInfo());
+            writeString(expr.getValue());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(final NumberLiteral expr) {
+        try {
+            output.writeByte(Tags.NUMBER_LITERAL);
+            writeLineInfo(expr.getLineInfo());
+            output.writeDouble(expr.getValue().doubleValue());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(final BooleanType type) {
+        return writeTypeTag(Tags.BOOLEAN_TYPE);
+    }
+
+    @Override
+    public Void visit(final StringType type) {
+        return writeTypeTag(Tags.STRING_TYPE);
+    }
+
+    @Override
+    public Void visit(final NumberType type) {
+        return writeTypeTag(Tags.NUMBER_TYPE);
+    }
+
+    @Override
+    public Void visit(final DateType type) {
+        return writeTypeTag(Tags.DATE_TYPE);
+    }
+
+    @Override
+    public Void visit(final UndefinedType type) {
+        return writeTypeTag(Tags.UNDEFINED_TYPE);
+    }
+
+    private Void writeBinary(final byte tag, final BinaryExpression expr) {
+        try {
+            output.writeByte(tag);
+            writeLineInfo(expr.getLineInfo());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        expr.getLeftExpression().accept(this);
+        return expr.getRightExpression().accept(this);
+    }
+
+    private Void writeTypeTag(final byte tag) {
+        try {
+            output.writeByte(tag);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+}
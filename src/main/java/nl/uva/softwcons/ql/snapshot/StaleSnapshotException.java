@@ -0,0 +1,16 @@
+package nl.uva.softwcons.ql.snapshot;
+
+import java.io.IOException;
+
+/**
+ * Signals that a snapshot was written by another format version or from
+ * other source text, and has to be rebuilt from source.
+ */
+public class StaleSnapshotException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    public StaleSnapshotException(final String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,38 @@
+package nl.uva.softwcons.ql.snapshot;
+
+/**
+ * The bytes identifying each kind of node in a snapshot.
+ */
+final class Tags {
+    static final byte ADDITION = 1;
+    static final byte DIVISION = 2;
+    static final byte MULTIPLICATION = 3;
+    static final byte SUBTRACTION = 4;
+    static final byte EQUAL = 5;
+    static final byte GREATER_OR_EQUAL = 6;
+    static final byte GREATER_THAN = 7;
+    static final byte LOWER_OR_EQUAL = 8;
+    static final byte LOWER_THAN = 9;
+    static final byte NOT_EQUAL = 10;
+    static final byte AND = 11;
+    static final byte OR = 12;
+    static final byte NOT = 13;
+    static final byte IDENTIFIER = 14;
+    static final byte BOOLEAN_LITERAL = 15;
+    static final byte STRING_LITERAL = 16;
+    static final byte NUMBER_LITERAL = 17;
+
+    static final byte BOOLEAN_TYPE = 1;
+    static final byte STRING_TYPE = 2;
+    static final byte NUMBER_TYPE = 3;
+    static final byte DATE_TYPE = 4;
+    static final byte UNDEFINED_TYPE = 5;
+
+    static final byte QUESTION = 1;
+    static final byte COMPUTED_QUESTION = 2;
+    static final byte CONDITIONAL = 3;
+
+    private Tags() {
+    }
+
+}
@@ -3,8 +3,11 @@ package nl.uva.softwcons.ql.ui;
 import static java.util.stream.Collectors.toList;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
 import nl.uva.softwcons.ql.ast.form.Form;
 import nl.uva.softwcons.ql.ast.form.FormVisitor;
 import nl.uva.softwcons.ql.ast.statement.ComputedQuestion;
@@ -12,7 +15,10 @@ import nl.uva.softwcons.ql.ast.statement.Conditional;
 import nl.uva.softwcons.ql.ast.statement.Question;
 import nl.uva.softwcons.ql.ast.statement.Statement;
 import nl.uva.softwcons.ql.ast.statement.StatementVisitor;
+import nl.uva.softwcons.ql.eval.DependencyGraph;
+import nl.uva.softwcons.ql.eval.EvaluationMode;
 import nl.uva.softwcons.ql.eval.Evaluator;
+import nl.uva.softwcons.ql.eval.value.Value;
 import nl.uva.softwcons.ql.ui.layout.Layout;
 import nl.uva.softwcons.ql.ui.layout.QuestionLayout;
 import nl.uva.softwcons.ql.ui.renderer.Renderer;
@@ -20,21 +26,60 @@ import nl.uva.softwcons.ql.ui.widget.Widget;
 import nl.uva.softwcons.ql.ui.widget.factory.WidgetFactory;
 
 public class UiBuilder implements FormVisitor<Void>, StatementVisitor<List<QuestionLayout>> {
+    private final Form form;
     private final Evaluator evaluator;
     private final WidgetFactory widgetFactory;
     private final Renderer renderer;
+    private final Map<Identifier, Widget> inputWidgets;
+    private boolean loadingAnswers;
 
     public UiBuilder(final Form form, final Renderer renderer, final WidgetFactory widgetFactory) {
-        this.evaluator = new Evaluator(form);
+        this(form, new DependencyGraph(form), renderer, widgetFactory);
+    }
+
+    public UiBuilder(final Form form, final DependencyGraph dependencies, final Renderer renderer,
+            final WidgetFactory widgetFactory) {
+        this.form = form;
+        this.evaluator = new Evaluator(form, dependencies, EvaluationMode.LAZY);
         this.widgetFactory = widgetFactory;
         this.renderer = renderer;
+        this.inputWidgets = new HashMap<>();
     }
 
     public static Layout buildFrom(final Form form, final Renderer renderer, final WidgetFactory widgetFactory) {
-        final UiBuilder u = new UiBuilder(form, renderer, widgetFactory);
-        form.accept(u);
+        return new UiBuilder(form, renderer, widgetFactory).build();
+    }
+
+    public static Layout buildFrom(final Form form, final DependencyGraph dependencies, final Renderer renderer,
+            final WidgetFactory widgetFactory) {
+        return new UiBuilder(form, dependencies, renderer, widgetFactory).build();
+    }
+
+    public Layout build() {
+        this.form.accept(this);
+
+        return this.renderer.getLayout();
+    }
+
+    /**
+     * Loads the given answers into the built form. The input widgets show the
+     * answers without reporting each change back, and the evaluator applies
+     * them all in a single propagation pass.
+     */
+    public void loadAnswers(final Map<Identifier, Value> answers) {
+        this.loadingAnswers = true;
+        try {
+            answers.forEach((id, value) -> {
+                final Widget inputWidget = this.inputWidgets.get(id);
+                if (inputWidget != null) {
+                    inputWidget.setValue(value);
+                }
+            });
+        } finally {
+            this.loadingAnswers = false;
+        }
 
-        return renderer.getLayout();
+        this.evaluator.updateValues(answers);
     }
 
     @Override
@@ -68,8 +113,11 @@ public class UiBuilder implements FormVisitor<Void>, StatementVisitor<List<Quest
         final QuestionLayout layout = new QuestionLayout(question.getId(), question.getLabel(), questionWidget);
 
         questionWidget.addListener((newValue) -> {
-            evaluator.updateValue(question.getId(), newValue);
+            if (!loadingAnswers) {
+                evaluator.updateValue(question.getId(), newValue);
+            }
         });
+        this.inputWidgets.put(question.getId(), questionWidget);
 
         return Arrays.asList(layout);
     }
@@ -7,7 +7,7 @@ public class BooleanToBooleanValueConverter implements ValueConverter<Boolean> {
 
     @Override
     public Value toValue(final Boolean value) {
-        return new BooleanValue(value);
+        return BooleanValue.valueOf(value);
     }
 
     @Override
@@ -15,7 +15,7 @@ public class StringToNumberValueConverter implements ValueConverter<String> {
             return UNDEFINED;
         }
 
-        return new NumberValue(new BigDecimal(value));
+        return NumberValue.valueOf(new BigDecimal(value));
     }
 
     @Override
@@ -2,20 +2,41 @@ package nl.uva.softwcons.ql.validation;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public abstract class Checker {
-    private final List<Error> errorsFound;
+    private final DiagnosticsSink sink;
 
-    public Checker() {
-        this.errorsFound = new ArrayList<>();
+    public Checker(final DiagnosticsSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Runs a check that reports to a sink and returns the errors it found.
+     */
+    public static List<Error> collectErrors(final Consumer<DiagnosticsSink> check) {
+        final List<Error> errors = new ArrayList<>();
+        check.accept(errors::add);
+
+        return errors;
     }
 
     public void addError(final Error e) {
-        this.errorsFound.add(e);
+        if (!this.sink.isStopped()) {
+            this.sink.report(e);
+        }
     }
 
-    public List<Error> getErrors() {
-        return this.errorsFound;
+    /**
+     * Visits the given nodes in order until the sink asks to stop.
+     */
+    protected <T> void visitUntilStopped(final Iterable<T> nodes, final Consumer<T> visitor) {
+        for (final T node : nodes) {
+            if (this.sink.isStopped()) {
+                return;
+            }
+            visitor.accept(node);
+        }
     }
 
 }
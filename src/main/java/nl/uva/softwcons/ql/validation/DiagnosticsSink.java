@@ -0,0 +1,22 @@
+package nl.uva.softwcons.ql.validation;
+
+/**
+ * Receives the errors of the checkers as soon as they are found. A sink can
+ * ask the checkers to stop, after which they skip the rest of the form and
+ * report nothing more.
+ */
+@FunctionalInterface
+public interface DiagnosticsSink {
+
+    void report(Error error);
+
+    /**
+     * Indicates whether the sink wants no more errors.
+     * 
+     * @return True if the checkers should stop and false otherwise
+     */
+    default boolean isStopped() {
+        return false;
+    }
+
+}
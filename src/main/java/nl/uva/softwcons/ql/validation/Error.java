@@ -1,5 +1,7 @@
 package nl.uva.softwcons.ql.validation;
 
+import nl.uva.softwcons.ql.ast.LineInfo;
+
 public abstract class Error {
     private final String message;
 
@@ -19,4 +21,13 @@ public abstract class Error {
     public String getMessage() {
         return message;
     }
+
+    /**
+     * Returns this error for a source in which the lines from the given
+     * position on have moved by the given number of lines. Errors without a
+     * position in the form are returned unchanged.
+     */
+    public Error moveLines(final LineInfo from, final int lineDelta) {
+        return this;
+    }
 }
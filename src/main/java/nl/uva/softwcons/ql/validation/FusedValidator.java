@@ -0,0 +1,282 @@
+package nl.uva.softwcons.ql.validation;
+
+import static nl.uva.softwcons.ql.ast.symbol.SymbolTable.UNRESOLVED_SLOT;
+import static nl.uva.softwcons.ql.ast.type.BooleanType.BOOLEAN_TYPE;
+import static nl.uva.softwcons.ql.ast.type.NumberType.NUMBER_TYPE;
+import static nl.uva.softwcons.ql.ast.type.StringType.STRING_TYPE;
+import static nl.uva.softwcons.ql.ast.type.UndefinedType.UNDEFINED_TYPE;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import nl.uva.softwcons.ql.ast.expression.ExpressionVisitor;
+import nl.uva.softwcons.ql.ast.expression.binary.BinaryExpression;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Addition;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Division;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Multiplication;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Subtraction;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.Equal;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.GreaterOrEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.GreaterThan;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.LowerOrEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.LowerThan;
+import nl.uva.softwcons.ql.ast.expression.binary.comparison.NotEqual;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.And;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.Or;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.expression.literal.BooleanLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.NumberLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.StringLiteral;
+import nl.uva.softwcons.ql.ast.expression.unary.logical.Not;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.ast.form.FormVisitor;
+import nl.uva.softwcons.ql.ast.statement.ComputedQuestion;
+import nl.uva.softwcons.ql.ast.statement.Conditional;
+import nl.uva.softwcons.ql.ast.statement.Question;
+import nl.uva.softwcons.ql.ast.statement.StatementVisitor;
+import nl.uva.softwcons.ql.ast.symbol.SymbolTable;
+import nl.uva.softwcons.ql.ast.type.Type;
+import nl.uva.softwcons.ql.validation.dependency.CyclicDependencyChecker;
+import nl.uva.softwcons.ql.validation.identifier.error.DuplicateQuestionIdentifier;
+import nl.uva.softwcons.ql.validation.label.error.DuplicateLabel;
+import nl.uva.softwcons.ql.validation.type.error.InvalidConditionType;
+import nl.uva.softwcons.ql.validation.type.error.InvalidOperatorTypes;
+import nl.uva.softwcons.ql.validation.type.error.InvalidQuestionExpressionType;
+import nl.uva.softwcons.ql.validation.type.error.UndefinedReference;
+
+/**
+ * Runs the checks of the {@link Validator} in a single walk over the form.
+ * Every question is checked for a duplicate identifier, a duplicate label
+ * and its type when it is visited, and the type check of an expression also
+ * collects the questions it references for the cyclic dependency check, so
+ * every expression is visited once. Identifiers are tracked by their slot
+ * instead of in hash based sets and maps. The errors of every check are kept
+ * apart and returned in the order of {@link Validator#validate(Form)}.
+ */
+final class FusedValidator implements FormVisitor<List<Error>>, StatementVisitor<Void>, ExpressionVisitor<Type> {
+    private static final int[] NO_REFERENCES = new int[0];
+
+    private final SymbolTable symbolTable;
+    private final boolean[] declared;
+    private final Type[] types;
+    private final Set<String> labels;
+    private final ComputedQuestion[] computedQuestions;
+    private final int[][] dependencies;
+
+    private final List<Error> identifierErrors;
+    private final List<Error> labelErrors;
+    private final List<Error> typeErrors;
+
+    private int[] references;
+    private int referenceCount;
+    private boolean collectingReferences;
+
+    private FusedValidator(final SymbolTable symbolTable) {
+        final int size = symbolTable.size();
+        this.symbolTable = symbolTable;
+        this.declared = new boolean[size];
+        this.types = new Type[size];
+        this.labels = new HashSet<>();
+        this.computedQuestions = new ComputedQuestion[size];
+        this.dependencies = new int[size][];
+        this.identifierErrors = new ArrayList<>();
+        this.labelErrors = new ArrayList<>();
+        this.typeErrors = new ArrayList<>();
+        this.references = new int[8];
+    }
+
+    static List<Error> validate(final Form form) {
+        return form.accept(new FusedValidator(form.getSymbolTable()));
+    }
+
+    @Override
+    public List<Error> visit(final Form form) {
+        form.getStatements().forEach(st -> st.accept(this));
+
+        final List<Error> errors = new ArrayList<>();
+        errors.addAll(CyclicDependencyChecker.check(this.computedQuestions, this.dependencies));
+        errors.addAll(this.identifierErrors);
+        errors.addAll(this.labelErrors);
+        errors.addAll(this.typeErrors);
+
+        return errors;
+    }
+
+    @Override
+    public Void visit(final ComputedQuestion question) {
+        final int slot = this.symbolTable.getSlot(question.getId());
+        final boolean firstDeclaration = !this.declared[slot];
+        validateQuestion(question, slot);
+
+        this.collectingReferences = firstDeclaration;
+        this.referenceCount = 0;
+        final Type expressionType = question.getExpression().accept(this);
+        this.collectingReferences = false;
+
+        if (firstDeclaration) {
+            this.computedQuestions[slot] = question;
+            this.dependencies[slot] = this.referenceCount == 0 ? NO_REFERENCES : Arrays.copyOf(this.references,
+                    this.referenceCount);
+        }
+        if (expressionType != question.getType()) {
+            this.typeErrors.add(new InvalidQuestionExpressionType(question.getLineInfo()));
+        }
+
+        return null;
+    }
+
+    @Override
+    public Void visit(final Question question) {
+        validateQuestion(question, this.symbolTable.getSlot(question.getId()));
+        return null;
+    }
+
+    @Override
+    public Void visit(final Conditional conditional) {
+        final Type conditionExprType = conditional.getExpression().accept(this);
+        if (conditionExprType != BOOLEAN_TYPE) {
+            this.typeErrors.add(new InvalidConditionType(conditional.getLineInfo()));
+        }
+
+        conditional.getQuestions().forEach(q -> q.accept(this));
+        return null;
+    }
+
+    @Override
+    public Type visit(final Addition expr) {
+        return validateBinaryExpression(expr, NUMBER_TYPE);
+    }
+
+    @Override
+    public Type visit(final Division expr) {
+        return validateBinaryExpression(expr, NUMBER_TYPE);
+    }
+
+    @Override
+    public Type visit(final Multiplication expr) {
+        return validateBinaryExpression(expr, NUMBER_TYPE);
+    }
+
+    @Override
+    public Type visit(final Subtraction expr) {
+        return validateBinaryExpression(expr, NUMBER_TYPE);
+    }
+
+    @Override
+    public Type visit(final Equal expr) {
+        return validateBinaryExpression(expr, BOOLEAN_TYPE);
+    }
+
+    @Override
+    public Type visit(final GreaterOrEqual expr) {
+        return validateBinaryExpression(expr, BOOLEAN_TYPE);
+    }
+
+    @Override
+    public Type visit(final GreaterThan expr) {
+        return validateBinaryExpression(expr, BOOLEAN_TYPE);
+    }
+
+    @Override
+    public Type visit(final LowerOrEqual expr) {
+        return validateBinaryExpression(expr, BOOLEAN_TYPE);
+    }
+
+    @Override
+    public Type visit(final LowerThan expr) {
+        return validateBinaryExpression(expr, BOOLEAN_TYPE);
+    }
+
+    @Override
+    public Type visit(final NotEqual expr) {
+        return validateBinaryExpression(expr, BOOLEAN_TYPE);
+    }
+
+    @Override
+    public Type visit(final And expr) {
+        return validateBinaryExpression(expr, BOOLEAN_TYPE);
+    }
+
+    @Override
+    public Type visit(final Or expr) {
+        return validateBinaryExpression(expr, BOOLEAN_TYPE);
+    }
+
+    @Override
+    public Type visit(final Not expr) {
+        if (visitUnaryOperand(expr) != BOOLEAN_TYPE) {
+            this.typeErrors.add(new InvalidOperatorTypes(expr.getLineInfo()));
+        }
+
+        return BOOLEAN_TYPE;
+    }
+
+    @Override
+    public Type visit(final Identifier questionId) {
+        final int slot = this.symbolTable.getSlot(questionId);
+        if (slot != UNRESOLVED_SLOT && this.collectingReferences) {
+            addReference(slot);
+        }
+
+        final Type variableType = slot == UNRESOLVED_SLOT || this.types[slot] == null ? UNDEFINED_TYPE
+                : this.types[slot];
+        if (variableType == UNDEFINED_TYPE) {
+            this.typeErrors.add(new UndefinedReference(questionId.getLineInfo()));
+        }
+
+        return variableType;
+    }
+
+    @Override
+    public Type visit(final BooleanLiteral expr) {
+        return BOOLEAN_TYPE;
+    }
+
+    @Override
+    public Type visit(final StringLiteral expr) {
+        return STRING_TYPE;
+    }
+
+    @Override
+    public Type visit(final NumberLiteral expr) {
+        return NUMBER_TYPE;
+    }
+
+    /**
+     * Checks the identifier and the label of the given question and defines
+     * its type, which replaces the type of an earlier question with the same
+     * identifier like in the {@link nl.uva.softwcons.ql.validation.type.TypeChecker}.
+     */
+    private void validateQuestion(final Question question, final int slot) {
+        if (this.declared[slot]) {
+            this.identifierErrors.add(new DuplicateQuestionIdentifier(question.getLineInfo()));
+        }
+        this.declared[slot] = true;
+
+        if (!this.labels.add(question.getLabel())) {
+            this.labelErrors.add(new DuplicateLabel(question.getLineInfo()));
+        }
+
+        this.types[slot] = question.getType();
+    }
+
+    private Type validateBinaryExpression(final BinaryExpression expr, final Type allowedType) {
+        final Type nodeType = expr.resolveType(visitLeftOperand(expr), visitRightOperand(expr));
+        if (nodeType != allowedType) {
+            this.typeErrors.add(new InvalidOperatorTypes(expr.getLineInfo()));
+        }
+
+        return allowedType;
+    }
+
+    private void addReference(final int slot) {
+        if (this.referenceCount == this.references.length) {
+            this.references = Arrays.copyOf(this.references, this.referenceCount * 2);
+        }
+        this.references[this.referenceCount++] = slot;
+    }
+
+}
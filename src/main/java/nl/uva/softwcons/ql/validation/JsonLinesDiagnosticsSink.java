@@ -0,0 +1,44 @@
+package nl.uva.softwcons.ql.validation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes every error as a JSON object on a line of its own, e.g.
+ * {@code {"type":"DuplicateLabel","fatal":false,"message":"..."}}.
+ */
+public class JsonLinesDiagnosticsSink implements DiagnosticsSink {
+    private final Appendable out;
+
+    public JsonLinesDiagnosticsSink(final Appendable out) {
+        this.out = out;
+    }
+
+    @Override
+    public void report(final Error error) {
+        try {
+            out.append("{\"type\":\"").append(error.getClass().getSimpleName()).append("\",\"fatal\":")
+                    .append(String.valueOf(error.isFatal())).append(",\"message\":");
+            appendString(error.getMessage());
+            out.append("}\n");
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void appendString(final String value) throws IOException {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+
+}
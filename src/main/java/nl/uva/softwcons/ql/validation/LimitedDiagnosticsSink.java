@@ -0,0 +1,43 @@
+package nl.uva.softwcons.ql.validation;
+
+/**
+ * Passes errors on to another sink until a maximum number of errors has been
+ * reported or, optionally, until the first fatal error.
+ */
+public class LimitedDiagnosticsSink implements DiagnosticsSink {
+    private final DiagnosticsSink delegate;
+    private final int maxErrors;
+    private final boolean stopOnFatal;
+    private int reported;
+    private boolean stopped;
+
+    public LimitedDiagnosticsSink(final DiagnosticsSink delegate, final int maxErrors, final boolean stopOnFatal) {
+        if (maxErrors < 1) {
+            throw new IllegalArgumentException("At least one error must be reported");
+        }
+        this.delegate = delegate;
+        this.maxErrors = maxErrors;
+        this.stopOnFatal = stopOnFatal;
+    }
+
+    @Override
+    public void report(final Error error) {
+        if (isStopped()) {
+            return;
+        }
+
+        delegate.report(error);
+        reported++;
+        stopped = reported == maxErrors || (stopOnFatal && error.isFatal());
+    }
+
+    @Override
+    public boolean isStopped() {
+        return stopped || delegate.isStopped();
+    }
+
+    public int getReportedCount() {
+        return reported;
+    }
+
+}
@@ -0,0 +1,18 @@
+package nl.uva.softwcons.ql.validation;
+
+/**
+ * Decides how the {@link Validator} walks a form. Both modes report the same
+ * errors in the same order.
+ */
+public enum ValidationMode {
+    /**
+     * Runs every checker as a separate walk over the form.
+     */
+    SEPARATE,
+
+    /**
+     * Runs all checks during a single walk over the form, which visits every
+     * expression only once.
+     */
+    FUSED
+}
@@ -1,7 +1,12 @@
 package nl.uva.softwcons.ql.validation;
 
-import java.util.ArrayList;
+import static java.util.stream.Collectors.toList;
+
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import nl.uva.softwcons.ql.ast.form.Form;
 import nl.uva.softwcons.ql.validation.dependency.CyclicDependencyChecker;
@@ -10,16 +15,50 @@ import nl.uva.softwcons.ql.validation.label.LabelChecker;
 import nl.uva.softwcons.ql.validation.type.TypeChecker;
 
 public final class Validator {
+    private static final List<BiConsumer<Form, DiagnosticsSink>> CHECKERS = Arrays.asList(
+            CyclicDependencyChecker::check, QuestionIdentifierChecker::check, LabelChecker::check,
+            TypeChecker::check);
+    private static final List<Function<Form, List<Error>>> COLLECTING_CHECKERS = Collections.unmodifiableList(CHECKERS
+            .stream().map(Validator::collecting).collect(toList()));
+
     private Validator() {
     }
 
     public static List<Error> validate(final Form form) {
-        final List<Error> errors = new ArrayList<>();
-        errors.addAll(CyclicDependencyChecker.check(form));
-        errors.addAll(QuestionIdentifierChecker.check(form));
-        errors.addAll(LabelChecker.check(form));
-        errors.addAll(TypeChecker.check(form));
+        return validate(form, ValidationMode.SEPARATE);
+    }
+
+    public static List<Error> validate(final Form form, final ValidationMode mode) {
+        if (mode == ValidationMode.FUSED) {
+            return FusedValidator.validate(form);
+        }
+
+        return Checker.collectErrors(sink -> validate(form, sink));
+    }
+
+    /**
+     * Reports the errors of the separate mode to the given sink as soon as
+     * they are found. No further checkers are run once the sink is stopped.
+     */
+    public static void validate(final Form form, final DiagnosticsSink sink) {
+        for (final BiConsumer<Form, DiagnosticsSink> checker : CHECKERS) {
+            if (sink.isStopped()) {
+                return;
+            }
+            checker.accept(form, sink);
+        }
+    }
+
+    /**
+     * Returns the checkers of the separate mode in the order in which their
+     * errors are reported. The checkers do not share any state, so they can
+     * also be run concurrently.
+     */
+    public static List<Function<Form, List<Error>>> getCheckers() {
+        return COLLECTING_CHECKERS;
+    }
 
-        return errors;
+    private static Function<Form, List<Error>> collecting(final BiConsumer<Form, DiagnosticsSink> checker) {
+        return form -> Checker.collectErrors(sink -> checker.accept(form, sink));
     }
 }
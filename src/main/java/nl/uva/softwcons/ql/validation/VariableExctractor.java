@@ -1,7 +1,8 @@
 package nl.uva.softwcons.ql.validation;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import nl.uva.softwcons.ql.ast.expression.Expression;
@@ -20,110 +21,165 @@ import nl.uva.softwcons.ql.ast.expression.binary.comparison.NotEqual;
 import nl.uva.softwcons.ql.ast.expression.binary.logical.And;
 import nl.uva.softwcons.ql.ast.expression.binary.logical.Or;
 import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.expression.identifier.VariableSet;
 import nl.uva.softwcons.ql.ast.expression.literal.BooleanLiteral;
 import nl.uva.softwcons.ql.ast.expression.literal.NumberLiteral;
 import nl.uva.softwcons.ql.ast.expression.literal.StringLiteral;
+import nl.uva.softwcons.ql.ast.expression.unary.UnaryExpression;
 import nl.uva.softwcons.ql.ast.expression.unary.logical.Not;
 
-public final class VariableExctractor implements ExpressionVisitor<Set<Identifier>> {
+/**
+ * Finds the distinct identifiers referenced by an expression. The result is
+ * cached on the expression, so every later call for the same expression, e.g.
+ * by the validation and by the evaluator, returns the same
+ * {@link VariableSet}. A walk over an expression collects the identifiers into
+ * one set instead of merging the sets of every subexpression, and reuses the
+ * cached sets of subexpressions it reaches.
+ */
+public final class VariableExctractor implements ExpressionVisitor<Void> {
+    private final Set<Identifier> found;
+    private final List<Identifier> variables;
 
     private VariableExctractor() {
+        this.found = new HashSet<>();
+        this.variables = new ArrayList<>();
     }
 
-    public static Set<Identifier> extractFrom(final Expression expression) {
-        return expression.accept(new VariableExctractor());
+    public static VariableSet extractFrom(final Expression expression) {
+        final VariableSet cached = expression.getCachedVariables();
+        if (cached != null) {
+            return cached;
+        }
+
+        final VariableExctractor extractor = new VariableExctractor();
+        extractor.collect(expression);
+        final VariableSet variables = extractor.variables.isEmpty() ? VariableSet.EMPTY : new VariableSet(
+                extractor.variables.toArray(new Identifier[extractor.variables.size()]));
+        expression.cacheVariables(variables);
+
+        return variables;
     }
 
     @Override
-    public Set<Identifier> visit(final Addition expr) {
-        return extractVariablesFrom(expr);
+    public Void visit(final Addition expr) {
+        return visitOperands(expr);
     }
 
     @Override
-    public Set<Identifier> visit(final Division expr) {
-        return extractVariablesFrom(expr);
+    public Void visit(final Division expr) {
+        return visitOperands(expr);
     }
 
     @Override
-    public Set<Identifier> visit(final Multiplication expr) {
-        return extractVariablesFrom(expr);
+    public Void visit(final Multiplication expr) {
+        return visitOperands(expr);
     }
 
     @Override
-    public Set<Identifier> visit(final Subtraction expr) {
-        return extractVariablesFrom(expr);
+    public Void visit(final Subtraction expr) {
+        return visitOperands(expr);
     }
 
     @Override
-    public Set<Identifier> visit(final Equal expr) {
-        return extractVariablesFrom(expr);
+    public Void visit(final Equal expr) {
+        return visitOperands(expr);
     }
 
     @Override
-    public Set<Identifier> visit(final GreaterOrEqual expr) {
-        return extractVariablesFrom(expr);
+    public Void visit(final GreaterOrEqual expr) {
+        return visitOperands(expr);
     }
 
     @Override
-    public Set<Identifier> visit(final GreaterThan expr) {
-        return extractVariablesFrom(expr);
+    public Void visit(final GreaterThan expr) {
+        return visitOperands(expr);
     }
 
     @Override
-    public Set<Identifier> visit(final LowerOrEqual expr) {
-        return extractVariablesFrom(expr);
+    public Void visit(final LowerOrEqual expr) {
+        return visitOperands(expr);
     }
 
     @Override
-    public Set<Identifier> visit(final LowerThan expr) {
-        return extractVariablesFrom(expr);
+    public Void visit(final LowerThan expr) {
+        return visitOperands(expr);
     }
 
     @Override
-    public Set<Identifier> visit(final NotEqual expr) {
-        return extractVariablesFrom(expr);
+    public Void visit(final NotEqual expr) {
+        return visitOperands(expr);
     }
 
     @Override
-    public Set<Identifier> visit(final And expr) {
-        return extractVariablesFrom(expr);
+    public Void visit(final And expr) {
+        return visitOperands(expr);
     }
 
     @Override
-    public Set<Identifier> visit(final Or expr) {
-        return extractVariablesFrom(expr);
+    public Void visit(final Or expr) {
+        return visitOperands(expr);
     }
 
     @Override
-    public Set<Identifier> visit(final Not expr) {
+    public Void visit(final Not expr) {
         return visitUnaryOperand(expr);
     }
 
     @Override
-    public Set<Identifier> visit(final Identifier questionId) {
-        return new HashSet<>(Arrays.asList(questionId));
+    public Void visit(final Identifier questionId) {
+        addVariable(questionId);
+        return null;
     }
 
     @Override
-    public Set<Identifier> visit(final BooleanLiteral expr) {
-        return new HashSet<>();
+    public Void visit(final BooleanLiteral expr) {
+        return null;
     }
 
     @Override
-    public Set<Identifier> visit(final StringLiteral expr) {
-        return new HashSet<>();
+    public Void visit(final StringLiteral expr) {
+        return null;
     }
 
     @Override
-    public Set<Identifier> visit(final NumberLiteral expr) {
-        return new HashSet<>();
+    public Void visit(final NumberLiteral expr) {
+        return null;
     }
 
-    private Set<Identifier> extractVariablesFrom(final BinaryExpression expr) {
-        final Set<Identifier> variables = visitLeftOperand(expr);
-        variables.addAll(visitRightOperand(expr));
+    @Override
+    public Void visitLeftOperand(final BinaryExpression expr) {
+        return collect(expr.getLeftExpression());
+    }
 
-        return variables;
+    @Override
+    public Void visitRightOperand(final BinaryExpression expr) {
+        return collect(expr.getRightExpression());
+    }
+
+    @Override
+    public Void visitUnaryOperand(final UnaryExpression expr) {
+        return collect(expr.getExpression());
+    }
+
+    private Void visitOperands(final BinaryExpression expr) {
+        visitLeftOperand(expr);
+        return visitRightOperand(expr);
+    }
+
+    private Void collect(final Expression expr) {
+        final VariableSet cached = expr.getCachedVariables();
+        if (cached == null) {
+            return expr.accept(this);
+        }
+
+        cached.forEach(this::addVariable);
+        return null;
+    }
+
+    private void addVariable(final Identifier variable) {
+        if (this.found.add(variable)) {
+            this.variables.add(variable);
+        }
     }
 
 }
@@ -1,7 +1,9 @@
 package nl.uva.softwcons.ql.validation.dependency;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Set;
 
 import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
 import nl.uva.softwcons.ql.ast.form.Form;
@@ -10,34 +12,84 @@ import nl.uva.softwcons.ql.ast.statement.ComputedQuestion;
 import nl.uva.softwcons.ql.ast.statement.Conditional;
 import nl.uva.softwcons.ql.ast.statement.Question;
 import nl.uva.softwcons.ql.ast.statement.StatementVisitor;
+import nl.uva.softwcons.ql.ast.symbol.SymbolTable;
 import nl.uva.softwcons.ql.validation.Checker;
+import nl.uva.softwcons.ql.validation.DiagnosticsSink;
 import nl.uva.softwcons.ql.validation.Error;
 import nl.uva.softwcons.ql.validation.VariableExctractor;
 import nl.uva.softwcons.ql.validation.dependency.error.CyclicQuestionsDependency;
 
-public final class CyclicDependencyChecker extends Checker implements FormVisitor<List<Error>>, StatementVisitor<Void> {
+/**
+ * Finds the cycles in the dependencies between computed questions. The
+ * questions are the nodes of a graph with an edge to every question their
+ * expression references, and every strongly connected component of that
+ * graph with more than one question, or with a question that references
+ * itself, is reported as one {@link CyclicQuestionsDependency}. The
+ * components are found with an iterative version of Tarjan's algorithm, so
+ * the check takes linear time and does not overflow the stack on long
+ * dependency chains.
+ */
+public final class CyclicDependencyChecker extends Checker implements FormVisitor<Void>, StatementVisitor<Void> {
+    private static final int UNVISITED = -1;
+
+    private final SymbolTable symbolTable;
+    private final ComputedQuestion[] questions;
+    private final int[][] dependencies;
 
     public static List<Error> check(final Form form) {
-        return form.accept(new CyclicDependencyChecker());
+        return collectErrors(sink -> check(form, sink));
+    }
+
+    public static void check(final Form form, final DiagnosticsSink sink) {
+        form.accept(new CyclicDependencyChecker(form.getSymbolTable(), sink));
+    }
+
+    /**
+     * Checks a dependency graph that was collected elsewhere, e.g. during
+     * another walk over the form.
+     *
+     * @param questions
+     *            The first computed question declared for every slot, or null
+     *            for slots of plain questions
+     * @param dependencies
+     *            The slots referenced by the expression of every computed
+     *            question in the questions array
+     * @return One error for every cycle in the graph
+     */
+    public static List<Error> check(final ComputedQuestion[] questions, final int[][] dependencies) {
+        final List<Error> errors = new ArrayList<>();
+        findCycles(questions, dependencies).forEach(cycle -> errors.add(new CyclicQuestionsDependency(cycle)));
+
+        return errors;
     }
 
-    private CyclicDependencyChecker() {
+    private CyclicDependencyChecker(final SymbolTable symbolTable, final DiagnosticsSink sink) {
+        super(sink);
+        this.symbolTable = symbolTable;
+        this.questions = new ComputedQuestion[symbolTable.size()];
+        this.dependencies = new int[symbolTable.size()][];
     }
 
     @Override
-    public List<Error> visit(final Form form) {
+    public Void visit(final Form form) {
         form.getStatements().forEach(st -> st.accept(this));
+        check(this.questions, this.dependencies).forEach(this::addError);
 
-        return this.getErrors();
+        return null;
     }
 
+    /**
+     * Adds the question as a node of the graph. Only the first declaration of
+     * a duplicate identifier is used, the others are reported by the
+     * identifier checker.
+     */
     @Override
     public Void visit(final ComputedQuestion question) {
-        final Identifier questionIdentifier = question.getId();
-        final Set<Identifier> expressionVariables = VariableExctractor.extractFrom(question.getExpression());
-
-        if (expressionVariables.contains(questionIdentifier)) {
-            this.addError(new CyclicQuestionsDependency(question.getLineInfo()));
+        final int slot = this.symbolTable.getSlot(question.getId());
+        if (this.questions[slot] == null) {
+            this.questions[slot] = question;
+            this.dependencies[slot] = VariableExctractor.extractFrom(question.getExpression()).getSlots(
+                    this.symbolTable);
         }
 
         return null;
@@ -54,4 +106,88 @@ public final class CyclicDependencyChecker extends Checker implements FormVisito
         return null;
     }
 
+    /**
+     * Returns the identifiers of the questions of every cyclic component, in
+     * declaration order.
+     */
+    private static List<List<Identifier>> findCycles(final ComputedQuestion[] questions, final int[][] dependencies) {
+        final int size = questions.length;
+        final int[] index = new int[size];
+        final int[] lowLink = new int[size];
+        final boolean[] onStack = new boolean[size];
+        final int[] stack = new int[size];
+        final int[] path = new int[size];
+        final int[] nextEdge = new int[size];
+        final List<int[]> cycles = new ArrayList<>();
+        Arrays.fill(index, UNVISITED);
+
+        int visited = 0;
+        int stackSize = 0;
+        for (int root = 0; root < size; root++) {
+            if (questions[root] == null || index[root] != UNVISITED) {
+                continue;
+            }
+
+            int depth = 0;
+            path[depth++] = root;
+            index[root] = lowLink[root] = visited++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            nextEdge[root] = 0;
+
+            while (depth > 0) {
+                final int node = path[depth - 1];
+                if (nextEdge[node] < dependencies[node].length) {
+                    final int target = dependencies[node][nextEdge[node]++];
+                    if (questions[target] == null) {
+                        continue;
+                    }
+                    if (index[target] == UNVISITED) {
+                        path[depth++] = target;
+                        index[target] = lowLink[target] = visited++;
+                        stack[stackSize++] = target;
+                        onStack[target] = true;
+                        nextEdge[target] = 0;
+                    } else if (onStack[target]) {
+                        lowLink[node] = Math.min(lowLink[node], index[target]);
+                    }
+                    continue;
+                }
+
+                depth--;
+                if (depth > 0) {
+                    final int parent = path[depth - 1];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                }
+                if (lowLink[node] == index[node]) {
+                    int componentStart = stackSize;
+                    do {
+                        onStack[stack[--componentStart]] = false;
+                    } while (stack[componentStart] != node);
+
+                    final int[] component = Arrays.copyOfRange(stack, componentStart, stackSize);
+                    stackSize = componentStart;
+                    if (component.length > 1 || referencesItself(dependencies[node], node)) {
+                        Arrays.sort(component);
+                        cycles.add(component);
+                    }
+                }
+            }
+        }
+
+        cycles.sort(Comparator.comparingInt(component -> component[0]));
+        final List<List<Identifier>> cycleQuestions = new ArrayList<>(cycles.size());
+        for (final int[] component : cycles) {
+            final List<Identifier> ids = new ArrayList<>(component.length);
+            Arrays.stream(component).forEach(slot -> ids.add(questions[slot].getId()));
+            cycleQuestions.add(ids);
+        }
+
+        return cycleQuestions;
+    }
+
+    private static boolean referencesItself(final int[] dependencies, final int slot) {
+        return Arrays.stream(dependencies).anyMatch(dependency -> dependency == slot);
+    }
+
 }
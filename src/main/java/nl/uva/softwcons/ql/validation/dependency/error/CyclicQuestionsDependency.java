@@ -1,13 +1,58 @@
 package nl.uva.softwcons.ql.validation.dependency.error;
 
+import static java.util.stream.Collectors.joining;
 import static nl.uva.softwcons.ql.i18n.I18n.i;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import nl.uva.softwcons.ql.ast.LineInfo;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
 import nl.uva.softwcons.ql.validation.Error;
 
+/**
+ * A group of computed questions whose values depend on each other, either a
+ * single question that references itself or a strongly connected component
+ * of the dependency graph.
+ */
 public class CyclicQuestionsDependency extends Error { // NOPMD
+    private final List<Identifier> questions;
+
+    public CyclicQuestionsDependency(final List<Identifier> questions) {
+        super(describe(questions));
+        this.questions = Collections.unmodifiableList(questions);
+    }
+
+    /**
+     * Returns the identifiers of the questions in the cycle in declaration
+     * order, which carry the position of each declaration.
+     */
+    public List<Identifier> getQuestions() {
+        return questions;
+    }
+
+    @Override
+    public Error moveLines(final LineInfo from, final int lineDelta) {
+        final List<Identifier> moved = new ArrayList<>(questions.size());
+        boolean changed = false;
+        for (final Identifier question : questions) {
+            final LineInfo lineInfo = question.getLineInfo().moveLines(from, lineDelta);
+            changed |= lineInfo != question.getLineInfo();
+            moved.add(lineInfo == question.getLineInfo() ? question : new Identifier(question.getName(), lineInfo));
+        }
+
+        return changed ? new CyclicQuestionsDependency(moved) : this;
+    }
+
+    private static String describe(final List<Identifier> questions) {
+        if (questions.size() == 1) {
+            return i("validation.errors.cyclicdependency", questions.get(0).getLineInfo().getLine());
+        }
 
-    public CyclicQuestionsDependency(final LineInfo lineInfo) {
-        super(i("validation.errors.cyclicdependency", lineInfo.getLine()));
+        return i("validation.errors.cyclicdependencygroup", questions.stream()
+                .map(q -> i("validation.errors.cyclicdependencymember", q.getName(), q.getLineInfo().getLine()))
+                .collect(joining(", ")));
     }
 
 }
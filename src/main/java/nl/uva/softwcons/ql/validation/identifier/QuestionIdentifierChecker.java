@@ -12,26 +12,32 @@ import nl.uva.softwcons.ql.ast.statement.Conditional;
 import nl.uva.softwcons.ql.ast.statement.Question;
 import nl.uva.softwcons.ql.ast.statement.StatementVisitor;
 import nl.uva.softwcons.ql.validation.Checker;
+import nl.uva.softwcons.ql.validation.DiagnosticsSink;
 import nl.uva.softwcons.ql.validation.Error;
 import nl.uva.softwcons.ql.validation.identifier.error.DuplicateQuestionIdentifier;
 
-public final class QuestionIdentifierChecker extends Checker implements FormVisitor<List<Error>>,
+public final class QuestionIdentifierChecker extends Checker implements FormVisitor<Void>,
         StatementVisitor<Void> {
     private final Set<Identifier> identifiers;
 
     public static List<Error> check(final Form form) {
-        return form.accept(new QuestionIdentifierChecker());
+        return collectErrors(sink -> check(form, sink));
     }
 
-    private QuestionIdentifierChecker() {
+    public static void check(final Form form, final DiagnosticsSink sink) {
+        form.accept(new QuestionIdentifierChecker(sink));
+    }
+
+    private QuestionIdentifierChecker(final DiagnosticsSink sink) {
+        super(sink);
         this.identifiers = new HashSet<>();
     }
 
     @Override
-    public List<Error> visit(final Form form) {
-        form.getStatements().forEach(st -> st.accept(this));
+    public Void visit(final Form form) {
+        visitUntilStopped(form.getStatements(), st -> st.accept(this));
 
-        return this.getErrors();
+        return null;
     }
 
     @Override
@@ -48,7 +54,7 @@ public final class QuestionIdentifierChecker extends Checker implements FormVisi
 
     @Override
     public Void visit(final Conditional conditional) {
-        conditional.getQuestions().forEach(q -> q.accept(this));
+        visitUntilStopped(conditional.getQuestions(), q -> q.accept(this));
         return null;
     }
 
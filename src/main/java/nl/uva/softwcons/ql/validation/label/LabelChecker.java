@@ -11,25 +11,31 @@ import nl.uva.softwcons.ql.ast.statement.Conditional;
 import nl.uva.softwcons.ql.ast.statement.Question;
 import nl.uva.softwcons.ql.ast.statement.StatementVisitor;
 import nl.uva.softwcons.ql.validation.Checker;
+import nl.uva.softwcons.ql.validation.DiagnosticsSink;
 import nl.uva.softwcons.ql.validation.Error;
 import nl.uva.softwcons.ql.validation.label.error.DuplicateLabel;
 
-public final class LabelChecker extends Checker implements FormVisitor<List<Error>>, StatementVisitor<Void> {
+public final class LabelChecker extends Checker implements FormVisitor<Void>, StatementVisitor<Void> {
     private final Set<String> labels;
 
     public static List<Error> check(final Form form) {
-        return form.accept(new LabelChecker());
+        return collectErrors(sink -> check(form, sink));
     }
 
-    private LabelChecker() {
+    public static void check(final Form form, final DiagnosticsSink sink) {
+        form.accept(new LabelChecker(sink));
+    }
+
+    private LabelChecker(final DiagnosticsSink sink) {
+        super(sink);
         this.labels = new HashSet<>();
     }
 
     @Override
-    public List<Error> visit(final Form form) {
-        form.getStatements().forEach(st -> st.accept(this));
+    public Void visit(final Form form) {
+        visitUntilStopped(form.getStatements(), st -> st.accept(this));
 
-        return this.getErrors();
+        return null;
     }
 
     @Override
@@ -46,7 +52,7 @@ public final class LabelChecker extends Checker implements FormVisitor<List<Erro
 
     @Override
     public Void visit(final Conditional conditional) {
-        conditional.getQuestions().forEach(q -> q.accept(this));
+        visitUntilStopped(conditional.getQuestions(), q -> q.accept(this));
         return null;
     }
 
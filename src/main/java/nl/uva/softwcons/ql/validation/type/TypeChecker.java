@@ -35,29 +35,35 @@ import nl.uva.softwcons.ql.ast.statement.Question;
 import nl.uva.softwcons.ql.ast.statement.StatementVisitor;
 import nl.uva.softwcons.ql.ast.type.Type;
 import nl.uva.softwcons.ql.validation.Checker;
+import nl.uva.softwcons.ql.validation.DiagnosticsSink;
 import nl.uva.softwcons.ql.validation.Error;
 import nl.uva.softwcons.ql.validation.type.error.InvalidConditionType;
 import nl.uva.softwcons.ql.validation.type.error.InvalidOperatorTypes;
 import nl.uva.softwcons.ql.validation.type.error.InvalidQuestionExpressionType;
 import nl.uva.softwcons.ql.validation.type.error.UndefinedReference;
 
-public final class TypeChecker extends Checker implements FormVisitor<List<Error>>, StatementVisitor<Void>,
+public final class TypeChecker extends Checker implements FormVisitor<Void>, StatementVisitor<Void>,
         ExpressionVisitor<Type> {
     private final Environment env;
 
     public static List<Error> check(final Form form) {
-        return form.accept(new TypeChecker());
+        return collectErrors(sink -> check(form, sink));
     }
 
-    private TypeChecker() {
+    public static void check(final Form form, final DiagnosticsSink sink) {
+        form.accept(new TypeChecker(sink));
+    }
+
+    private TypeChecker(final DiagnosticsSink sink) {
+        super(sink);
         this.env = new Environment();
     }
 
     @Override
-    public List<Error> visit(final Form form) {
-        form.getStatements().forEach(st -> st.accept(this));
+    public Void visit(final Form form) {
+        visitUntilStopped(form.getStatements(), st -> st.accept(this));
 
-        return this.getErrors();
+        return null;
     }
 
     @Override
@@ -86,7 +92,7 @@ public final class TypeChecker extends Checker implements FormVisitor<List<Error
             this.addError(new InvalidConditionType(conditional.getLineInfo()));
         }
 
-        conditional.getQuestions().forEach(q -> q.accept(this));
+        visitUntilStopped(conditional.getQuestions(), q -> q.accept(this));
 
         return null;
     }
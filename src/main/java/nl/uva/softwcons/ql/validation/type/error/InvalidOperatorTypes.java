@@ -5,8 +5,16 @@ import nl.uva.softwcons.ql.ast.LineInfo;
 import nl.uva.softwcons.ql.validation.Error;
 
 public class InvalidOperatorTypes extends Error { // NOPMD
+    private final LineInfo lineInfo;
 
     public InvalidOperatorTypes(final LineInfo lineInfo) {
         super(i("validation.errors.invalidoperatortypes", lineInfo.getLine(), lineInfo.getPositionInLine()));
+        this.lineInfo = lineInfo;
+    }
+
+    @Override
+    public Error moveLines(final LineInfo from, final int lineDelta) {
+        final LineInfo moved = lineInfo.moveLines(from, lineDelta);
+        return moved == lineInfo ? this : new InvalidOperatorTypes(moved);
     }
 }
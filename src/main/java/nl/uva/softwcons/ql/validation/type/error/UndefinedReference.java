@@ -5,9 +5,17 @@ import nl.uva.softwcons.ql.ast.LineInfo;
 import nl.uva.softwcons.ql.validation.Error;
 
 public class UndefinedReference extends Error { // NOPMD
+    private final LineInfo lineInfo;
 
     public UndefinedReference(final LineInfo lineInfo) {
         super(i("validation.errors.undefinedreference", lineInfo.getLine(), lineInfo.getPositionInLine()));
+        this.lineInfo = lineInfo;
+    }
+
+    @Override
+    public Error moveLines(final LineInfo from, final int lineDelta) {
+        final LineInfo moved = lineInfo.moveLines(from, lineDelta);
+        return moved == lineInfo ? this : new UndefinedReference(moved);
     }
 
 }
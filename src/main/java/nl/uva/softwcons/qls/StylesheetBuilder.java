@@ -5,11 +5,16 @@ import java.io.InputStream;
 
 import nl.uva.softwcons.generated.QLSLexer;
 import nl.uva.softwcons.generated.QLSParser;
+import nl.uva.softwcons.ql.BuildMode;
+import nl.uva.softwcons.ql.ParsingStrategy;
 import nl.uva.softwcons.qls.ast.ASTBuilderQLS;
+import nl.uva.softwcons.qls.ast.ASTListenerQLS;
 import nl.uva.softwcons.qls.ast.stylesheet.Stylesheet;
 
+import org.antlr.v4.runtime.ANTLRErrorListener;
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ConsoleErrorListener;
 import org.antlr.v4.runtime.tree.ParseTree;
 
 public final class StylesheetBuilder {
@@ -17,19 +22,57 @@ public final class StylesheetBuilder {
     }
 
     public static Stylesheet build(final String input) {
-        return parseStylesheet(new ANTLRInputStream(input));
+        return build(input, ParsingStrategy.DEFAULT);
+    }
+
+    public static Stylesheet build(final String input, final ParsingStrategy strategy) {
+        return parseStylesheet(new ANTLRInputStream(input), strategy, ConsoleErrorListener.INSTANCE);
+    }
+
+    public static Stylesheet build(final String input, final BuildMode mode) {
+        if (mode == BuildMode.DIRECT) {
+            return parseStylesheetDirectly(new ANTLRInputStream(input));
+        }
+        return build(input);
+    }
+
+    /**
+     * Builds the stylesheet and reports syntax errors to the given listener
+     * instead of the console.
+     */
+    public static Stylesheet build(final String input, final ANTLRErrorListener errorListener) {
+        return parseStylesheet(new ANTLRInputStream(input), ParsingStrategy.DEFAULT, errorListener);
     }
 
     public static Stylesheet build(final InputStream input) throws IOException {
-        return parseStylesheet(new ANTLRInputStream(input));
+        return parseStylesheet(new ANTLRInputStream(input), ParsingStrategy.DEFAULT, ConsoleErrorListener.INSTANCE);
     }
 
-    private static Stylesheet parseStylesheet(final ANTLRInputStream input) {
+    private static Stylesheet parseStylesheet(final ANTLRInputStream input, final ParsingStrategy strategy,
+            final ANTLRErrorListener errorListener) {
         final QLSLexer lexer = new QLSLexer(input);
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(errorListener);
         final QLSParser parser = new QLSParser(new CommonTokenStream(lexer));
-        final ParseTree tree = parser.stylesheet();
+        parser.removeErrorListeners();
+        parser.addErrorListener(errorListener);
+        final ParseTree tree = strategy.parse(parser, QLSParser::stylesheet);
 
         return (Stylesheet) new ASTBuilderQLS().visit(tree);
     }
 
+    private static Stylesheet parseStylesheetDirectly(final ANTLRInputStream input) {
+        final QLSParser parser = new QLSParser(new CommonTokenStream(new QLSLexer(input)));
+        final ASTListenerQLS listener = new ASTListenerQLS();
+        parser.setBuildParseTree(false);
+        parser.addParseListener(listener);
+        if (ParsingStrategy.trySLL(parser, QLSParser::stylesheet) != null) {
+            return listener.getStylesheet();
+        }
+
+        parser.removeParseListener(listener);
+        parser.setBuildParseTree(true);
+        return (Stylesheet) new ASTBuilderQLS().visit(ParsingStrategy.LL.parse(parser, QLSParser::stylesheet));
+    }
+
 }
@@ -0,0 +1,57 @@
+package nl.uva.softwcons.qls;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+import nl.uva.softwcons.ql.snapshot.SnapshotFiles;
+import nl.uva.softwcons.ql.snapshot.SnapshotInput;
+import nl.uva.softwcons.ql.snapshot.SnapshotOutput;
+import nl.uva.softwcons.ql.snapshot.StaleSnapshotException;
+import nl.uva.softwcons.qls.ast.stylesheet.Stylesheet;
+import nl.uva.softwcons.qls.snapshot.StylesheetSnapshotReader;
+import nl.uva.softwcons.qls.snapshot.StylesheetSnapshotWriter;
+
+/**
+ * Saves and loads stylesheets in the binary snapshot format used by
+ * {@link nl.uva.softwcons.ql.FormSnapshot}.
+ */
+public final class StylesheetSnapshot {
+    private static final int MAGIC = 0x514c5331;
+
+    private StylesheetSnapshot() {
+    }
+
+    public static void write(final Stylesheet stylesheet, final String source, final OutputStream output)
+            throws IOException {
+        final SnapshotOutput snapshot = new SnapshotOutput(output);
+        snapshot.writeHeader(MAGIC, SnapshotOutput.hashSource(source));
+        new StylesheetSnapshotWriter(snapshot).write(stylesheet);
+        snapshot.flush();
+    }
+
+    /**
+     * Reads a stylesheet snapshot that was built from the given source.
+     * 
+     * @throws StaleSnapshotException
+     *             If the snapshot was written by another format version or
+     *             from other source text
+     */
+    public static Stylesheet read(final InputStream input, final String source) throws IOException {
+        final SnapshotInput snapshot = new SnapshotInput(input);
+        snapshot.readHeader(MAGIC, SnapshotOutput.hashSource(source));
+
+        return new StylesheetSnapshotReader(snapshot).read();
+    }
+
+    /**
+     * Loads the stylesheet from the given snapshot file, or builds it from
+     * source and writes a new snapshot if the file is missing or stale.
+     */
+    public static Stylesheet load(final String source, final Path snapshot) throws IOException {
+        return SnapshotFiles.loadOrRebuild(snapshot, input -> read(input, source),
+                () -> StylesheetBuilder.build(source), (stylesheet, output) -> write(stylesheet, source, output));
+    }
+
+}
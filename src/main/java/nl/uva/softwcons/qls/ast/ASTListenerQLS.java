@@ -0,0 +1,231 @@
+package nl.uva.softwcons.qls.ast;
+
+import static nl.uva.softwcons.ql.ast.ASTBuilderQL.extractLineInfo;
+import static nl.uva.softwcons.ql.ast.ASTBuilderQL.getType;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import nl.uva.softwcons.generated.QLSBaseListener;
+import nl.uva.softwcons.generated.QLSParser.CheckboxContext;
+import nl.uva.softwcons.generated.QLSParser.DefaultStatementContext;
+import nl.uva.softwcons.generated.QLSParser.DropdownContext;
+import nl.uva.softwcons.generated.QLSParser.PageContext;
+import nl.uva.softwcons.generated.QLSParser.QuestionWithWidgetContext;
+import nl.uva.softwcons.generated.QLSParser.QuestionWithoutWidgetContext;
+import nl.uva.softwcons.generated.QLSParser.RadioContext;
+import nl.uva.softwcons.generated.QLSParser.SectionContext;
+import nl.uva.softwcons.generated.QLSParser.SliderContext;
+import nl.uva.softwcons.generated.QLSParser.StyleContext;
+import nl.uva.softwcons.generated.QLSParser.StylePropertyContext;
+import nl.uva.softwcons.generated.QLSParser.StylesheetContext;
+import nl.uva.softwcons.generated.QLSParser.TextContext;
+import nl.uva.softwcons.generated.QLSParser.TypeContext;
+import nl.uva.softwcons.generated.QLSParser.WidgetWithStyleContext;
+import nl.uva.softwcons.generated.QLSParser.WidgetWithoutStyleContext;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.type.Type;
+import nl.uva.softwcons.ql.util.Utils;
+import nl.uva.softwcons.qls.ast.segment.Page;
+import nl.uva.softwcons.qls.ast.segment.PageSegment;
+import nl.uva.softwcons.qls.ast.segment.Question;
+import nl.uva.softwcons.qls.ast.segment.Section;
+import nl.uva.softwcons.qls.ast.stylesheet.Stylesheet;
+import nl.uva.softwcons.qls.ast.widgetstyle.Style;
+import nl.uva.softwcons.qls.ast.widgetstyle.StyledWidget;
+import nl.uva.softwcons.qls.ast.widgetstyle.type.CheckboxType;
+import nl.uva.softwcons.qls.ast.widgetstyle.type.DropdownType;
+import nl.uva.softwcons.qls.ast.widgetstyle.type.RadioButtonType;
+import nl.uva.softwcons.qls.ast.widgetstyle.type.SliderType;
+import nl.uva.softwcons.qls.ast.widgetstyle.type.TextType;
+import nl.uva.softwcons.qls.ast.widgetstyle.type.WidgetType;
+
+import org.antlr.v4.runtime.Token;
+
+/**
+ * Builds the same AST as {@link ASTBuilderQLS} while the parser runs. See
+ * {@link nl.uva.softwcons.ql.ast.ASTListenerQL} for how it is used.
+ */
+public class ASTListenerQLS extends QLSBaseListener {
+    private final Deque<Object> nodes;
+    private final Deque<Integer> marks;
+    private Stylesheet stylesheet;
+
+    public ASTListenerQLS() {
+        this.nodes = new ArrayDeque<>();
+        this.marks = new ArrayDeque<>();
+    }
+
+    public Stylesheet getStylesheet() {
+        return stylesheet;
+    }
+
+    @Override
+    public void enterStylesheet(final StylesheetContext ctx) {
+        nodes.clear();
+        marks.clear();
+        marks.push(nodes.size());
+    }
+
+    @Override
+    public void exitStylesheet(final StylesheetContext ctx) {
+        final List<Page> pages = popSinceMark();
+
+        this.stylesheet = new Stylesheet(identifier(ctx.name), pages);
+    }
+
+    @Override
+    public void enterPage(final PageContext ctx) {
+        marks.push(nodes.size());
+    }
+
+    @Override
+    public void exitPage(final PageContext ctx) {
+        final List<PageSegment> segments = new ArrayList<>();
+        final Map<Type, StyledWidget> styles = collectSegments(segments);
+
+        nodes.push(new Page(identifier(ctx.name), segments, styles));
+    }
+
+    @Override
+    public void enterSection(final SectionContext ctx) {
+        marks.push(nodes.size());
+    }
+
+    @Override
+    public void exitSection(final SectionContext ctx) {
+        final List<PageSegment> content = new ArrayList<>();
+        final Map<Type, StyledWidget> styles = collectSegments(content);
+
+        nodes.push(new Section(Utils.unquote(ctx.label.getText()), content, styles, extractLineInfo(ctx.label)));
+    }
+
+    @Override
+    public void exitDefaultStatement(final DefaultStatementContext ctx) {
+        final StyledWidget widget = (StyledWidget) nodes.pop();
+        final Type type = (Type) nodes.pop();
+
+        nodes.push(new SimpleImmutableEntry<>(type, widget));
+    }
+
+    @Override
+    public void exitQuestionWithoutWidget(final QuestionWithoutWidgetContext ctx) {
+        nodes.push(new Question(identifier(ctx.id)));
+    }
+
+    @Override
+    public void exitQuestionWithWidget(final QuestionWithWidgetContext ctx) {
+        nodes.push(new Question(identifier(ctx.id), (StyledWidget) nodes.pop()));
+    }
+
+    @Override
+    public void exitWidgetWithoutStyle(final WidgetWithoutStyleContext ctx) {
+        nodes.push(new StyledWidget((WidgetType) nodes.pop()));
+    }
+
+    @Override
+    public void exitWidgetWithStyle(final WidgetWithStyleContext ctx) {
+        final Style style = (Style) nodes.pop();
+        final WidgetType type = (WidgetType) nodes.pop();
+
+        nodes.push(new StyledWidget(type, style));
+    }
+
+    @Override
+    public void enterStyle(final StyleContext ctx) {
+        marks.push(nodes.size());
+    }
+
+    @Override
+    public void exitStyle(final StyleContext ctx) {
+        final Map<String, String> properties = new ConcurrentHashMap<>();
+        for (final Map.Entry<String, String> property : this.<Map.Entry<String, String>> popSinceMark()) {
+            properties.put(property.getKey(), property.getValue());
+        }
+
+        nodes.push(new Style(properties, extractLineInfo(ctx.getStart())));
+    }
+
+    @Override
+    public void exitStyleProperty(final StylePropertyContext ctx) {
+        final String key = Utils.unquote(ctx.key.getText());
+        final String value = Utils.unquote(ctx.val.getStart().getText());
+
+        nodes.push(new SimpleImmutableEntry<>(key, value));
+    }
+
+    @Override
+    public void exitType(final TypeContext ctx) {
+        nodes.push(getType(ctx.getStart().getText()));
+    }
+
+    @Override
+    public void exitCheckbox(final CheckboxContext ctx) {
+        nodes.push(new CheckboxType(Utils.unquote(ctx.yes.getText()), extractLineInfo(ctx.yes)));
+    }
+
+    @Override
+    public void exitDropdown(final DropdownContext ctx) {
+        nodes.push(new DropdownType(Utils.unquote(ctx.yes.getText()), Utils.unquote(ctx.no.getText()),
+                extractLineInfo(ctx.yes)));
+    }
+
+    @Override
+    public void exitSlider(final SliderContext ctx) {
+        nodes.push(new SliderType(Double.valueOf(ctx.start.getText()), Double.valueOf(ctx.end.getText()), Double
+                .valueOf(ctx.step.getText()), extractLineInfo(ctx.getStart())));
+    }
+
+    @Override
+    public void exitText(final TextContext ctx) {
+        nodes.push(new TextType(extractLineInfo(ctx.getStart())));
+    }
+
+    @Override
+    public void exitRadio(final RadioContext ctx) {
+        nodes.push(new RadioButtonType(Utils.unquote(ctx.yes.getText()), Utils.unquote(ctx.no.getText()),
+                extractLineInfo(ctx.getStart())));
+    }
+
+    /**
+     * Splits the nodes pushed since the most recent mark into page segments
+     * and default widgets, and returns the latter.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Type, StyledWidget> collectSegments(final List<PageSegment> segments) {
+        final Map<Type, StyledWidget> styles = new ConcurrentHashMap<>();
+        for (final Object child : popSinceMark()) {
+            if (child instanceof PageSegment) {
+                segments.add((PageSegment) child);
+            } else {
+                final Map.Entry<Type, StyledWidget> style = (Map.Entry<Type, StyledWidget>) child;
+                styles.put(style.getKey(), style.getValue());
+            }
+        }
+
+        return styles;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> popSinceMark() {
+        final int count = nodes.size() - marks.pop();
+        final List<T> children = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            children.add((T) nodes.pop());
+        }
+        Collections.reverse(children);
+
+        return children;
+    }
+
+    private static Identifier identifier(final Token token) {
+        return new Identifier(token.getText(), extractLineInfo(token));
+    }
+
+}
@@ -0,0 +1,145 @@
+package nl.uva.softwcons.qls.snapshot;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import nl.uva.softwcons.ql.ast.LineInfo;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.type.Type;
+import nl.uva.softwcons.ql.snapshot.SnapshotInput;
+import nl.uva.softwcons.qls.ast.segment.Page;
+import nl.uva.softwcons.qls.ast.segment.PageSegment;
+import nl.uva.softwcons.qls.ast.segment.Question;
+import nl.uva.softwcons.qls.ast.segment.Section;
+import nl.uva.softwcons.qls.ast.stylesheet.Stylesheet;
+import nl.uva.softwcons.qls.ast.widgetstyle.Style;
+import nl.uva.softwcons.qls.ast.widgetstyle.StyledWidget;
+import nl.uva.softwcons.qls.ast.widgetstyle.type.CheckboxType;
+import nl.uva.softwcons.qls.ast.widgetstyle.type.DropdownType;
+import nl.uva.softwcons.qls.ast.widgetstyle.type.RadioButtonType;
+import nl.uva.softwcons.qls.ast.widgetstyle.type.SliderType;
+import nl.uva.softwcons.qls.ast.widgetstyle.type.TextType;
+import nl.uva.softwcons.qls.ast.widgetstyle.type.WidgetType;
+
+public class StylesheetSnapshotReader {
+    private final SnapshotInput input;
+
+    public StylesheetSnapshotReader(final SnapshotInput input) {
+        this.input = input;
+    }
+
+    public Stylesheet read() throws IOException {
+        final Identifier id = input.readIdentifier();
+        final int size = input.readInt();
+        final List<Page> pages = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            pages.add(readPage());
+        }
+
+        return new Stylesheet(id, pages);
+    }
+
+    private Page readPage() throws IOException {
+        final Identifier id = input.readIdentifier();
+        final List<PageSegment> segments = readSegments();
+
+        return new Page(id, segments, readStyles());
+    }
+
+    private List<PageSegment> readSegments() throws IOException {
+        final int size = input.readInt();
+        final List<PageSegment> segments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            segments.add(readSegment());
+        }
+
+        return segments;
+    }
+
+    private PageSegment readSegment() throws IOException {
+        final byte tag = input.readByte();
+        switch (tag) {
+        case Tags.QUESTION:
+            final Identifier id = input.readIdentifier();
+            final StyledWidget widget = readStyledWidget();
+            return widget == null ? new Question(id) : new Question(id, widget);
+        case Tags.SECTION:
+            final String label = input.readString();
+            final LineInfo lineInfo = input.readLineInfo();
+            final List<PageSegment> content = readSegments();
+            return new Section(label, content, readStyles(), lineInfo);
+        default:
+            throw new IOException("Unknown segment tag " + tag);
+        }
+    }
+
+    private Map<Type, StyledWidget> readStyles() throws IOException {
+        final int size = input.readInt();
+        final Map<Type, StyledWidget> styles = new ConcurrentHashMap<>();
+        for (int i = 0; i < size; i++) {
+            final Type type = input.readType();
+            final StyledWidget widget = readStyledWidget();
+            styles.put(type, widget == null ? new StyledWidget() : widget);
+        }
+
+        return styles;
+    }
+
+    /**
+     * Returns the widget, or null if no widget type was specified.
+     */
+    private StyledWidget readStyledWidget() throws IOException {
+        final WidgetType type = readWidgetType();
+        if (type == null) {
+            return null;
+        }
+
+        return new StyledWidget(type, readStyle());
+    }
+
+    private WidgetType readWidgetType() throws IOException {
+        final byte tag = input.readByte();
+        if (tag == Tags.NO_WIDGET) {
+            return null;
+        }
+
+        final LineInfo lineInfo = input.readLineInfo();
+        switch (tag) {
+        case Tags.CHECKBOX:
+            return new CheckboxType(input.readString(), lineInfo);
+        case Tags.DROPDOWN:
+            final String dropdownYes = input.readString();
+            return new DropdownType(dropdownYes, input.readString(), lineInfo);
+        case Tags.RADIO_BUTTON:
+            final String radioYes = input.readString();
+            return new RadioButtonType(radioYes, input.readString(), lineInfo);
+        case Tags.SLIDER:
+            final double start = input.readDouble();
+            final double end = input.readDouble();
+            return new SliderType(start, end, input.readDouble(), lineInfo);
+        case Tags.TEXT:
+            return new TextType(lineInfo);
+        default:
+            throw new IOException("Unknown widget tag " + tag);
+        }
+    }
+
+    private Style readStyle() throws IOException {
+        final LineInfo lineInfo = input.readLineInfo();
+        final byte kind = input.readByte();
+        final int size = input.readInt();
+
+        final Style style = kind == Tags.PARSED_PROPERTIES ? new Style(new ConcurrentHashMap<>(), lineInfo)
+                : new Style(lineInfo);
+        for (int i = 0; i < size; i++) {
+            final String key = input.readString();
+            style.getProperties().put(key, input.readString());
+        }
+
+        return style;
+    }
+
+}
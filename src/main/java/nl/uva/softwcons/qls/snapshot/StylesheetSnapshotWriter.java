@@ -0,0 +1,191 @@
+package nl.uva.softwcons.qls.snapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import nl.uva.softwcons.ql.ast.type.Type;
+import nl.uva.softwcons.ql.snapshot.SnapshotOutput;
+import nl.uva.softwcons.qls.ast.segment.Page;
+import nl.uva.softwcons.qls.ast.segment.PageSegment;
+import nl.uva.softwcons.qls.ast.segment.Question;
+import nl.uva.softwcons.qls.ast.segment.Section;
+import nl.uva.softwcons.qls.ast.segment.SegmentVisitor;
+import nl.uva.softwcons.qls.ast.stylesheet.Stylesheet;
+import nl.uva.softwcons.qls.ast.stylesheet.StylesheetVisitor;
+import nl.uva.softwcons.qls.ast.widgetstyle.Style;
+import nl.uva.softwcons.qls.ast.widgetstyle.StyledWidget;
+import nl.uva.softwcons.qls.ast.widgetstyle.type.CheckboxType;
+import nl.uva.softwcons.qls.ast.widgetstyle.type.DropdownType;
+import nl.uva.softwcons.qls.ast.widgetstyle.type.RadioButtonType;
+import nl.uva.softwcons.qls.ast.widgetstyle.type.SliderType;
+import nl.uva.softwcons.qls.ast.widgetstyle.type.TextType;
+import nl.uva.softwcons.qls.ast.widgetstyle.type.WidgetTypeVisitor;
+
+public class StylesheetSnapshotWriter implements StylesheetVisitor<Void>, SegmentVisitor<Void>,
+        WidgetTypeVisitor<Void> {
+    private final SnapshotOutput output;
+
+    public StylesheetSnapshotWriter(final SnapshotOutput output) {
+        this.output = output;
+    }
+
+    public void write(final Stylesheet stylesheet) throws IOException {
+        try {
+            stylesheet.accept(this);
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public Void visit(final Stylesheet stylesheet) {
+        try {
+            output.writeIdentifier(stylesheet.getId());
+            output.writeInt(stylesheet.getPages().size());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        stylesheet.getPages().forEach(page -> page.accept(this));
+        return null;
+    }
+
+    @Override
+    public Void visit(final Page page) {
+        try {
+            output.writeIdentifier(page.getId());
+            writeSegments(page.getSegments());
+            writeStyles(page.getStyles());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(final Question question) {
+        try {
+            output.writeByte(Tags.QUESTION);
+            output.writeIdentifier(question.getId());
+            writeStyledWidget(question.getStyledWidget());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(final Section section) {
+        try {
+            output.writeByte(Tags.SECTION);
+            output.writeString(section.getLabel());
+            output.writeLineInfo(section.getLineInfo());
+            writeSegments(section.getContent());
+            writeStyles(section.getStyles());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(final CheckboxType type) {
+        try {
+            output.writeByte(Tags.CHECKBOX);
+            output.writeLineInfo(type.getLineInfo());
+            output.writeString(type.getYes());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(final DropdownType type) {
+        try {
+            output.writeByte(Tags.DROPDOWN);
+            output.writeLineInfo(type.getLineInfo());
+            output.writeString(type.getYes());
+            output.writeString(type.getNo());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(final RadioButtonType type) {
+        try {
+            output.writeByte(Tags.RADIO_BUTTON);
+            output.writeLineInfo(type.getLineInfo());
+            output.writeString(type.getYes());
+            output.writeString(type.getNo());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(final SliderType type) {
+        try {
+            output.writeByte(Tags.SLIDER);
+            output.writeLineInfo(type.getLineInfo());
+            output.writeDouble(type.getStart());
+            output.writeDouble(type.getEnd());
+            output.writeDouble(type.getStep());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    @Override
+    public Void visit(final TextType type) {
+        try {
+            output.writeByte(Tags.TEXT);
+            output.writeLineInfo(type.getLineInfo());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+
+    private void writeSegments(final List<PageSegment> segments) throws IOException {
+        output.writeInt(segments.size());
+        segments.forEach(segment -> segment.accept(this));
+    }
+
+    private void writeStyles(final Map<Type, StyledWidget> styles) throws IOException {
+        output.writeInt(styles.size());
+        for (final Map.Entry<Type, StyledWidget> entry : styles.entrySet()) {
+            output.writeType(entry.getKey());
+            writeStyledWidget(entry.getValue());
+        }
+    }
+
+    private void writeStyledWidget(final StyledWidget widget) throws IOException {
+        if (!widget.getWidgetType().isPresent()) {
+            output.writeByte(Tags.NO_WIDGET);
+            return;
+        }
+
+        widget.getWidgetType().get().accept(this);
+        writeStyle(widget.getWidgetStyle());
+    }
+
+    private void writeStyle(final Style style) throws IOException {
+        final Map<String, String> properties = style.getProperties();
+
+        output.writeLineInfo(style.getLineInfo());
+        output.writeByte(properties instanceof ConcurrentHashMap ? Tags.PARSED_PROPERTIES : Tags.DEFAULT_PROPERTIES);
+        output.writeInt(properties.size());
+        for (final Map.Entry<String, String> property : properties.entrySet()) {
+            output.writeString(property.getKey());
+            output.writeString(property.getValue());
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package nl.uva.softwcons.qls.snapshot;
+
+/**
+ * The bytes identifying each kind of stylesheet node in a snapshot.
+ */
+final class Tags {
+    static final byte QUESTION = 1;
+    static final byte SECTION = 2;
+
+    static final byte NO_WIDGET = 0;
+    static final byte CHECKBOX = 1;
+    static final byte DROPDOWN = 2;
+    static final byte RADIO_BUTTON = 3;
+    static final byte SLIDER = 4;
+    static final byte TEXT = 5;
+
+    static final byte DEFAULT_PROPERTIES = 0;
+    static final byte PARSED_PROPERTIES = 1;
+
+    private Tags() {
+    }
+
+}
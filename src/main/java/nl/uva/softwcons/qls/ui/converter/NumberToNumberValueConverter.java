@@ -1,5 +1,7 @@
 package nl.uva.softwcons.qls.ui.converter;
 
+import java.math.BigDecimal;
+
 import nl.uva.softwcons.ql.eval.value.NumberValue;
 import nl.uva.softwcons.ql.eval.value.Value;
 import nl.uva.softwcons.ql.ui.converter.ValueConverter;
@@ -8,7 +10,7 @@ public class NumberToNumberValueConverter implements ValueConverter<Number> {
 
     @Override
     public Value toValue(final Number value) {
-        return new NumberValue(value);
+        return NumberValue.valueOf(new BigDecimal(value.toString()));
     }
 
     @Override
@@ -10,7 +10,7 @@ public class StringToBooleanValueConverter implements ValueConverter<String> {
 
     @Override
     public Value toValue(final String value) {
-        return new BooleanValue(YES_STRING_VALUE.equals(value));
+        return BooleanValue.valueOf(YES_STRING_VALUE.equals(value));
     }
 
     @Override
@@ -1,25 +1,62 @@
 package nl.uva.softwcons.qls.validation;
 
-import java.util.ArrayList;
+import static java.util.stream.Collectors.toList;
+
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.BiFunction;
 
 import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.validation.Checker;
+import nl.uva.softwcons.ql.validation.DiagnosticsSink;
 import nl.uva.softwcons.ql.validation.Error;
 import nl.uva.softwcons.qls.ast.stylesheet.Stylesheet;
 import nl.uva.softwcons.qls.validation.questionidentifier.QuestionIdentifierChecker;
 import nl.uva.softwcons.qls.validation.widget.WidgetTypeChecker;
 
 public final class QLSValidator {
+    private static final List<StylesheetCheck> CHECKERS = Arrays.asList(QuestionIdentifierChecker::check,
+            WidgetTypeChecker::check);
+    private static final List<BiFunction<Stylesheet, Form, List<Error>>> COLLECTING_CHECKERS = Collections
+            .unmodifiableList(CHECKERS.stream().map(QLSValidator::collecting).collect(toList()));
+
     private QLSValidator() {
     }
 
     public static List<Error> validate(final Form form, final Stylesheet stylesheet) {
-        final List<Error> qlsErrors = new ArrayList<Error>();
-        qlsErrors.addAll(QuestionIdentifierChecker.check(stylesheet, form));
-        qlsErrors.addAll(WidgetTypeChecker.check(stylesheet, form));
+        return Checker.collectErrors(sink -> validate(form, stylesheet, sink));
+    }
+
+    /**
+     * Reports the errors to the given sink as soon as they are found. No
+     * further checkers are run once the sink is stopped.
+     */
+    public static void validate(final Form form, final Stylesheet stylesheet, final DiagnosticsSink sink) {
+        for (final StylesheetCheck checker : CHECKERS) {
+            if (sink.isStopped()) {
+                return;
+            }
+            checker.check(stylesheet, form, sink);
+        }
+    }
+
+    /**
+     * Returns the checkers in the order in which their errors are reported.
+     * The checkers do not share any state, so they can also be run
+     * concurrently.
+     */
+    public static List<BiFunction<Stylesheet, Form, List<Error>>> getCheckers() {
+        return COLLECTING_CHECKERS;
+    }
 
-        return qlsErrors;
+    private static BiFunction<Stylesheet, Form, List<Error>> collecting(final StylesheetCheck checker) {
+        return (stylesheet, form) -> Checker.collectErrors(sink -> checker.check(stylesheet, form, sink));
+    }
 
+    @FunctionalInterface
+    private interface StylesheetCheck {
+        void check(Stylesheet stylesheet, Form form, DiagnosticsSink sink);
     }
 
 }
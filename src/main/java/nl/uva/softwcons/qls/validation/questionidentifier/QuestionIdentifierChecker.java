@@ -8,6 +8,7 @@ import nl.uva.softwcons.ql.ast.LineInfo;
 import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
 import nl.uva.softwcons.ql.ast.form.Form;
 import nl.uva.softwcons.ql.validation.Checker;
+import nl.uva.softwcons.ql.validation.DiagnosticsSink;
 import nl.uva.softwcons.ql.validation.Error;
 import nl.uva.softwcons.ql.validation.identifier.error.DuplicateQuestionIdentifier;
 import nl.uva.softwcons.qls.ast.segment.Page;
@@ -19,34 +20,39 @@ import nl.uva.softwcons.qls.ast.stylesheet.StylesheetVisitor;
 import nl.uva.softwcons.qls.validation.questionidentifier.error.MissingQuestionIdentifier;
 import nl.uva.softwcons.qls.validation.questionidentifier.error.UnknownQuestionIdentifier;
 
-public final class QuestionIdentifierChecker extends Checker implements StylesheetVisitor<List<Error>>,
+public final class QuestionIdentifierChecker extends Checker implements StylesheetVisitor<Void>,
         SegmentVisitor<Void> {
     private final Set<Identifier> formQuestionsIdentifiers;
     private final Set<Identifier> stylesheetQuestionsIdentifiers;
 
     public static List<Error> check(final Stylesheet stylesheet, final Form form) {
-        return stylesheet.accept(new QuestionIdentifierChecker(form));
+        return collectErrors(sink -> check(stylesheet, form, sink));
     }
 
-    private QuestionIdentifierChecker(final Form form) {
+    public static void check(final Stylesheet stylesheet, final Form form, final DiagnosticsSink sink) {
+        stylesheet.accept(new QuestionIdentifierChecker(form, sink));
+    }
+
+    private QuestionIdentifierChecker(final Form form, final DiagnosticsSink sink) {
+        super(sink);
         this.formQuestionsIdentifiers = FormQuestionCollector.collectFrom(form);
         this.stylesheetQuestionsIdentifiers = new HashSet<Identifier>();
     }
 
     @Override
-    public List<Error> visit(final Stylesheet stylesheet) {
-        stylesheet.getPages().forEach(p -> p.accept(this));
+    public Void visit(final Stylesheet stylesheet) {
+        visitUntilStopped(stylesheet.getPages(), p -> p.accept(this));
         final Set<Identifier> missingIdentifiers = getMissingIdentifiers();
         if (!missingIdentifiers.isEmpty()) {
             this.addError(new MissingQuestionIdentifier(missingIdentifiers));
         }
 
-        return this.getErrors();
+        return null;
     }
 
     @Override
     public Void visit(final Page page) {
-        page.getSegments().forEach(s -> s.accept(this));
+        visitUntilStopped(page.getSegments(), s -> s.accept(this));
         return null;
     }
 
@@ -66,7 +72,7 @@ public final class QuestionIdentifierChecker extends Checker implements Styleshe
 
     @Override
     public Void visit(final Section section) {
-        section.getContent().forEach(c -> c.accept(this));
+        visitUntilStopped(section.getContent(), c -> c.accept(this));
         return null;
     }
 
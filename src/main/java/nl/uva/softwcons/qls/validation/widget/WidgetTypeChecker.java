@@ -5,6 +5,7 @@ import java.util.List;
 import nl.uva.softwcons.ql.ast.form.Form;
 import nl.uva.softwcons.ql.ast.type.Type;
 import nl.uva.softwcons.ql.validation.Checker;
+import nl.uva.softwcons.ql.validation.DiagnosticsSink;
 import nl.uva.softwcons.ql.validation.Error;
 import nl.uva.softwcons.qls.ast.segment.Page;
 import nl.uva.softwcons.qls.ast.segment.Question;
@@ -16,21 +17,26 @@ import nl.uva.softwcons.qls.ast.widgetstyle.StyledWidget;
 import nl.uva.softwcons.qls.util.QuestionTypeCollector;
 import nl.uva.softwcons.qls.validation.widget.error.IncompatibleWidget;
 
-public final class WidgetTypeChecker extends Checker implements StylesheetVisitor<List<Error>>, SegmentVisitor<Void> {
+public final class WidgetTypeChecker extends Checker implements StylesheetVisitor<Void>, SegmentVisitor<Void> {
     private final QuestionTypeCollector typeEnv;
 
     public static List<Error> check(final Stylesheet stylesheet, final Form form) {
+        return collectErrors(sink -> check(stylesheet, form, sink));
+    }
+
+    public static void check(final Stylesheet stylesheet, final Form form, final DiagnosticsSink sink) {
         final QuestionTypeCollector typeCollector = new QuestionTypeCollector(form);
-        return stylesheet.accept(new WidgetTypeChecker(typeCollector));
+        stylesheet.accept(new WidgetTypeChecker(typeCollector, sink));
     }
 
-    private WidgetTypeChecker(final QuestionTypeCollector env) {
+    private WidgetTypeChecker(final QuestionTypeCollector env, final DiagnosticsSink sink) {
+        super(sink);
         this.typeEnv = env;
     }
 
     @Override
     public Void visit(final Page page) {
-        page.getSegments().forEach(segment -> segment.accept(this));
+        visitUntilStopped(page.getSegments(), segment -> segment.accept(this));
 
         page.getStyles().forEach((type, widget) -> {
             validateWidgetCompatability(type, widget);
@@ -51,7 +57,7 @@ public final class WidgetTypeChecker extends Checker implements StylesheetVisito
 
     @Override
     public Void visit(final Section section) {
-        section.getContent().forEach(element -> element.accept(this));
+        visitUntilStopped(section.getContent(), element -> element.accept(this));
 
         section.getStyles().forEach((type, widget) -> {
             validateWidgetCompatability(type, widget);
@@ -61,9 +67,9 @@ public final class WidgetTypeChecker extends Checker implements StylesheetVisito
     }
 
     @Override
-    public List<Error> visit(final Stylesheet stylesheet) {
-        stylesheet.getPages().forEach(page -> page.accept(this));
-        return this.getErrors();
+    public Void visit(final Stylesheet stylesheet) {
+        visitUntilStopped(stylesheet.getPages(), page -> page.accept(this));
+        return null;
     }
 
     private void validateWidgetCompatability(final Type type, final StyledWidget widget) {
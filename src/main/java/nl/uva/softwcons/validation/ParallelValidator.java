@@ -0,0 +1,115 @@
+package nl.uva.softwcons.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.validation.Error;
+import nl.uva.softwcons.ql.validation.Validator;
+import nl.uva.softwcons.qls.ast.stylesheet.Stylesheet;
+import nl.uva.softwcons.qls.validation.QLSValidator;
+
+/**
+ * Runs the checkers of the {@link Validator} and the {@link QLSValidator}
+ * concurrently on an executor. The checkers only read the form and the
+ * stylesheet, so a form and stylesheet pair is validated in about the time
+ * of its slowest checker.
+ * <p>
+ * The errors are merged in the order of the checkers, so the result equals
+ * running {@link Validator#validate(Form)} followed by
+ * {@link QLSValidator#validate(Form, Stylesheet)}. When fail-fast is enabled,
+ * the result ends with the errors of the first checker, in that order, that
+ * reports a fatal error: the checkers after it are cancelled as soon as its
+ * errors are known, and the checkers before it are still awaited so the
+ * result does not depend on the scheduling.
+ */
+public class ParallelValidator {
+    private final Executor executor;
+    private final boolean failFast;
+
+    public ParallelValidator(final Executor executor) {
+        this(executor, false);
+    }
+
+    public ParallelValidator(final Executor executor, final boolean failFast) {
+        this.executor = executor;
+        this.failFast = failFast;
+    }
+
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    public List<Error> validate(final Form form) {
+        return validate(form, null);
+    }
+
+    /**
+     * Validates the given form and, if it is not null, the given stylesheet.
+     */
+    public List<Error> validate(final Form form, final Stylesheet stylesheet) {
+        final List<Supplier<List<Error>>> checks = new ArrayList<>();
+        Validator.getCheckers().forEach(checker -> checks.add(() -> checker.apply(form)));
+        if (stylesheet != null) {
+            QLSValidator.getCheckers().forEach(checker -> checks.add(() -> checker.apply(stylesheet, form)));
+        }
+
+        return run(checks);
+    }
+
+    private List<Error> run(final List<Supplier<List<Error>>> checks) {
+        final List<CompletableFuture<List<Error>>> results = new ArrayList<>(checks.size());
+        checks.forEach(check -> results.add(CompletableFuture.supplyAsync(check, executor)));
+        if (failFast) {
+            for (int i = 0; i < results.size(); i++) {
+                final int index = i;
+                results.get(i).thenAccept(errors -> {
+                    if (containsFatal(errors)) {
+                        cancelAfter(results, index);
+                    }
+                });
+            }
+        }
+
+        final List<Error> errors = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            final List<Error> checkerErrors = await(results.get(i));
+            errors.addAll(checkerErrors);
+            if (failFast && containsFatal(checkerErrors)) {
+                cancelAfter(results, i);
+                break;
+            }
+        }
+
+        return errors;
+    }
+
+    /**
+     * Cancels the checkers after the given one. Checkers that have not started
+     * yet are skipped, those that are already running finish but their errors
+     * are not used.
+     */
+    private static void cancelAfter(final List<CompletableFuture<List<Error>>> results, final int index) {
+        results.subList(index + 1, results.size()).forEach(result -> result.cancel(false));
+    }
+
+    private static List<Error> await(final CompletableFuture<List<Error>> result) {
+        try {
+            return result.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static boolean containsFatal(final List<Error> errors) {
+        return errors.stream().anyMatch(Error::isFatal);
+    }
+
+}
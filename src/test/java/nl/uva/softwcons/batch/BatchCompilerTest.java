@@ -0,0 +1,98 @@
+package nl.uva.softwcons.batch;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.helper.Workload;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BatchCompilerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+
+    @Before
+    public void writeForms() throws IOException {
+        this.directory = folder.getRoot().toPath();
+        for (int i = 0; i < 6; i++) {
+            final Workload workload = TestHelper.generateWorkload(i).questions(100).generate();
+            write("valid" + i + ".ql", workload.getFormSource());
+            write("valid" + i + ".qls", workload.getStylesheetSource());
+        }
+        write("nested/standalone.ql", TestHelper.buildForm("form1", "question1: \"Label\" boolean"));
+        write("syntax.ql", TestHelper.buildForm("form1", "question1: \"Label\" boolean )"));
+        write("types.ql", TestHelper.buildForm("form1", "question1: \"Label\" boolean",
+                "question2: \"Label\" number (question1 + 1)"));
+    }
+
+    @Test
+    public void testEveryFormIsCompiledInOrder() throws IOException {
+        try (final BatchCompiler compiler = new BatchCompiler(4)) {
+            final BatchReport report = compiler.compile(directory);
+
+            assertThat(report.getResults()).hasSize(9);
+            assertThat(fileNames(report)).containsExactly("standalone.ql", "syntax.ql", "types.ql", "valid0.ql",
+                    "valid1.ql", "valid2.ql", "valid3.ql", "valid4.ql", "valid5.ql");
+            assertThat((Object) report.getResults().get(0).getStylesheetFile()).isNull();
+            assertThat(report.getResults().get(3).getStylesheetFile().getFileName().toString()).isEqualTo(
+                    "valid0.qls");
+            assertThat(report.getResults().get(3).getDiagnostics()).isEmpty();
+        }
+    }
+
+    @Test
+    public void testDiagnosticsAreAttributedToTheirFiles() throws IOException {
+        try (final BatchCompiler compiler = new BatchCompiler(4)) {
+            final BatchReport report = compiler.compile(directory);
+            final FileResult syntax = report.getResults().get(1);
+            final FileResult types = report.getResults().get(2);
+
+            assertThat(syntax.hasFatalErrors()).isTrue();
+            assertThat(syntax.getDiagnostics()).extracting("message").containsExactly(
+                    "line 2:28 extraneous input ')' expecting {'}', 'if', ID}");
+            assertThat(types.hasFatalErrors()).isTrue();
+            assertThat(types.getDiagnostics()).extracting("file").containsOnly(types.getFormFile());
+            assertThat(report.hasFatalErrors()).isTrue();
+            assertThat(report.getFatalErrorCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void testParallelismDoesNotChangeTheReport() throws IOException {
+        final BatchReport sequential;
+        try (final BatchCompiler compiler = new BatchCompiler(1)) {
+            sequential = compiler.compile(directory);
+        }
+        try (final BatchCompiler compiler = new BatchCompiler(4)) {
+            final BatchReport parallel = compiler.compile(directory);
+
+            assertThat(fileNames(parallel)).isEqualTo(fileNames(sequential));
+            assertThat(parallel.getDiagnostics()).extracting("message").isEqualTo(
+                    sequential.getDiagnostics().stream().map(Diagnostic::getMessage).collect(toList()));
+        }
+    }
+
+    private void write(final String name, final String contents) throws IOException {
+        final Path file = directory.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.write(file, contents.getBytes(UTF_8));
+    }
+
+    private static List<String> fileNames(final BatchReport report) {
+        return report.getResults().stream().map(r -> r.getFormFile().getFileName().toString()).collect(toList());
+    }
+
+}
@@ -0,0 +1,124 @@
+package nl.uva.softwcons.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.helper.Workload;
+
+import org.junit.Test;
+
+public class CompiledFormCacheTest {
+
+    @Test
+    public void testRepeatedSourceIsServedFromCache() {
+        final Workload workload = TestHelper.generateWorkload(3).questions(50).generate();
+        final CompiledFormCache cache = new CompiledFormCache(4);
+
+        final CompiledForm first = cache.get(workload.getFormSource(), workload.getStylesheetSource());
+        final CompiledForm second = cache.get(workload.getFormSource(), workload.getStylesheetSource());
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getErrors()).isEmpty();
+        assertThat(first.getStylesheet()).isNotNull();
+        assertThat(first.getDependencies().size()).isGreaterThan(0);
+        assertThat(cache.getStatistics().getMisses()).isEqualTo(1);
+        assertThat(cache.getStatistics().getHits()).isEqualTo(1);
+    }
+
+    @Test
+    public void testStylesheetIsPartOfTheKey() {
+        final Workload workload = TestHelper.generateWorkload(3).questions(20).generate();
+        final CompiledFormCache cache = new CompiledFormCache(4);
+
+        final CompiledForm withStylesheet = cache.get(workload.getFormSource(), workload.getStylesheetSource());
+        final CompiledForm withoutStylesheet = cache.get(workload.getFormSource());
+
+        assertThat(withoutStylesheet).isNotSameAs(withStylesheet);
+        assertThat(withoutStylesheet.getStylesheet()).isNull();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        final String form1 = TestHelper.buildForm("form1", "question1: \"Label\" boolean");
+        final String form2 = TestHelper.buildForm("form2", "question1: \"Label\" boolean");
+        final String form3 = TestHelper.buildForm("form3", "question1: \"Label\" boolean");
+        final CompiledFormCache cache = new CompiledFormCache(2);
+
+        cache.get(form1);
+        cache.get(form2);
+        cache.get(form1);
+        cache.get(form3);
+
+        assertThat(cache.contains(form1, null)).isTrue();
+        assertThat(cache.contains(form2, null)).isFalse();
+        assertThat(cache.contains(form3, null)).isTrue();
+        assertThat(cache.getStatistics().getEvictions()).isEqualTo(1);
+        assertThat(cache.getStatistics().getHitRate()).isEqualTo(0.25);
+    }
+
+    @Test
+    public void testValidationErrorsAreCached() {
+        final String form = TestHelper.buildForm("form1", "question1: \"Label\" boolean",
+                "question1: \"Other label\" number");
+        final CompiledFormCache cache = new CompiledFormCache(1);
+
+        assertThat(cache.get(form).hasFatalErrors()).isTrue();
+        assertThat(cache.get(form).getFormErrors()).hasSize(1);
+        assertThat(cache.get(form).getDependencies()).isNull();
+        assertThat(cache.getStatistics().getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void testStylesheetIsSkippedForFatalForms() {
+        final String form = TestHelper.buildForm("form1", "question1: \"Label\" boolean",
+                "question1: \"Other label\" number");
+        final CompiledForm compiled = CompiledForm.compile(form,
+                "stylesheet style1 { page page1 { question question2 } }");
+
+        assertThat(compiled.hasFatalErrors()).isTrue();
+        assertThat(compiled.getStylesheet()).isNull();
+        assertThat(compiled.getStylesheetErrors()).isEmpty();
+    }
+
+    @Test
+    public void testStatisticsAreASnapshot() {
+        final String form = TestHelper.buildForm("form1", "question1: \"Label\" boolean");
+        final CompiledFormCache cache = new CompiledFormCache(1);
+
+        cache.get(form);
+        final CacheStatistics before = cache.getStatistics();
+        cache.get(form);
+
+        assertThat(before.getHits()).isEqualTo(0);
+        assertThat(cache.getStatistics().getHits()).isEqualTo(1);
+    }
+
+    @Test
+    public void testConcurrentMissesCompileOnce() {
+        final Workload workload = TestHelper.generateWorkload(5).questions(200).generate();
+        final CompiledFormCache cache = new CompiledFormCache(4);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<CompletableFuture<CompiledForm>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(CompletableFuture.supplyAsync(
+                        () -> cache.get(workload.getFormSource(), workload.getStylesheetSource()), executor));
+            }
+
+            final CompiledForm first = results.get(0).join();
+            results.forEach(result -> assertThat(result.join()).isSameAs(first));
+            assertThat(cache.getStatistics().getMisses()).isEqualTo(1);
+            assertThat(cache.getStatistics().getHits()).isEqualTo(7);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -1,12 +1,19 @@
 package nl.uva.softwcons.helper;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 
 import nl.uva.softwcons.ql.FormBuilder;
 import nl.uva.softwcons.ql.ast.LineInfo;
 import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.expression.identifier.VariableSet;
 import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.ast.symbol.SymbolTable;
 import nl.uva.softwcons.ql.validation.Error;
 
 public final class TestHelper {
@@ -27,6 +34,14 @@ public final class TestHelper {
         return String.format("stylesheet %s {%n %s %n}", stylesheetName, String.join(" ", pages));
     }
 
+    /**
+     * Returns a generator of large forms with matching stylesheets, shared by
+     * all performance tests and benchmarks.
+     */
+    public static WorkloadGenerator generateWorkload(final long seed) {
+        return WorkloadGenerator.withSeed(seed);
+    }
+
     /**
      * Builds a Form called always "form1" with the given statements (separating
      * them by newlines), runs the given checker function and returns the list
@@ -45,4 +60,58 @@ public final class TestHelper {
         return checker.apply(form);
     }
 
+    /**
+     * Asserts that two ASTs have the same shape and contents.
+     */
+    public static void assertSameTree(final Object expected, final Object actual) {
+        try {
+            assertSameTree(expected, actual, "root");
+        } catch (final IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Compares two AST nodes field by field, descending into nested nodes,
+     * lists and maps. Symbol tables and cached variable sets are skipped
+     * since they are derived from the tree.
+     */
+    private static void assertSameTree(final Object expected, final Object actual, final String path)
+            throws IllegalAccessException {
+        if (expected == actual) {
+            return;
+        }
+        assertThat(actual).as(path).isNotNull();
+        assertThat(actual.getClass()).as(path).isEqualTo(expected.getClass());
+
+        if (expected instanceof List) {
+            final List<?> expectedList = (List<?>) expected;
+            final List<?> actualList = (List<?>) actual;
+            assertThat(actualList).as(path).hasSameSizeAs(expectedList);
+            for (int i = 0; i < expectedList.size(); i++) {
+                assertSameTree(expectedList.get(i), actualList.get(i), path + "[" + i + "]");
+            }
+        } else if (expected instanceof Map) {
+            final Map<?, ?> expectedMap = (Map<?, ?>) expected;
+            final Map<?, ?> actualMap = (Map<?, ?>) actual;
+            assertThat(actualMap.keySet()).as(path).isEqualTo(expectedMap.keySet());
+            for (final Object key : expectedMap.keySet()) {
+                assertSameTree(expectedMap.get(key), actualMap.get(key), path + "[" + key + "]");
+            }
+        } else if (expected.getClass().getName().startsWith("nl.uva.softwcons")) {
+            for (Class<?> type = expected.getClass(); type != Object.class; type = type.getSuperclass()) {
+                for (final Field field : type.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.getType() == SymbolTable.class
+                            || field.getType() == VariableSet.class) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    assertSameTree(field.get(expected), field.get(actual), path + "." + field.getName());
+                }
+            }
+        } else {
+            assertThat(actual).as(path).isEqualTo(expected);
+        }
+    }
+
 }
@@ -0,0 +1,49 @@
+package nl.uva.softwcons.helper;
+
+import java.util.List;
+
+import nl.uva.softwcons.ql.FormBuilder;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.qls.StylesheetBuilder;
+import nl.uva.softwcons.qls.ast.stylesheet.Stylesheet;
+
+/**
+ * A generated QL form with a matching QLS stylesheet, see
+ * {@link WorkloadGenerator}.
+ */
+public final class Workload {
+    private final String formSource;
+    private final String stylesheetSource;
+    private final List<String> inputQuestions;
+
+    Workload(final String formSource, final String stylesheetSource, final List<String> inputQuestions) {
+        this.formSource = formSource;
+        this.stylesheetSource = stylesheetSource;
+        this.inputQuestions = inputQuestions;
+    }
+
+    public String getFormSource() {
+        return formSource;
+    }
+
+    public String getStylesheetSource() {
+        return stylesheetSource;
+    }
+
+    /**
+     * Returns the names of the questions that are not computed, in declaration
+     * order.
+     */
+    public List<String> getInputQuestions() {
+        return inputQuestions;
+    }
+
+    public Form buildForm() {
+        return FormBuilder.build(formSource);
+    }
+
+    public Stylesheet buildStylesheet() {
+        return StylesheetBuilder.build(stylesheetSource);
+    }
+
+}
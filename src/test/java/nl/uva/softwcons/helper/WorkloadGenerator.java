@@ -0,0 +1,197 @@
+package nl.uva.softwcons.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates valid QL forms with matching QLS stylesheets of configurable
+ * shape, for performance tests and benchmarks. The same seed and parameters
+ * always produce the same sources.
+ * <p>
+ * All questions are numbers. A computed question references up to
+ * {@link #fanIn(int)} earlier questions, no question is referenced by more
+ * than {@link #fanOut(int)} computed questions, and no dependency chain is
+ * longer than {@link #chainDepth(int)}. Since QL does not allow conditionals
+ * inside conditionals, {@link #conditionalNesting(int)} is expressed through
+ * the guards instead: questions are declared in blocks, and a block on
+ * nesting level {@code n} is guarded by a question declared in the block on
+ * level {@code n - 1} before it.
+ */
+public final class WorkloadGenerator {
+    private final Random random;
+    private int questions = 100;
+    private double computedFraction = 0.5;
+    private int fanIn = 2;
+    private int fanOut = 4;
+    private int chainDepth = 5;
+    private int conditionalNesting = 1;
+    private int questionsPerBlock = 10;
+    private int pages = 1;
+    private int sectionsPerPage = 1;
+
+    private WorkloadGenerator(final long seed) {
+        this.random = new Random(seed);
+    }
+
+    public static WorkloadGenerator withSeed(final long seed) {
+        return new WorkloadGenerator(seed);
+    }
+
+    public WorkloadGenerator questions(final int questions) {
+        this.questions = questions;
+        return this;
+    }
+
+    public WorkloadGenerator computedFraction(final double computedFraction) {
+        this.computedFraction = computedFraction;
+        return this;
+    }
+
+    public WorkloadGenerator fanIn(final int fanIn) {
+        this.fanIn = fanIn;
+        return this;
+    }
+
+    public WorkloadGenerator fanOut(final int fanOut) {
+        this.fanOut = fanOut;
+        return this;
+    }
+
+    public WorkloadGenerator chainDepth(final int chainDepth) {
+        this.chainDepth = chainDepth;
+        return this;
+    }
+
+    /**
+     * Sets the number of nesting levels of conditionals, where 0 means that
+     * the form has no conditionals.
+     */
+    public WorkloadGenerator conditionalNesting(final int conditionalNesting) {
+        this.conditionalNesting = conditionalNesting;
+        return this;
+    }
+
+    /**
+     * Sets the number of questions declared together, either on the top level
+     * or in one conditional.
+     */
+    public WorkloadGenerator questionsPerBlock(final int questionsPerBlock) {
+        this.questionsPerBlock = questionsPerBlock;
+        return this;
+    }
+
+    public WorkloadGenerator pages(final int pages) {
+        this.pages = pages;
+        return this;
+    }
+
+    public WorkloadGenerator sectionsPerPage(final int sectionsPerPage) {
+        this.sectionsPerPage = sectionsPerPage;
+        return this;
+    }
+
+    public Workload generate() {
+        final int[] depths = new int[questions];
+        final int[] dependants = new int[questions];
+        final List<String> inputQuestions = new ArrayList<>();
+        final List<String> statements = new ArrayList<>();
+
+        for (int block = 0; block * questionsPerBlock < questions; block++) {
+            final int first = block * questionsPerBlock;
+            final int last = Math.min(first + questionsPerBlock, questions);
+
+            final StringBuilder questionsInBlock = new StringBuilder();
+            for (int i = first; i < last; i++) {
+                final String expression = generateExpression(i, depths, dependants);
+                if (expression == null) {
+                    inputQuestions.add(name(i));
+                    questionsInBlock.append(String.format("%s: \"Question %d\" number%n", name(i), i));
+                } else {
+                    questionsInBlock.append(String.format("%s: \"Question %d\" number (%s)%n", name(i), i,
+                            expression));
+                }
+            }
+
+            final int level = conditionalNesting == 0 ? 0 : block % (conditionalNesting + 1);
+            if (level == 0) {
+                statements.add(questionsInBlock.toString());
+            } else {
+                final int guard = first - 1 - random.nextInt(questionsPerBlock);
+                statements.add(String.format("if (%s > %d) {%n%s}", name(guard), random.nextInt(10),
+                        questionsInBlock));
+            }
+        }
+
+        return new Workload(TestHelper.buildForm("generated", statements.toArray(new String[0])),
+                generateStylesheet(), inputQuestions);
+    }
+
+    /**
+     * Returns the expression of the given question, or null if it should be
+     * an input question.
+     */
+    private String generateExpression(final int question, final int[] depths, final int[] dependants) {
+        if (question == 0 || random.nextDouble() >= computedFraction) {
+            return null;
+        }
+
+        final List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < question; i++) {
+            if (depths[i] < chainDepth && dependants[i] < fanOut) {
+                candidates.add(i);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return null;
+        }
+
+        final int references = 1 + random.nextInt(Math.min(fanIn, candidates.size()));
+        final StringBuilder expression = new StringBuilder();
+        for (int r = 0; r < references; r++) {
+            final int referenced = candidates.remove(random.nextInt(candidates.size()));
+            depths[question] = Math.max(depths[question], depths[referenced] + 1);
+            dependants[referenced]++;
+
+            if (r > 0) {
+                expression.append(' ').append("+-*".charAt(random.nextInt(3))).append(' ');
+            }
+            expression.append(name(referenced));
+        }
+
+        return expression.append(" + ").append(random.nextInt(100)).toString();
+    }
+
+    /**
+     * Distributes the questions in declaration order over the sections, which
+     * all get at least one question.
+     */
+    private String generateStylesheet() {
+        final int sections = pages * sectionsPerPage;
+        if (sections > questions) {
+            throw new IllegalArgumentException("Cannot fill " + sections + " sections with " + questions
+                    + " questions");
+        }
+
+        final List<String> pageSources = new ArrayList<>();
+        for (int page = 0; page < pages; page++) {
+            final StringBuilder pageSource = new StringBuilder(String.format("page Page%d {%n", page));
+            for (int section = page * sectionsPerPage; section < (page + 1) * sectionsPerPage; section++) {
+                pageSource.append(String.format("section \"Section %d\" {%n", section));
+                for (int i = section * questions / sections; i < (section + 1) * questions / sections; i++) {
+                    pageSource.append(String.format(random.nextInt(4) == 0 ? "question %s widget text%n"
+                            : "question %s%n", name(i)));
+                }
+                pageSource.append("}\n");
+            }
+            pageSources.add(pageSource.append("default number widget slider(0, 100, 1)\n}").toString());
+        }
+
+        return TestHelper.buildStylesheet("generated", pageSources.toArray(new String[0]));
+    }
+
+    private static String name(final int question) {
+        return "q" + question;
+    }
+
+}
@@ -0,0 +1,84 @@
+package nl.uva.softwcons.helper;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.ast.statement.ComputedQuestion;
+import nl.uva.softwcons.ql.ast.statement.Conditional;
+import nl.uva.softwcons.ql.ast.statement.Question;
+import nl.uva.softwcons.ql.ast.statement.StatementVisitor;
+import nl.uva.softwcons.ql.validation.Validator;
+import nl.uva.softwcons.ql.validation.VariableExctractor;
+import nl.uva.softwcons.qls.validation.QLSValidator;
+
+import org.junit.Test;
+
+public class WorkloadGeneratorTest {
+
+    @Test
+    public void testSameSeedGeneratesSameSources() {
+        final Workload workload = TestHelper.generateWorkload(7).questions(200).generate();
+        final Workload sameWorkload = TestHelper.generateWorkload(7).questions(200).generate();
+        final Workload otherWorkload = TestHelper.generateWorkload(8).questions(200).generate();
+
+        assertThat(workload.getFormSource()).isEqualTo(sameWorkload.getFormSource());
+        assertThat(workload.getStylesheetSource()).isEqualTo(sameWorkload.getStylesheetSource());
+        assertThat(workload.getFormSource()).isNotEqualTo(otherWorkload.getFormSource());
+    }
+
+    @Test
+    public void testGeneratedSourcesAreValid() {
+        final Workload workload = TestHelper.generateWorkload(1).questions(500).computedFraction(0.7)
+                .conditionalNesting(3).pages(4).sectionsPerPage(3).generate();
+        final Form form = workload.buildForm();
+
+        assertThat(Validator.validate(form)).isEmpty();
+        assertThat(QLSValidator.validate(form, workload.buildStylesheet())).isEmpty();
+        assertThat(collectComputedQuestions(form).size() + workload.getInputQuestions().size()).isEqualTo(500);
+    }
+
+    @Test
+    public void testGeneratedDependenciesRespectFanInAndFanOut() {
+        final Form form = TestHelper.generateWorkload(3).questions(300).computedFraction(0.9).fanIn(3).fanOut(2)
+                .generate().buildForm();
+
+        final Map<Identifier, Integer> dependants = new HashMap<>();
+        for (final ComputedQuestion question : collectComputedQuestions(form)) {
+            final Set<Identifier> references = VariableExctractor.extractFrom(question.getExpression());
+            assertThat(references.size()).isBetween(1, 3);
+            references.forEach(id -> dependants.merge(id, 1, Integer::sum));
+        }
+
+        assertThat(Collections.max(dependants.values())).isLessThanOrEqualTo(2);
+    }
+
+    private static List<ComputedQuestion> collectComputedQuestions(final Form form) {
+        final StatementVisitor<List<ComputedQuestion>> collector = new StatementVisitor<List<ComputedQuestion>>() {
+            @Override
+            public List<ComputedQuestion> visit(final ComputedQuestion question) {
+                return Collections.singletonList(question);
+            }
+
+            @Override
+            public List<ComputedQuestion> visit(final Question question) {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public List<ComputedQuestion> visit(final Conditional conditional) {
+                return conditional.getQuestions().stream().flatMap(q -> q.accept(this).stream()).collect(toList());
+            }
+        };
+
+        return form.getStatements().stream().flatMap(s -> s.accept(collector).stream()).collect(toList());
+    }
+
+}
@@ -0,0 +1,66 @@
+package nl.uva.softwcons.ql;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.helper.Workload;
+import nl.uva.softwcons.qls.StylesheetBuilder;
+
+import org.junit.Test;
+
+import com.google.common.io.CharStreams;
+
+public class BuildModeTest {
+
+    @Test
+    public void testGeneratedFormsBuildSameAST() {
+        final Workload workload = TestHelper.generateWorkload(9).questions(2000).computedFraction(0.6)
+                .conditionalNesting(3).chainDepth(10).generate();
+
+        TestHelper.assertSameTree(FormBuilder.build(workload.getFormSource(), BuildMode.PARSE_TREE),
+                FormBuilder.build(workload.getFormSource(), BuildMode.DIRECT));
+    }
+
+    @Test
+    public void testAllExpressionKindsBuildSameAST() {
+        final String form = TestHelper.buildForm("form1", "question1: \"Label\" number",
+                "question2: \"Label\" boolean", "question3: \"Label\" string", "question4: \"Label\" date",
+                "question5: \"Label\" number ((question1 + 2.5 * 3) / 4 - -1.25E-3)",
+                "question6: \"Label\" boolean (!question2 && question1 >= 3 || question1 != 2 && true)",
+                "if (question3 == \"abc\" || question1 < 1 || question1 <= 2 || question1 > 0) {"
+                        + " question7: \"Label\" boolean (!(question2 == false)) question8: \"Label\" string }");
+
+        TestHelper.assertSameTree(FormBuilder.build(form, BuildMode.PARSE_TREE),
+                FormBuilder.build(form, BuildMode.DIRECT));
+    }
+
+    @Test
+    public void testInvalidFormFallsBackToParseTree() {
+        final String form = TestHelper.buildForm("form1", "question1: \"Label\" boolean )",
+                "question2: \"Label\" boolean (question1 && true true)", "question3: \"Label\" boolean");
+
+        TestHelper.assertSameTree(FormBuilder.build(form, BuildMode.PARSE_TREE),
+                FormBuilder.build(form, BuildMode.DIRECT));
+    }
+
+    @Test
+    public void testStylesheetsBuildSameAST() throws IOException {
+        final String source;
+        try (final Reader reader = new InputStreamReader(getClass().getResourceAsStream("/form_stylesheet.qls"),
+                UTF_8)) {
+            source = CharStreams.toString(reader);
+        }
+        final Workload workload = TestHelper.generateWorkload(9).questions(2000).pages(5).sectionsPerPage(4)
+                .generate();
+
+        TestHelper.assertSameTree(StylesheetBuilder.build(source, BuildMode.PARSE_TREE),
+                StylesheetBuilder.build(source, BuildMode.DIRECT));
+        TestHelper.assertSameTree(StylesheetBuilder.build(workload.getStylesheetSource(), BuildMode.PARSE_TREE),
+                StylesheetBuilder.build(workload.getStylesheetSource(), BuildMode.DIRECT));
+    }
+
+}
@@ -0,0 +1,38 @@
+package nl.uva.softwcons.ql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.ast.statement.Question;
+
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+import org.junit.Test;
+
+public class FormBuilderTest {
+
+    @Test
+    public void testRecoverableSyntaxErrorsAreReportedToTheListener() {
+        final String source = TestHelper.buildForm("form1", "question1: \"Label 1\" number",
+                "question2: \"Label 2\" numb er (question1 + 1)", "question3: \"Label 3\" boolean");
+        final List<Integer> errorLines = new ArrayList<>();
+
+        final Form form = FormBuilder.build(source, new BaseErrorListener() {
+            @Override
+            public void syntaxError(final Recognizer<?, ?> recognizer, final Object offendingSymbol, final int line,
+                    final int charPositionInLine, final String msg, final RecognitionException e) {
+                errorLines.add(line);
+            }
+        });
+
+        assertThat(errorLines).isNotEmpty();
+        assertThat(form.getStatements()).containsNull();
+        assertThat(form.getSymbolTable().getSlot(((Question) form.getStatements().get(0)).getId())).isEqualTo(0);
+    }
+
+}
@@ -0,0 +1,101 @@
+package nl.uva.softwcons.ql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.helper.Workload;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.snapshot.StaleSnapshotException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FormSnapshotTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSnapshotRebuildsSameTree() throws IOException {
+        final Workload workload = TestHelper.generateWorkload(11).questions(300).computedFraction(0.6)
+                .conditionalNesting(3).generate();
+        final Form form = FormBuilder.build(workload.getFormSource());
+
+        final Form loaded = FormSnapshot.read(new ByteArrayInputStream(snapshot(form, workload.getFormSource())),
+                workload.getFormSource());
+
+        TestHelper.assertSameTree(form, loaded);
+    }
+
+    @Test
+    public void testSnapshotKeepsAllExpressionKinds() throws IOException {
+        final String source = TestHelper.buildForm("form1", "question1: \"Label\" number",
+                "question2: \"Label\" boolean", "question3: \"Label\" string", "question4: \"Label\" date",
+                "question5: \"Label\" number ((question1 + 2.5 * 3) / 4 - -1.25E-3)",
+                "question6: \"Label\" boolean (!question2 && question1 >= 3 || question1 != 2 && true)",
+                "if (question3 == \"abc\" || question1 < 1 || question1 <= 2 || question1 > 0) {"
+                        + " question7: \"Label\" boolean (question2 == false) }");
+        final Form form = FormBuilder.build(source);
+
+        TestHelper.assertSameTree(form, FormSnapshot.read(new ByteArrayInputStream(snapshot(form, source)), source));
+    }
+
+    @Test
+    public void testSnapshotOfOtherSourceIsStale() throws IOException {
+        final String source = TestHelper.buildForm("form1", "question1: \"Label\" boolean");
+        final byte[] snapshot = snapshot(FormBuilder.build(source), source);
+
+        try {
+            FormSnapshot.read(new ByteArrayInputStream(snapshot), source + " ");
+            fail("Expected the snapshot to be stale");
+        } catch (final StaleSnapshotException e) {
+            assertThat(e.getMessage()).contains("source");
+        }
+    }
+
+    @Test
+    public void testSnapshotOfOtherVersionIsStale() throws IOException {
+        final String source = TestHelper.buildForm("form1", "question1: \"Label\" boolean");
+        final byte[] snapshot = snapshot(FormBuilder.build(source), source);
+        snapshot[7]++;
+
+        try {
+            FormSnapshot.read(new ByteArrayInputStream(snapshot), source);
+            fail("Expected the snapshot to be stale");
+        } catch (final StaleSnapshotException e) {
+            assertThat(e.getMessage()).contains("version");
+        }
+    }
+
+    @Test
+    public void testLoadRebuildsStaleSnapshotFile() throws IOException {
+        final Path file = folder.getRoot().toPath().resolve("form.snapshot");
+        final String oldSource = TestHelper.buildForm("form1", "question1: \"Label\" boolean");
+        final String newSource = TestHelper.buildForm("form1", "question2: \"Label\" boolean");
+
+        FormSnapshot.load(oldSource, file);
+        final Form loaded = FormSnapshot.load(newSource, file);
+
+        TestHelper.assertSameTree(FormBuilder.build(newSource), loaded);
+        try (final InputStream input = Files.newInputStream(file)) {
+            TestHelper.assertSameTree(loaded, FormSnapshot.read(input, newSource));
+        }
+    }
+
+    private static byte[] snapshot(final Form form, final String source) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        FormSnapshot.write(form, source, output);
+
+        return output.toByteArray();
+    }
+
+}
@@ -0,0 +1,42 @@
+package nl.uva.softwcons.ql;
+
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.helper.Workload;
+import nl.uva.softwcons.qls.StylesheetBuilder;
+
+import org.junit.Test;
+
+public class ParsingStrategyTest {
+
+    @Test
+    public void testGeneratedFormsParseToSameAST() {
+        final Workload workload = TestHelper.generateWorkload(5).questions(300).computedFraction(0.6)
+                .conditionalNesting(3).chainDepth(10).generate();
+
+        TestHelper.assertSameTree(FormBuilder.build(workload.getFormSource(), ParsingStrategy.SLL_THEN_LL),
+                FormBuilder.build(workload.getFormSource(), ParsingStrategy.LL));
+    }
+
+    @Test
+    public void testGeneratedStylesheetsParseToSameAST() {
+        final Workload workload = TestHelper.generateWorkload(5).questions(300).pages(3).sectionsPerPage(4)
+                .generate();
+
+        TestHelper.assertSameTree(StylesheetBuilder.build(workload.getStylesheetSource(), ParsingStrategy.SLL_THEN_LL),
+                StylesheetBuilder.build(workload.getStylesheetSource(), ParsingStrategy.LL));
+    }
+
+    @Test
+    public void testAllExpressionKindsParseToSameAST() {
+        final String form = TestHelper.buildForm("form1", "question1: \"Label\" number",
+                "question2: \"Label\" boolean", "question3: \"Label\" string",
+                "question4: \"Label\" number ((question1 + 2.5 * 3) / 4 - -1)",
+                "question5: \"Label\" boolean (!question2 && question1 >= 3 || question1 != 2 && true)",
+                "question6: \"Label\" boolean (question3 == \"abc\" || question1 < 1 || question1 <= 2)",
+                "if (question5 && question1 > 0) { question7: \"Label\" number (question1 * 1.5E2) }");
+
+        TestHelper.assertSameTree(FormBuilder.build(form, ParsingStrategy.SLL_THEN_LL),
+                FormBuilder.build(form, ParsingStrategy.LL));
+    }
+
+}
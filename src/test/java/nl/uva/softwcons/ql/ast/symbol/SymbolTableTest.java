@@ -0,0 +1,80 @@
+package nl.uva.softwcons.ql.ast.symbol;
+
+import static nl.uva.softwcons.helper.TestHelper.QUESTION;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.ql.FormBuilder;
+import nl.uva.softwcons.ql.ast.expression.binary.BinaryExpression;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.ast.statement.ComputedQuestion;
+import nl.uva.softwcons.ql.ast.statement.Question;
+
+import org.junit.Test;
+
+public class SymbolTableTest {
+
+    @Test
+    public void testAllOccurrencesOfANameShareOneSymbol() {
+        String questionText = "question: \"Label\" number";
+        String question2Text = "question2: \"Label 2\" number (question + question)";
+        Form form = FormBuilder.build(TestHelper.buildForm("form1", questionText, question2Text));
+        Identifier declaration = ((Question) form.getStatements().get(0)).getId();
+        BinaryExpression sum = (BinaryExpression) ((ComputedQuestion) form.getStatements().get(1)).getExpression();
+        Identifier left = (Identifier) sum.getLeftExpression();
+        Identifier right = (Identifier) sum.getRightExpression();
+
+        SymbolTable table = form.getSymbolTable();
+
+        assertThat(table.getSymbol(left)).isSameAs(table.getSymbol(declaration));
+        assertThat(table.getSymbol(right)).isSameAs(table.getSymbol(declaration));
+        assertThat(left).isEqualTo(right);
+        assertThat(left.hashCode()).isEqualTo(table.getSymbol(declaration).getHash());
+    }
+
+    @Test
+    public void testUndeclaredNamesAreInternedAfterTheDeclaredOnes() {
+        String questionText = "question: \"Label\" number (unknown)";
+        String question2Text = "question2: \"Label 2\" number (unknown)";
+        Form form = FormBuilder.build(TestHelper.buildForm("form1", questionText, question2Text));
+        Symbol unknown = form.getSymbolTable().getSymbol("unknown");
+
+        assertThat(form.getSymbolTable().size()).isEqualTo(2);
+        assertThat(form.getSymbolTable().symbolCount()).isEqualTo(3);
+        assertThat(unknown.isDeclared()).isFalse();
+        assertThat(unknown.getId()).isEqualTo(2);
+        assertThat(((ComputedQuestion) form.getStatements().get(1)).getExpression()).isEqualTo(
+                ((ComputedQuestion) form.getStatements().get(0)).getExpression());
+    }
+
+    @Test
+    public void testIdentifiersOfDifferentFormsAreComparedByName() {
+        String questionText = "question: \"Label\" number";
+        Form form1 = FormBuilder.build(TestHelper.buildForm("form1", questionText));
+        Form form2 = FormBuilder.build(TestHelper.buildForm("form2", questionText));
+        Identifier id1 = ((Question) form1.getStatements().get(0)).getId();
+        Identifier id2 = ((Question) form2.getStatements().get(0)).getId();
+
+        assertThat(id1).isEqualTo(id2);
+        assertThat(id1).isEqualTo(QUESTION);
+        assertThat(QUESTION).isEqualTo(id2);
+    }
+
+    @Test
+    public void testFormsSharingStatementsKeepTheirOwnBindings() {
+        String questionText = "question: \"Label\" number";
+        String question2Text = "question2: \"Label 2\" number (question)";
+        Form form = FormBuilder.build(TestHelper.buildForm("form1", questionText, question2Text));
+        Form reordered = new Form(form.getName(), Arrays.asList(form.getStatements().get(1), form.getStatements()
+                .get(0)));
+        Identifier declaration = ((Question) form.getStatements().get(0)).getId();
+
+        assertThat(form.getSymbolTable().getSlot(declaration)).isEqualTo(0);
+        assertThat(reordered.getSymbolTable().getSlot(declaration)).isEqualTo(1);
+        assertThat(form.getSymbolTable().getSymbol(declaration).getTable()).isSameAs(form.getSymbolTable());
+    }
+
+}
@@ -0,0 +1,61 @@
+package nl.uva.softwcons.ql.eval;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.ql.FormBuilder;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.ast.statement.Conditional;
+import nl.uva.softwcons.ql.eval.value.NumberValue;
+
+import org.junit.Test;
+
+import com.sun.management.ThreadMXBean;
+
+public class EvaluatorAllocationTest {
+    private static final int WARMUP_UPDATES = 20000;
+    private static final int MEASURED_UPDATES = 20000;
+    private static final long MAX_BYTES_PER_UPDATE = 256;
+
+    private static final Identifier INCOME = new Identifier("income", null);
+
+    /**
+     * A form where every update recomputes a chain of number and boolean
+     * questions and a conditional, with results that stay small integers.
+     */
+    private static final Form REFERENCE_FORM = FormBuilder.build(TestHelper.buildForm("form1",
+            "income: \"Income\" number", "tax: \"Tax\" number (income * 2 - 1)",
+            "net: \"Net\" number (income - tax + 100)", "high: \"High\" boolean (net > 90 && tax != 3)",
+            "if (high) { bonus: \"Bonus\" number (net * 2) }"));
+
+    @Test
+    public void testUpdatingSmallNumbersAllocatesAlmostNothing() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean);
+        final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        final Evaluator evaluator = new Evaluator(REFERENCE_FORM);
+        evaluator.addListener((Conditional) REFERENCE_FORM.getStatements().get(4), value -> {
+        });
+        runUpdates(evaluator, WARMUP_UPDATES);
+
+        final long threadId = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(threadId);
+        runUpdates(evaluator, MEASURED_UPDATES);
+        final long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertThat(allocated / MEASURED_UPDATES).isLessThan(MAX_BYTES_PER_UPDATE);
+    }
+
+    private static void runUpdates(final Evaluator evaluator, final int updates) {
+        for (int i = 0; i < updates; i++) {
+            evaluator.updateValue(INCOME, NumberValue.valueOf(i % 10));
+        }
+    }
+
+}
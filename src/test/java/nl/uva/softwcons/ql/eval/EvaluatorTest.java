@@ -10,7 +10,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
 import nl.uva.softwcons.helper.TestHelper;
 import nl.uva.softwcons.ql.FormBuilder;
 import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
@@ -85,11 +91,27 @@ public class EvaluatorTest {
         Form form = FormBuilder.build(TestHelper.buildForm("form1", questionText));
         Evaluator e = new Evaluator(form);
 
-        e.updateValue(QUESTION, new BooleanValue(true));
+        e.updateValue(QUESTION, BooleanValue.TRUE);
 
         assertThat(e.getValue(QUESTION).getBoolean()).isEqualTo(true);
     }
 
+    @Test
+    public void testEvaluatorsCanShareADependencyGraph() {
+        String questionText = "question: \"Label\" number";
+        String question2Text = "question2: \"Label\" boolean (question > 0)";
+        Form form = FormBuilder.build(TestHelper.buildForm("form1", questionText, question2Text));
+        DependencyGraph dependencies = new DependencyGraph(form);
+        Evaluator e1 = new Evaluator(form, dependencies, EvaluationMode.EAGER);
+        Evaluator e2 = new Evaluator(form, dependencies, EvaluationMode.LAZY);
+
+        e1.updateValue(QUESTION, new NumberValue(1));
+        e2.updateValue(QUESTION, new NumberValue(-1));
+
+        assertThat(e1.getValue(QUESTION2).getBoolean()).isEqualTo(true);
+        assertThat(e2.getValue(QUESTION2).getBoolean()).isEqualTo(false);
+    }
+
     @Test
     public void testThatUpdatingValuesIsPropagatedToReferences() {
         String questionText = "question: \"Label\" number";
@@ -235,4 +257,211 @@ public class EvaluatorTest {
         verify(question4listener).processValueChange(argThat(new BooleanValueMatcher(false)));
     }
 
+    @Test
+    public void testThatDiamondDependenciesAreRecomputedOnce() {
+        String questionText = "question: \"Label\" number";
+        String question2Text = "question2: \"Label 2\" number (question + 1)";
+        String question3Text = "question3: \"Label 3\" number (question + 2)";
+        String question4Text = "question4: \"Label 4\" number (question2 + question3)";
+        String conditionalText = "if (question4 > question2) { question5: \"Label 5\" number (question4 * 2) }";
+        Form form = FormBuilder.build(TestHelper.buildForm("form1", questionText, question2Text, question3Text,
+                question4Text, conditionalText));
+        Evaluator e = new Evaluator(form);
+
+        e.updateValue(QUESTION, new NumberValue(1));
+
+        assertThat(e.getValue(QUESTION4).getNumber()).isEqualTo("5");
+        assertThat(e.getStatistics().getLastUpdateRecomputations()).isEqualTo(5);
+        assertThat(e.getStatistics().getTotalRecomputations()).isEqualTo(5);
+    }
+
+    @Test
+    public void testThatDependantsDeclaredBeforeTheirReferencesAreComputed() {
+        String question2Text = "question2: \"Label 2\" number (question3 * 2)";
+        String question3Text = "question3: \"Label 3\" number (question + 1)";
+        String questionText = "question: \"Label\" number";
+        Form form = FormBuilder.build(TestHelper.buildForm("form1", question2Text, question3Text, questionText));
+        Evaluator e = new Evaluator(form);
+
+        e.updateValue(QUESTION, new NumberValue(1));
+
+        assertThat(e.getValue(QUESTION2).getNumber()).isEqualTo("4");
+        assertThat(e.getStatistics().getLastUpdateRecomputations()).isEqualTo(2);
+    }
+
+    @Test
+    public void testThatUpdatingCyclicDependenciesTerminates() {
+        String questionText = "question: \"Label\" number";
+        String question2Text = "question2: \"Label 2\" number (question3 + question)";
+        String question3Text = "question3: \"Label 3\" number (question2 * 2)";
+        Form form = FormBuilder.build(TestHelper.buildForm("form1", questionText, question2Text, question3Text));
+        Evaluator e = new Evaluator(form);
+
+        e.updateValue(QUESTION, new NumberValue(1));
+
+        // question2 stays undefined, so question3 is not recomputed
+        assertThat(e.getStatistics().getLastUpdateRecomputations()).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testThatCallbacksAreNotCalledForUnchangedValues() {
+        String questionText = "question: \"Label\" number";
+        String question2Text = "question2: \"Label\" boolean (question > 0)";
+        String question3Text = "question3: \"Label\" boolean (question2 == true)";
+        Form form = FormBuilder.build(TestHelper.buildForm("form1", questionText, question2Text, question3Text));
+        Evaluator e = new Evaluator(form);
+
+        ValueChangeListener<Value> question2listener = mock(ValueChangeListener.class);
+        e.addListener((ComputedQuestion) form.getStatements().get(1), question2listener);
+        e.updateValue(QUESTION, new NumberValue(1));
+        e.updateValue(QUESTION, new NumberValue(2));
+
+        verify(question2listener, times(1)).processValueChange(argThat(new BooleanValueMatcher(true)));
+        // question3 is not recomputed since question2 did not change
+        assertThat(e.getStatistics().getLastUpdateRecomputations()).isEqualTo(1);
+
+        e.updateValue(QUESTION, new NumberValue(2));
+        assertThat(e.getStatistics().getLastUpdateRecomputations()).isEqualTo(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testThatConditionalCallbacksAreCalledOnlyWhenTruthinessFlips() {
+        String questionText = "question: \"Label\" number";
+        String conditionalText = "if (question > 0) { question2: \"Label\" boolean }";
+        Form form = FormBuilder.build(TestHelper.buildForm("form1", questionText, conditionalText));
+        Evaluator e = new Evaluator(form);
+
+        ValueChangeListener<Value> listener = mock(ValueChangeListener.class);
+        e.addListener((Computable) form.getStatements().get(1), listener);
+
+        // undefined and false both hide the conditional
+        e.updateValue(QUESTION, new NumberValue(-1));
+        verify(listener, never()).processValueChange(argThat(new BooleanValueMatcher(false)));
+
+        e.updateValue(QUESTION, new NumberValue(1));
+        e.updateValue(QUESTION, new NumberValue(2));
+        verify(listener, times(1)).processValueChange(argThat(new BooleanValueMatcher(true)));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testThatBatchUpdatesRecomputeAndNotifyOncePerNode() {
+        String questionText = "question: \"Label\" number";
+        String question2Text = "question2: \"Label\" number";
+        String question3Text = "question3: \"Label\" number (question + question2)";
+        String question4Text = "question4: \"Label\" number (question3 * question)";
+        Form form = FormBuilder.build(TestHelper.buildForm("form1", questionText, question2Text, question3Text,
+                question4Text));
+        Evaluator e = new Evaluator(form);
+
+        ValueChangeListener<Value> question4listener = mock(ValueChangeListener.class);
+        e.addListener((ComputedQuestion) form.getStatements().get(3), question4listener);
+
+        Map<Identifier, Value> answers = new HashMap<>();
+        answers.put(QUESTION, new NumberValue(2));
+        answers.put(QUESTION2, new NumberValue(3));
+        e.updateValues(answers);
+
+        assertThat(e.getValue(QUESTION4).getNumber()).isEqualTo("10");
+        assertThat(e.getStatistics().getLastUpdateRecomputations()).isEqualTo(2);
+        verify(question4listener, times(1)).processValueChange(new NumberValue(10));
+    }
+
+    @Test
+    public void testThatLazyModeDoesNotRecomputeHiddenQuestions() {
+        String questionText = "question: \"Label\" number";
+        String question2Text = "question2: \"Label\" boolean";
+        String conditionalText = "if (question2) { question3: \"Label\" number (question * 2) }";
+        Form form = FormBuilder.build(TestHelper.buildForm("form1", questionText, question2Text, conditionalText));
+        Evaluator e = new Evaluator(form, EvaluationMode.LAZY);
+
+        e.updateValue(QUESTION, new NumberValue(4));
+        assertThat(e.getStatistics().getLastUpdateRecomputations()).isEqualTo(0);
+
+        // reading a stale question recomputes it
+        assertThat(e.getValue(QUESTION3).getNumber()).isEqualTo("8");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testThatLazyModeRefreshesQuestionsWhenTheirConditionalBecomesTrue() {
+        String questionText = "question: \"Label\" number";
+        String question2Text = "question2: \"Label\" boolean";
+        String conditionalText = "if (question2) { question3: \"Label\" number (question * 2) }";
+        Form form = FormBuilder.build(TestHelper.buildForm("form1", questionText, question2Text, conditionalText));
+        Conditional conditional = (Conditional) form.getStatements().get(2);
+        Evaluator e = new Evaluator(form, EvaluationMode.LAZY);
+
+        ValueChangeListener<Value> question3listener = mock(ValueChangeListener.class);
+        e.addListener((ComputedQuestion) conditional.getQuestions().get(0), question3listener);
+        e.updateValue(QUESTION, new NumberValue(4));
+        verify(question3listener, never()).processValueChange(new NumberValue(8));
+
+        e.updateValue(QUESTION2, BooleanValue.TRUE);
+        verify(question3listener).processValueChange(new NumberValue(8));
+        assertThat(e.getStatistics().getLastUpdateRecomputations()).isEqualTo(2);
+    }
+
+    @Test
+    public void testThatLazyModeAgreesWithEagerMode() {
+        String questionText = "question: \"Label\" number";
+        String question2Text = "question2: \"Label\" boolean";
+        String conditionalText = "if (question2) { question3: \"Label\" number (question * 2) }";
+        String question4Text = "question4: \"Label\" number (question3 + 1)";
+        String conditional2Text = "if (question4 > 10) { question5: \"Label\" number (question3 * question4) }";
+        Form form = FormBuilder.build(TestHelper.buildForm("form1", questionText, question2Text, conditionalText,
+                question4Text, conditional2Text));
+        Identifier question5 = new Identifier("question5", DUMMY_LINE_INFO);
+        Evaluator eager = new Evaluator(form, EvaluationMode.EAGER);
+        Evaluator lazy = new Evaluator(form, EvaluationMode.LAZY);
+
+        for (Evaluator e : Arrays.asList(eager, lazy)) {
+            e.updateValue(QUESTION, new NumberValue(3));
+            e.updateValue(QUESTION2, BooleanValue.TRUE);
+            e.updateValue(QUESTION2, BooleanValue.FALSE);
+            e.updateValue(QUESTION, new NumberValue(6));
+        }
+
+        for (Identifier id : Arrays.asList(QUESTION3, QUESTION4, question5)) {
+            assertThat(lazy.getValue(id)).isEqualTo(eager.getValue(id));
+        }
+        assertThat(lazy.getValue(question5).getNumber()).isEqualTo("156");
+    }
+
+    @Test
+    public void testSharedSubexpressionsAreEvaluatedOncePerChange() {
+        String questionText = "question: \"Label\" number";
+        String question2Text = "question2: \"Label\" number";
+        String question3Text = "question3: \"Label\" number ((question - question2) * 2)";
+        String question4Text = "question4: \"Label\" number ((question - question2) + 1)";
+        Form form = FormBuilder.build(TestHelper.buildForm("form1", questionText, question2Text, question3Text,
+                question4Text));
+        Evaluator evaluator = new Evaluator(form);
+        CountingNumberValue minuend = new CountingNumberValue(10);
+
+        evaluator.updateValue(QUESTION, minuend);
+        evaluator.updateValue(QUESTION2, new NumberValue(3));
+        evaluator.updateValue(QUESTION2, new NumberValue(3));
+
+        assertThat(minuend.subtractions).isEqualTo(2);
+        assertThat(evaluator.getValue(QUESTION3).getNumber()).isEqualTo("14");
+        assertThat(evaluator.getValue(QUESTION4).getNumber()).isEqualTo("8");
+    }
+
+    private static final class CountingNumberValue extends NumberValue {
+        private int subtractions;
+
+        public CountingNumberValue(final int value) {
+            super(value);
+        }
+
+        @Override
+        public Value subtract(final Value otherValue) {
+            subtractions++;
+            return super.subtract(otherValue);
+        }
+    }
+
 }
@@ -2,9 +2,11 @@ package nl.uva.softwcons.ql.eval;
 
 import static nl.uva.softwcons.helper.TestHelper.DUMMY_LINE_INFO;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 
 import java.math.BigDecimal;
 
+import nl.uva.softwcons.ql.ast.expression.Expression;
 import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Addition;
 import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Division;
 import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Multiplication;
@@ -20,6 +22,7 @@ import nl.uva.softwcons.ql.ast.expression.unary.logical.Not;
 import nl.uva.softwcons.ql.eval.value.BooleanValue;
 import nl.uva.softwcons.ql.eval.value.NumberValue;
 import nl.uva.softwcons.ql.eval.value.UndefinedValue;
+import nl.uva.softwcons.ql.eval.value.Value;
 
 import org.junit.Test;
 
@@ -39,32 +42,32 @@ public class ExpressionEvaluatorTest {
     public void testIntegerAddition() {
         final Addition exprInt = new Addition(INT_1, INT_2, DUMMY_LINE_INFO);
 
-        assertThat(ExpressionEvaluator.evaluate(exprInt, null)).isExactlyInstanceOf(NumberValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprInt, null).getNumber()).isEqualTo("3");
+        assertThat(evaluate(exprInt, null)).isExactlyInstanceOf(NumberValue.class);
+        assertThat(evaluate(exprInt, null).getNumber()).isEqualTo("3");
     }
 
     @Test
     public void testDecimalAddition() {
         final Addition exprDec = new Addition(DEC_1_5, DEC_2_5, DUMMY_LINE_INFO);
 
-        assertThat(ExpressionEvaluator.evaluate(exprDec, null)).isExactlyInstanceOf(NumberValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprDec, null).getNumber()).isEqualTo("4.0");
+        assertThat(evaluate(exprDec, null)).isExactlyInstanceOf(NumberValue.class);
+        assertThat(evaluate(exprDec, null).getNumber()).isEqualTo("4.0");
     }
 
     @Test
     public void testMixedAddition() {
         final Addition exprMixed = new Addition(DEC_2_5, INT_2, DUMMY_LINE_INFO);
 
-        assertThat(ExpressionEvaluator.evaluate(exprMixed, null)).isExactlyInstanceOf(NumberValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprMixed, null).getNumber()).isEqualTo("4.5");
+        assertThat(evaluate(exprMixed, null)).isExactlyInstanceOf(NumberValue.class);
+        assertThat(evaluate(exprMixed, null).getNumber()).isEqualTo("4.5");
     }
 
     @Test
     public void testIntegerSubtraction() {
         final Subtraction exprInt = new Subtraction(INT_1, INT_2, DUMMY_LINE_INFO);
 
-        assertThat(ExpressionEvaluator.evaluate(exprInt, new FormAnswers()).getNumber()).isEqualTo("-1");
-        assertThat(ExpressionEvaluator.evaluate(exprInt, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
+        assertThat(evaluate(exprInt, new FormAnswers()).getNumber()).isEqualTo("-1");
+        assertThat(evaluate(exprInt, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
 
     }
 
@@ -72,8 +75,8 @@ public class ExpressionEvaluatorTest {
     public void testDecimalSubtraction() {
         final Subtraction exprDec = new Subtraction(DEC_1_5, DEC_2_5, DUMMY_LINE_INFO);
 
-        assertThat(ExpressionEvaluator.evaluate(exprDec, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprDec, new FormAnswers()).getNumber()).isEqualTo("-1.0");
+        assertThat(evaluate(exprDec, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
+        assertThat(evaluate(exprDec, new FormAnswers()).getNumber()).isEqualTo("-1.0");
     }
 
     @Test
@@ -81,11 +84,11 @@ public class ExpressionEvaluatorTest {
         final Subtraction exprMixed = new Subtraction(INT_1, DEC_1_5, DUMMY_LINE_INFO);
         final Subtraction exprMixed2 = new Subtraction(DEC_1_5, INT_1, DUMMY_LINE_INFO);
 
-        assertThat(ExpressionEvaluator.evaluate(exprMixed, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprMixed, new FormAnswers()).getNumber()).isEqualTo("-0.5");
+        assertThat(evaluate(exprMixed, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
+        assertThat(evaluate(exprMixed, new FormAnswers()).getNumber()).isEqualTo("-0.5");
 
-        assertThat(ExpressionEvaluator.evaluate(exprMixed2, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprMixed2, new FormAnswers()).getNumber()).isEqualTo("0.5");
+        assertThat(evaluate(exprMixed2, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
+        assertThat(evaluate(exprMixed2, new FormAnswers()).getNumber()).isEqualTo("0.5");
 
     }
 
@@ -93,8 +96,8 @@ public class ExpressionEvaluatorTest {
     public void testIntegerMultiplication() {
         final Multiplication exprInt = new Multiplication(INT_1, INT_2, DUMMY_LINE_INFO);
 
-        assertThat(ExpressionEvaluator.evaluate(exprInt, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprInt, new FormAnswers()).getNumber()).isEqualTo("2");
+        assertThat(evaluate(exprInt, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
+        assertThat(evaluate(exprInt, new FormAnswers()).getNumber()).isEqualTo("2");
 
     }
 
@@ -102,8 +105,8 @@ public class ExpressionEvaluatorTest {
     public void testDecimalMultiplication() {
         final Multiplication exprDec = new Multiplication(DEC_1_5, DEC_2_5, DUMMY_LINE_INFO);
 
-        assertThat(ExpressionEvaluator.evaluate(exprDec, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprDec, new FormAnswers()).getNumber()).isEqualTo("3.75");
+        assertThat(evaluate(exprDec, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
+        assertThat(evaluate(exprDec, new FormAnswers()).getNumber()).isEqualTo("3.75");
     }
 
     @Test
@@ -111,19 +114,19 @@ public class ExpressionEvaluatorTest {
         final Multiplication exprDec = new Multiplication(INT_1, DEC_2_5, DUMMY_LINE_INFO);
         final Multiplication exprDec2 = new Multiplication(DEC_2_5, INT_1, DUMMY_LINE_INFO);
 
-        assertThat(ExpressionEvaluator.evaluate(exprDec, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprDec, new FormAnswers()).getNumber()).isEqualTo("2.5");
+        assertThat(evaluate(exprDec, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
+        assertThat(evaluate(exprDec, new FormAnswers()).getNumber()).isEqualTo("2.5");
 
-        assertThat(ExpressionEvaluator.evaluate(exprDec2, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprDec2, new FormAnswers()).getNumber()).isEqualTo("2.5");
+        assertThat(evaluate(exprDec2, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
+        assertThat(evaluate(exprDec2, new FormAnswers()).getNumber()).isEqualTo("2.5");
     }
 
     @Test
     public void testIntegerDivision() {
         final Division exprInt = new Division(INT_1, INT_2, DUMMY_LINE_INFO);
 
-        assertThat(ExpressionEvaluator.evaluate(exprInt, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprInt, new FormAnswers()).getNumber()).isEqualTo("0.5");
+        assertThat(evaluate(exprInt, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
+        assertThat(evaluate(exprInt, new FormAnswers()).getNumber()).isEqualTo("0.5");
     }
 
     @Test
@@ -131,16 +134,16 @@ public class ExpressionEvaluatorTest {
         final Division exprDec = new Division(DEC_1_5, DEC_2_5, DUMMY_LINE_INFO);
         final BigDecimal expected = new BigDecimal(1.5).divide(new BigDecimal(2.5));
 
-        assertThat(ExpressionEvaluator.evaluate(exprDec, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprDec, new FormAnswers()).getNumber()).isEqualByComparingTo(expected);
+        assertThat(evaluate(exprDec, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
+        assertThat(evaluate(exprDec, new FormAnswers()).getNumber()).isEqualByComparingTo(expected);
     }
 
     @Test
     public void testMixedDivision() {
         final Division exprMixed = new Division(new NumberLiteral(3, DUMMY_LINE_INFO), DEC_1_5, DUMMY_LINE_INFO);
 
-        assertThat(ExpressionEvaluator.evaluate(exprMixed, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprMixed, new FormAnswers()).getNumber()).isEqualTo("2");
+        assertThat(evaluate(exprMixed, new FormAnswers())).isExactlyInstanceOf(NumberValue.class);
+        assertThat(evaluate(exprMixed, new FormAnswers()).getNumber()).isEqualTo("2");
     }
 
     @Test
@@ -150,14 +153,14 @@ public class ExpressionEvaluatorTest {
 
         GreaterOrEqual exprMixed = new GreaterOrEqual(DEC_2_5, INT_2, DUMMY_LINE_INFO);
 
-        assertThat(ExpressionEvaluator.evaluate(exprInt, new FormAnswers())).isExactlyInstanceOf(BooleanValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprInt, new FormAnswers()).getBoolean()).isEqualTo(false);
+        assertThat(evaluate(exprInt, new FormAnswers())).isExactlyInstanceOf(BooleanValue.class);
+        assertThat(evaluate(exprInt, new FormAnswers()).getBoolean()).isEqualTo(false);
 
-        assertThat(ExpressionEvaluator.evaluate(exprDec, new FormAnswers())).isExactlyInstanceOf(BooleanValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprDec, new FormAnswers()).getBoolean()).isEqualTo(true);
+        assertThat(evaluate(exprDec, new FormAnswers())).isExactlyInstanceOf(BooleanValue.class);
+        assertThat(evaluate(exprDec, new FormAnswers()).getBoolean()).isEqualTo(true);
 
-        assertThat(ExpressionEvaluator.evaluate(exprMixed, new FormAnswers())).isExactlyInstanceOf(BooleanValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprMixed, new FormAnswers()).getBoolean()).isEqualTo(true);
+        assertThat(evaluate(exprMixed, new FormAnswers())).isExactlyInstanceOf(BooleanValue.class);
+        assertThat(evaluate(exprMixed, new FormAnswers()).getBoolean()).isEqualTo(true);
     }
 
     @Test
@@ -166,17 +169,17 @@ public class ExpressionEvaluatorTest {
         And exprAndTrue = new And(TRUE, TRUE, DUMMY_LINE_INFO);
         And exprAndFalse2 = new And(FALSE, FALSE, DUMMY_LINE_INFO);
 
-        assertThat(ExpressionEvaluator.evaluate(exprAndFalse, new FormAnswers())).isExactlyInstanceOf(
+        assertThat(evaluate(exprAndFalse, new FormAnswers())).isExactlyInstanceOf(
                 BooleanValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprAndFalse, new FormAnswers()).getBoolean()).isEqualTo(false);
+        assertThat(evaluate(exprAndFalse, new FormAnswers()).getBoolean()).isEqualTo(false);
 
-        assertThat(ExpressionEvaluator.evaluate(exprAndTrue, new FormAnswers()))
+        assertThat(evaluate(exprAndTrue, new FormAnswers()))
                 .isExactlyInstanceOf(BooleanValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprAndTrue, new FormAnswers()).getBoolean()).isEqualTo(true);
+        assertThat(evaluate(exprAndTrue, new FormAnswers()).getBoolean()).isEqualTo(true);
 
-        assertThat(ExpressionEvaluator.evaluate(exprAndFalse2, new FormAnswers())).isExactlyInstanceOf(
+        assertThat(evaluate(exprAndFalse2, new FormAnswers())).isExactlyInstanceOf(
                 BooleanValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprAndFalse2, new FormAnswers()).getBoolean()).isEqualTo(false);
+        assertThat(evaluate(exprAndFalse2, new FormAnswers()).getBoolean()).isEqualTo(false);
     }
 
     @Test
@@ -185,16 +188,16 @@ public class ExpressionEvaluatorTest {
         Or exprOrTrue2 = new Or(TRUE, TRUE, DUMMY_LINE_INFO);
         Or exprOrFalse = new Or(FALSE, FALSE, DUMMY_LINE_INFO);
 
-        assertThat(ExpressionEvaluator.evaluate(exprOrTrue, new FormAnswers())).isExactlyInstanceOf(BooleanValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprOrTrue, new FormAnswers()).getBoolean()).isEqualTo(true);
+        assertThat(evaluate(exprOrTrue, new FormAnswers())).isExactlyInstanceOf(BooleanValue.class);
+        assertThat(evaluate(exprOrTrue, new FormAnswers()).getBoolean()).isEqualTo(true);
 
-        assertThat(ExpressionEvaluator.evaluate(exprOrTrue2, new FormAnswers()))
+        assertThat(evaluate(exprOrTrue2, new FormAnswers()))
                 .isExactlyInstanceOf(BooleanValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprOrTrue2, new FormAnswers()).getBoolean()).isEqualTo(true);
+        assertThat(evaluate(exprOrTrue2, new FormAnswers()).getBoolean()).isEqualTo(true);
 
-        assertThat(ExpressionEvaluator.evaluate(exprOrFalse, new FormAnswers()))
+        assertThat(evaluate(exprOrFalse, new FormAnswers()))
                 .isExactlyInstanceOf(BooleanValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprOrFalse, new FormAnswers()).getBoolean()).isEqualTo(false);
+        assertThat(evaluate(exprOrFalse, new FormAnswers()).getBoolean()).isEqualTo(false);
     }
 
     @Test
@@ -202,13 +205,13 @@ public class ExpressionEvaluatorTest {
         Not exprNotTrue = new Not(FALSE, DUMMY_LINE_INFO);
         Not exprNotFalse = new Not(TRUE, DUMMY_LINE_INFO);
 
-        assertThat(ExpressionEvaluator.evaluate(exprNotTrue, new FormAnswers()))
+        assertThat(evaluate(exprNotTrue, new FormAnswers()))
                 .isExactlyInstanceOf(BooleanValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprNotTrue, new FormAnswers()).getBoolean()).isEqualTo(true);
+        assertThat(evaluate(exprNotTrue, new FormAnswers()).getBoolean()).isEqualTo(true);
 
-        assertThat(ExpressionEvaluator.evaluate(exprNotFalse, new FormAnswers())).isExactlyInstanceOf(
+        assertThat(evaluate(exprNotFalse, new FormAnswers())).isExactlyInstanceOf(
                 BooleanValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprNotFalse, new FormAnswers()).getBoolean()).isEqualTo(false);
+        assertThat(evaluate(exprNotFalse, new FormAnswers()).getBoolean()).isEqualTo(false);
     }
 
     @Test
@@ -221,8 +224,8 @@ public class ExpressionEvaluatorTest {
         answers.setValue(id1, new NumberValue(1));
         answers.setValue(id2, new NumberValue(2));
 
-        assertThat(ExpressionEvaluator.evaluate(exprWithVariables, answers)).isExactlyInstanceOf(NumberValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprWithVariables, answers).getNumber()).isEqualTo("3");
+        assertThat(evaluate(exprWithVariables, answers)).isExactlyInstanceOf(NumberValue.class);
+        assertThat(evaluate(exprWithVariables, answers).getNumber()).isEqualTo("3");
     }
 
     @Test
@@ -230,7 +233,7 @@ public class ExpressionEvaluatorTest {
         final Identifier id1 = new Identifier("id1", DUMMY_LINE_INFO);
         final FormAnswers answers = new FormAnswers();
 
-        assertThat(ExpressionEvaluator.evaluate(id1, answers)).isExactlyInstanceOf(UndefinedValue.class);
+        assertThat(evaluate(id1, answers)).isExactlyInstanceOf(UndefinedValue.class);
     }
 
     @Test
@@ -242,7 +245,7 @@ public class ExpressionEvaluatorTest {
         final FormAnswers answers = new FormAnswers();
         answers.setValue(id2, new NumberValue(2));
 
-        assertThat(ExpressionEvaluator.evaluate(exprWithVariables, answers)).isExactlyInstanceOf(UndefinedValue.class);
+        assertThat(evaluate(exprWithVariables, answers)).isExactlyInstanceOf(UndefinedValue.class);
     }
 
     @Test
@@ -254,7 +257,7 @@ public class ExpressionEvaluatorTest {
         final FormAnswers answers = new FormAnswers();
         answers.setValue(id1, new NumberValue(2));
 
-        assertThat(ExpressionEvaluator.evaluate(exprWithVariables, answers)).isExactlyInstanceOf(UndefinedValue.class);
+        assertThat(evaluate(exprWithVariables, answers)).isExactlyInstanceOf(UndefinedValue.class);
     }
 
     @Test
@@ -266,7 +269,7 @@ public class ExpressionEvaluatorTest {
         final FormAnswers answers = new FormAnswers();
         answers.setValue(id2, new NumberValue(2));
 
-        assertThat(ExpressionEvaluator.evaluate(exprWithVariables, answers)).isExactlyInstanceOf(UndefinedValue.class);
+        assertThat(evaluate(exprWithVariables, answers)).isExactlyInstanceOf(UndefinedValue.class);
     }
 
     @Test
@@ -278,10 +281,10 @@ public class ExpressionEvaluatorTest {
         final FormAnswers answers = new FormAnswers();
         answers.setValue(id1, new NumberValue(2));
 
-        assertThat(ExpressionEvaluator.evaluate(exprWithVariables, answers)).isExactlyInstanceOf(UndefinedValue.class);
+        assertThat(evaluate(exprWithVariables, answers)).isExactlyInstanceOf(UndefinedValue.class);
         answers.setValue(id2, new NumberValue(1));
-        assertThat(ExpressionEvaluator.evaluate(exprWithVariables, answers)).isExactlyInstanceOf(NumberValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprWithVariables, answers).getNumber()).isEqualTo("1");
+        assertThat(evaluate(exprWithVariables, answers)).isExactlyInstanceOf(NumberValue.class);
+        assertThat(evaluate(exprWithVariables, answers).getNumber()).isEqualTo("1");
 
     }
 
@@ -292,12 +295,12 @@ public class ExpressionEvaluatorTest {
         final And exprWithVariables = new And(id1, id2, DUMMY_LINE_INFO);
 
         final FormAnswers answers = new FormAnswers();
-        answers.setValue(id2, new BooleanValue(true));
-        assertThat(ExpressionEvaluator.evaluate(exprWithVariables, answers)).isExactlyInstanceOf(UndefinedValue.class);
+        answers.setValue(id2, BooleanValue.TRUE);
+        assertThat(evaluate(exprWithVariables, answers)).isExactlyInstanceOf(UndefinedValue.class);
 
-        answers.setValue(id1, new BooleanValue(true));
-        assertThat(ExpressionEvaluator.evaluate(exprWithVariables, answers)).isExactlyInstanceOf(BooleanValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprWithVariables, answers).getBoolean()).isEqualTo(true);
+        answers.setValue(id1, BooleanValue.TRUE);
+        assertThat(evaluate(exprWithVariables, answers)).isExactlyInstanceOf(BooleanValue.class);
+        assertThat(evaluate(exprWithVariables, answers).getBoolean()).isEqualTo(true);
 
     }
 
@@ -308,13 +311,13 @@ public class ExpressionEvaluatorTest {
         final Or exprWithVariables = new Or(id1, id2, DUMMY_LINE_INFO);
 
         final FormAnswers answers = new FormAnswers();
-        answers.setValue(id1, new BooleanValue(false));
+        answers.setValue(id1, BooleanValue.FALSE);
 
-        assertThat(ExpressionEvaluator.evaluate(exprWithVariables, answers)).isExactlyInstanceOf(UndefinedValue.class);
-        answers.setValue(id2, new BooleanValue(false));
+        assertThat(evaluate(exprWithVariables, answers)).isExactlyInstanceOf(UndefinedValue.class);
+        answers.setValue(id2, BooleanValue.FALSE);
 
-        assertThat(ExpressionEvaluator.evaluate(exprWithVariables, answers)).isExactlyInstanceOf(BooleanValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprWithVariables, answers).getBoolean()).isEqualTo(false);
+        assertThat(evaluate(exprWithVariables, answers)).isExactlyInstanceOf(BooleanValue.class);
+        assertThat(evaluate(exprWithVariables, answers).getBoolean()).isEqualTo(false);
     }
 
     @Test
@@ -324,11 +327,68 @@ public class ExpressionEvaluatorTest {
 
         final FormAnswers answers = new FormAnswers();
 
-        assertThat(ExpressionEvaluator.evaluate(exprWithVariables, answers)).isExactlyInstanceOf(UndefinedValue.class);
-        answers.setValue(id1, new BooleanValue(false));
+        assertThat(evaluate(exprWithVariables, answers)).isExactlyInstanceOf(UndefinedValue.class);
+        answers.setValue(id1, BooleanValue.FALSE);
 
-        assertThat(ExpressionEvaluator.evaluate(exprWithVariables, answers)).isExactlyInstanceOf(BooleanValue.class);
-        assertThat(ExpressionEvaluator.evaluate(exprWithVariables, answers).getBoolean()).isEqualTo(true);
+        assertThat(evaluate(exprWithVariables, answers)).isExactlyInstanceOf(BooleanValue.class);
+        assertThat(evaluate(exprWithVariables, answers).getBoolean()).isEqualTo(true);
+    }
+
+    @Test
+    public void testFalseAndUndefinedIsUndefined() {
+        final Identifier guard = new Identifier("guard", DUMMY_LINE_INFO);
+        final Identifier id1 = new Identifier("id1", DUMMY_LINE_INFO);
+        final Identifier id2 = new Identifier("id2", DUMMY_LINE_INFO);
+        final And expr = new And(guard, new GreaterOrEqual(new Multiplication(id1, id2, DUMMY_LINE_INFO), INT_1,
+                DUMMY_LINE_INFO), DUMMY_LINE_INFO);
+
+        final FormAnswers answers = new FormAnswers();
+        answers.setValue(guard, BooleanValue.FALSE);
+        answers.setValue(id1, new NumberValue(2));
+        assertThat(evaluate(expr, answers)).isExactlyInstanceOf(UndefinedValue.class);
+
+        answers.setValue(id2, new NumberValue(3));
+        assertThat(evaluate(expr, answers)).isEqualTo(BooleanValue.FALSE);
+    }
+
+    @Test
+    public void testFalseAndDisjunctionIsUndefinedOnlyWhenDisjunctionIs() {
+        final Identifier guard = new Identifier("guard", DUMMY_LINE_INFO);
+        final Identifier id1 = new Identifier("id1", DUMMY_LINE_INFO);
+        final Identifier id2 = new Identifier("id2", DUMMY_LINE_INFO);
+        final And expr = new And(guard, new Or(id1, id2, DUMMY_LINE_INFO), DUMMY_LINE_INFO);
+
+        final FormAnswers answers = new FormAnswers();
+        answers.setValue(guard, BooleanValue.FALSE);
+        answers.setValue(id1, BooleanValue.FALSE);
+        assertThat(evaluate(expr, answers)).isExactlyInstanceOf(UndefinedValue.class);
+
+        answers.setValue(id1, BooleanValue.TRUE);
+        assertThat(evaluate(expr, answers)).isEqualTo(BooleanValue.FALSE);
+    }
+
+    @Test
+    public void testShortCircuitSkipsRightOperand() {
+        final Identifier guard = new Identifier("guard", DUMMY_LINE_INFO);
+        final Identifier id1 = new Identifier("id1", DUMMY_LINE_INFO);
+        final Identifier id2 = new Identifier("id2", DUMMY_LINE_INFO);
+        final GreaterOrEqual expensive = new GreaterOrEqual(new Multiplication(id1, new Addition(id2, id1,
+                DUMMY_LINE_INFO), DUMMY_LINE_INFO), INT_1, DUMMY_LINE_INFO);
+        final And guardedAnd = new And(guard, expensive, DUMMY_LINE_INFO);
+        final Or guardedOr = new Or(guard, expensive, DUMMY_LINE_INFO);
+
+        final CountingFormAnswers answers = new CountingFormAnswers();
+        answers.setValue(id1, new NumberValue(2));
+        answers.setValue(id2, new NumberValue(3));
+
+        assertThat(countReads(guardedAnd, answers)).isEqualTo(1);
+
+        answers.setValue(guard, BooleanValue.TRUE);
+        assertThat(countReads(guardedOr, answers)).isEqualTo(1);
+        assertThat(countReads(guardedAnd, answers)).isEqualTo(4);
+
+        answers.setValue(guard, BooleanValue.FALSE);
+        assertThat(countReads(guardedAnd, answers)).isEqualTo(3);
     }
 
     @Test(expected = UnsupportedOperationException.class)
@@ -337,9 +397,9 @@ public class ExpressionEvaluatorTest {
         final Addition exprWithVariables = new Addition(INT_1, id1, DUMMY_LINE_INFO);
 
         final FormAnswers answers = new FormAnswers();
-        answers.setValue(id1, new BooleanValue(false));
+        answers.setValue(id1, BooleanValue.FALSE);
 
-        ExpressionEvaluator.evaluate(exprWithVariables, answers);
+        evaluate(exprWithVariables, answers);
     }
 
     @Test(expected = UnsupportedOperationException.class)
@@ -348,9 +408,67 @@ public class ExpressionEvaluatorTest {
         final Addition exprWithVariables = new Addition(STR_BAR, id1, DUMMY_LINE_INFO);
 
         final FormAnswers answers = new FormAnswers();
-        answers.setValue(id1, new BooleanValue(false));
+        answers.setValue(id1, BooleanValue.FALSE);
+
+        evaluate(exprWithVariables, answers);
+    }
+
+    /**
+     * Evaluates the expression with both the reference interpreter and the
+     * compiled closures, and checks that they agree on the result or on the
+     * type of exception thrown.
+     */
+    private static Value evaluate(final Expression expr, final FormAnswers answers) {
+        final Value interpreted;
+        try {
+            interpreted = ExpressionEvaluator.evaluate(expr, answers);
+        } catch (final RuntimeException interpreterException) {
+            try {
+                ExpressionCompiler.compile(expr).evaluate(answers);
+            } catch (final RuntimeException compiledException) {
+                assertThat(compiledException).isExactlyInstanceOf(interpreterException.getClass());
+                throw interpreterException;
+            }
+
+            fail("Compiled expression did not throw " + interpreterException.getClass().getSimpleName());
+            throw interpreterException;
+        }
+
+        assertThat(ExpressionCompiler.compile(expr).evaluate(answers)).isEqualTo(interpreted);
+        return interpreted;
+    }
+
+    /**
+     * Returns the number of answers read by evaluating the expression, after
+     * checking that the interpreter and the compiled expression read the same
+     * number of answers.
+     */
+    private static int countReads(final Expression expr, final CountingFormAnswers answers) {
+        answers.reads = 0;
+        ExpressionEvaluator.evaluate(expr, answers);
+        final int interpreterReads = answers.reads;
+
+        answers.reads = 0;
+        ExpressionCompiler.compile(expr).evaluate(answers);
+        assertThat(answers.reads).isEqualTo(interpreterReads);
+
+        return interpreterReads;
+    }
+
+    private static final class CountingFormAnswers extends FormAnswers {
+        private int reads;
+
+        @Override
+        public Value getValue(final Identifier id) {
+            this.reads++;
+            return super.getValue(id);
+        }
 
-        ExpressionEvaluator.evaluate(exprWithVariables, answers);
+        @Override
+        public Value getValue(final int slot) {
+            this.reads++;
+            return super.getValue(slot);
+        }
     }
 
 }
@@ -0,0 +1,76 @@
+package nl.uva.softwcons.ql.eval;
+
+import static nl.uva.softwcons.helper.TestHelper.QUESTION;
+import static nl.uva.softwcons.helper.TestHelper.QUESTION2;
+import static nl.uva.softwcons.helper.TestHelper.UNUSED;
+import static nl.uva.softwcons.ql.eval.value.UndefinedValue.UNDEFINED;
+import static org.assertj.core.api.Assertions.assertThat;
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.ql.FormBuilder;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.ast.statement.ComputedQuestion;
+import nl.uva.softwcons.ql.ast.statement.Conditional;
+import nl.uva.softwcons.ql.ast.statement.Question;
+import nl.uva.softwcons.ql.ast.symbol.SymbolTable;
+import nl.uva.softwcons.ql.eval.value.NumberValue;
+
+import org.junit.Test;
+
+public class FormAnswersTest {
+
+    @Test
+    public void testQuestionsGetDenseSlotsInDeclarationOrder() {
+        String questionText = "question: \"Label\" number";
+        String conditionalText = "if (question > 1) { question2: \"Label 2\" number }";
+        String question3Text = "question3: \"Label 3\" number (question2)";
+        Form form = FormBuilder.build(TestHelper.buildForm("form1", questionText, conditionalText, question3Text));
+        Conditional conditional = (Conditional) form.getStatements().get(1);
+        ComputedQuestion question3 = (ComputedQuestion) form.getStatements().get(2);
+
+        assertThat(form.getSymbolTable().size()).isEqualTo(3);
+        SymbolTable table = form.getSymbolTable();
+        assertThat(table.getSlot(((Question) form.getStatements().get(0)).getId())).isEqualTo(0);
+        assertThat(table.getSlot(conditional.getQuestions().get(0).getId())).isEqualTo(1);
+        assertThat(table.getSlot(question3.getId())).isEqualTo(2);
+        assertThat(table.getSlot((Identifier) question3.getExpression())).isEqualTo(1);
+    }
+
+    @Test
+    public void testReferencesToUndeclaredQuestionsAreNotBound() {
+        String questionText = "question: \"Label\" number (unknown)";
+        Form form = FormBuilder.build(TestHelper.buildForm("form1", questionText));
+        Identifier reference = (Identifier) ((ComputedQuestion) form.getStatements().get(0)).getExpression();
+
+        assertThat(form.getSymbolTable().getSymbol(reference).isDeclared()).isFalse();
+        assertThat(form.getSymbolTable().getSlot(reference)).isEqualTo(SymbolTable.UNRESOLVED_SLOT);
+    }
+
+    @Test
+    public void testAnswersAreSharedBetweenSlotsAndIdentifiers() {
+        String questionText = "question: \"Label\" number";
+        String question2Text = "question2: \"Label 2\" number";
+        Form form = FormBuilder.build(TestHelper.buildForm("form1", questionText, question2Text));
+        FormAnswers answers = new FormAnswers(form.getSymbolTable());
+
+        answers.setValue(QUESTION2, new NumberValue(2));
+        answers.setValue(0, new NumberValue(1));
+
+        assertThat(answers.getValue(1).getNumber()).isEqualTo("2");
+        assertThat(answers.getValue(QUESTION).getNumber()).isEqualTo("1");
+        assertThat(answers.getValue(UNUSED)).isEqualTo(UNDEFINED);
+    }
+
+    @Test
+    public void testAnswersForIdentifiersWithoutSlot() {
+        String questionText = "question: \"Label\" number";
+        Form form = FormBuilder.build(TestHelper.buildForm("form1", questionText));
+        FormAnswers answers = new FormAnswers(form.getSymbolTable());
+
+        answers.setValue(UNUSED, new NumberValue(5));
+
+        assertThat(answers.getValue(UNUSED).getNumber()).isEqualTo("5");
+        assertThat(answers.getValue(0)).isEqualTo(UNDEFINED);
+    }
+
+}
@@ -0,0 +1,83 @@
+package nl.uva.softwcons.ql.eval;
+
+import static nl.uva.softwcons.ql.eval.value.UndefinedValue.UNDEFINED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.ql.FormBuilder;
+import nl.uva.softwcons.ql.ast.expression.Expression;
+import nl.uva.softwcons.ql.ast.expression.binary.arithmetic.Multiplication;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.And;
+import nl.uva.softwcons.ql.ast.expression.binary.logical.Or;
+import nl.uva.softwcons.ql.ast.expression.identifier.Identifier;
+import nl.uva.softwcons.ql.ast.expression.literal.BooleanLiteral;
+import nl.uva.softwcons.ql.ast.expression.literal.NumberLiteral;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.ast.statement.ComputedQuestion;
+import nl.uva.softwcons.ql.eval.value.BooleanValue;
+
+import org.junit.Test;
+
+public class FormOptimizerTest {
+    private static final String RATE = "rate: \"Rate\" number";
+    private static final String FLAG = "flag: \"Flag\" boolean";
+
+    @Test
+    public void testLiteralSubexpressionsAreFolded() {
+        OptimizedForm optimized = optimize("result: \"Result\" number ((2 * 3) + 4)");
+        Expression expression = getExpression(optimized.getForm(), 0);
+
+        assertThat(expression).isInstanceOf(NumberLiteral.class);
+        assertThat(((NumberLiteral) expression).getValue()).isEqualByComparingTo(BigDecimal.TEN);
+        assertThat(optimized.getRemovedNodes()).isEqualTo(4);
+    }
+
+    @Test
+    public void testIdentitiesAreSimplified() {
+        OptimizedForm optimized = optimize(RATE, FLAG, "result: \"Result\" number ((rate * 1) + 0)",
+                "check: \"Check\" boolean (true && !!flag)");
+
+        assertThat(getExpression(optimized.getForm(), 2)).isInstanceOf(Identifier.class);
+        assertThat(getExpression(optimized.getForm(), 3)).isInstanceOf(Identifier.class);
+        assertThat(optimized.getRemovedNodes()).isEqualTo(8);
+    }
+
+    @Test
+    public void testRewritesThatChangeUndefinedResultsAreSkipped() {
+        OptimizedForm optimized = optimize(RATE, FLAG, "result: \"Result\" number (rate * 0)",
+                "check: \"Check\" boolean (false && flag)", "fraction: \"Fraction\" number (1 / 0)",
+                "other: \"Other\" boolean (rate > 1 || false)");
+        FormAnswers answers = new FormAnswers(optimized.getForm().getSymbolTable());
+
+        assertThat(getExpression(optimized.getForm(), 2)).isInstanceOf(Multiplication.class);
+        assertThat(getExpression(optimized.getForm(), 3)).isInstanceOf(And.class);
+        assertThat(ExpressionEvaluator.evaluate(getExpression(optimized.getForm(), 3), answers)).isEqualTo(UNDEFINED);
+        assertThat(getExpression(optimized.getForm(), 5)).isInstanceOf(Or.class);
+        assertThat(ExpressionEvaluator.evaluate(getExpression(optimized.getForm(), 5), answers)).isEqualTo(
+                BooleanValue.FALSE);
+        assertThat(optimized.getRemovedNodes()).isEqualTo(0);
+    }
+
+    @Test
+    public void testFoldedFormEvaluatesLikeTheOriginal() {
+        Form form = FormBuilder.build(TestHelper.buildForm("form1", FLAG,
+                "check: \"Check\" boolean (flag || (1 < 2))", "other: \"Other\" boolean (false && (2 > 1))"));
+        Form folded = FormOptimizer.optimize(form).getForm();
+        FormAnswers answers = new FormAnswers(folded.getSymbolTable());
+
+        assertThat(getExpression(folded, 1)).isInstanceOf(BooleanLiteral.class);
+        assertThat(ExpressionEvaluator.evaluate(getExpression(folded, 1), answers)).isEqualTo(BooleanValue.TRUE);
+        assertThat(ExpressionEvaluator.evaluate(getExpression(folded, 2), answers)).isEqualTo(BooleanValue.FALSE);
+    }
+
+    private static OptimizedForm optimize(final String... questions) {
+        return FormOptimizer.optimize(FormBuilder.build(TestHelper.buildForm("form1", questions)));
+    }
+
+    private static Expression getExpression(final Form form, final int index) {
+        return ((ComputedQuestion) form.getStatements().get(index)).getExpression();
+    }
+
+}
@@ -0,0 +1,52 @@
+package nl.uva.softwcons.ql.eval.value;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+public class NumberValueTest {
+    private static final NumberValue MAX_LONG = new NumberValue(new BigDecimal(Long.MAX_VALUE));
+    private static final NumberValue MIN_LONG = new NumberValue(new BigDecimal(Long.MIN_VALUE));
+    private static final NumberValue CENTS = new NumberValue(new BigDecimal("12.34"));
+
+    @Test
+    public void testMixedScaleArithmeticMatchesBigDecimal() {
+        final NumberValue tenth = new NumberValue(new BigDecimal("0.1"));
+
+        assertThat(CENTS.add(tenth).getNumber()).isEqualTo("12.44");
+        assertThat(tenth.subtract(CENTS).getNumber()).isEqualTo("-12.24");
+        assertThat(CENTS.multiply(tenth).getNumber()).isEqualTo("1.234");
+    }
+
+    @Test
+    public void testOverflowFallsBackToBigDecimal() {
+        final NumberValue one = new NumberValue(1);
+        final BigDecimal maxLong = new BigDecimal(Long.MAX_VALUE);
+        final BigDecimal minLong = new BigDecimal(Long.MIN_VALUE);
+
+        assertThat(MAX_LONG.add(one).getNumber()).isEqualTo(maxLong.add(BigDecimal.ONE));
+        assertThat(MIN_LONG.subtract(one).getNumber()).isEqualTo(minLong.subtract(BigDecimal.ONE));
+        assertThat(MAX_LONG.multiply(MAX_LONG).getNumber()).isEqualTo(maxLong.multiply(maxLong));
+        assertThat(MAX_LONG.add(CENTS).getNumber()).isEqualTo(maxLong.add(new BigDecimal("12.34")));
+    }
+
+    @Test
+    public void testComparisonAcrossScales() {
+        final NumberValue twoAndAHalf = new NumberValue(2.5);
+        final NumberValue twoAndAHalfCents = new NumberValue(new BigDecimal("2.50"));
+
+        assertThat(twoAndAHalf.isEqual(twoAndAHalfCents).getBoolean()).isTrue();
+        assertThat(MAX_LONG.isGreater(CENTS).getBoolean()).isTrue();
+        assertThat(CENTS.isGreater(MAX_LONG).getBoolean()).isFalse();
+    }
+
+    @Test
+    public void testEqualityIsScaleSensitiveLikeBigDecimal() {
+        assertThat(new NumberValue(new BigDecimal("2.5"))).isEqualTo(new NumberValue(2.5));
+        assertThat(new NumberValue(new BigDecimal("2.5"))).isNotEqualTo(new NumberValue(new BigDecimal("2.50")));
+        assertThat(new NumberValue(new BigDecimal("2.5")).hashCode()).isEqualTo(new NumberValue(2.5).hashCode());
+    }
+
+}
@@ -0,0 +1,187 @@
+package nl.uva.softwcons.ql.incremental;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import nl.uva.softwcons.generated.QLLexer;
+import nl.uva.softwcons.generated.QLParser;
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.ql.FormBuilder;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.validation.Error;
+import nl.uva.softwcons.ql.validation.Validator;
+
+import org.antlr.v4.runtime.ANTLRInputStream;
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+import org.junit.Test;
+
+public class IncrementalFormTest {
+    private static final String SOURCE = TestHelper.buildForm("form1", "question1: \"Label 1\" number",
+            "question2: \"Label 2\" boolean", "if (question2) { question3: \"Label 3\" number (question1 * 2) }",
+            "question4: \"Label 4\" number (question1 + 1)");
+
+    @Test
+    public void testLabelEditReusesOtherStatementsAndOnlyChecksLabels() {
+        IncrementalForm original = IncrementalForm.build(SOURCE);
+        IncrementalForm edited = edit(original, "Label 2", "Label 1");
+
+        assertThat(edited.getReparsedStatements()).isEqualTo(1);
+        assertThat(edited.getRerunChecks()).containsOnly(ValidationCheck.LABELS);
+        assertThat(edited.getForm().getStatements().get(0)).isSameAs(original.getForm().getStatements().get(0));
+        assertThat(edited.getForm().getStatements().get(2)).isSameAs(original.getForm().getStatements().get(2));
+        assertThat(edited.getErrors()).hasSize(1);
+        assertSameAsFullBuild(edited);
+    }
+
+    @Test
+    public void testExpressionEditRerunsTypeAndDependencyChecks() {
+        IncrementalForm edited = edit(IncrementalForm.build(SOURCE), "(question1 + 1)", "(question2 + 1)");
+
+        assertThat(edited.getRerunChecks()).containsOnly(ValidationCheck.TYPES, ValidationCheck.DEPENDENCIES);
+        assertThat(edited.getErrors()).isNotEmpty();
+        assertSameAsFullBuild(edited);
+    }
+
+    @Test
+    public void testEditsAddingLinesShiftTheFollowingStatements() {
+        IncrementalForm edited = edit(IncrementalForm.build(SOURCE), "question2: \"Label 2\" boolean",
+                "question2: \"Label 2\" boolean\nquestion5: \"Label 5\" string\n");
+
+        assertThat(edited.getReparsedStatements()).isEqualTo(2);
+        assertThat(edited.getForm().getStatements()).hasSize(5);
+        assertSameAsFullBuild(edited);
+    }
+
+    @Test
+    public void testInsertingALineMovesErrorsWithoutRerunningChecks() {
+        String source = TestHelper.buildForm("form1", "question1: \"Label 1\" number",
+                "question2: \"Label 1\" boolean", "question3: \"Label 3\" number (question2 + 1)");
+        IncrementalForm original = IncrementalForm.build(source);
+        IncrementalForm edited = insert(original, "question2:", "\n\n");
+
+        assertThat(edited.getRerunChecks()).isEmpty();
+        assertThat(edited.getErrors()).hasSize(original.getErrors().size());
+        assertThat(messages(edited.getErrors())).isNotEqualTo(messages(original.getErrors()));
+        assertSameAsFullBuild(edited);
+    }
+
+    @Test
+    public void testLineShiftsOfSeveralEditsAreCombined() {
+        IncrementalForm form = IncrementalForm.build(SOURCE);
+        form = insert(form, "question2:", "\n");
+        form = insert(form, "if (question2)", "\n\n");
+        form = form.edit(TextEdit.delete(form.getSource().indexOf("\n\nquestion2"), 1));
+        assertThat(form.getRerunChecks()).isEmpty();
+        form = edit(form, "(question1 + 1)", "(question2 + 1)");
+
+        assertThat(form.getRerunChecks()).containsOnly(ValidationCheck.TYPES, ValidationCheck.DEPENDENCIES);
+        assertSameAsFullBuild(form);
+    }
+
+    @Test
+    public void testSequenceOfEditsMatchesFullBuilds() {
+        IncrementalForm form = IncrementalForm.build(SOURCE);
+        String[][] edits = { { "question1 * 2", "question1 * question4" }, { " number\n", " string\n" },
+                { "question4: \"Label 4\"", "question4: \"Label 4b\"" }, { "if (question2)", "if (question2 && true)" },
+                { "\nquestion2: \"Label 2\" boolean", "" }, { "form1", "form2" } };
+
+        for (String[] e : edits) {
+            form = edit(form, e[0], e[1]);
+            assertSameAsFullBuild(form);
+        }
+        assertThat(form.getReparsedStatements()).isEqualTo(3);
+    }
+
+    @Test
+    public void testSyntaxErrorsFallBackToAFullBuild() {
+        IncrementalForm edited = edit(IncrementalForm.build(SOURCE), "boolean", "boolean )");
+
+        assertThat(edited.getReparsedStatements()).isEqualTo(4);
+        assertThat(edited.getSource()).contains("boolean )");
+    }
+
+    @Test
+    public void testSplitKeywordLeavesOutTheBrokenStatement() {
+        IncrementalForm edited = edit(IncrementalForm.build(SOURCE), "boolean", "bool ean");
+
+        assertThat(edited.getForm().getStatements()).hasSize(3).doesNotContainNull();
+        assertThat(messages(edited.getErrors())).isEqualTo(messages(Validator.validate(edited.getForm())));
+    }
+
+    @Test
+    public void testUnterminatedLabelLeavesOutTheBrokenStatements() {
+        IncrementalForm edited = edit(IncrementalForm.build(SOURCE), "\"Label 4\"", "\"Label 4");
+
+        assertThat(edited.getForm().getStatements()).doesNotContainNull();
+        assertThat(edited.edit(TextEdit.insert(edited.getSource().indexOf("Label 4") + 7, "\"")).getSource())
+                .isEqualTo(SOURCE);
+    }
+
+    @Test
+    public void testEveryOneCharacterEditIsHandled() {
+        IncrementalForm original = IncrementalForm.build(SOURCE);
+        int start = SOURCE.indexOf('{') + 1;
+        int end = SOURCE.lastIndexOf('}');
+
+        for (int i = start; i < end; i++) {
+            for (TextEdit e : Arrays.asList(TextEdit.insert(i, " "), TextEdit.insert(i, "\n"), TextEdit.delete(i, 1))) {
+                IncrementalForm edited = original.edit(e);
+                if (hasSyntaxErrors(edited.getSource())) {
+                    assertThat(edited.getForm().getStatements()).doesNotContainNull();
+                } else {
+                    assertSameAsFullBuild(edited);
+                }
+            }
+        }
+    }
+
+    private static IncrementalForm edit(final IncrementalForm form, final String target, final String replacement) {
+        int offset = form.getSource().indexOf(target);
+        return form.edit(new TextEdit(offset, target.length(), replacement));
+    }
+
+    private static IncrementalForm insert(final IncrementalForm form, final String target, final String text) {
+        return form.edit(TextEdit.insert(form.getSource().indexOf(target), text));
+    }
+
+    private static void assertSameAsFullBuild(final IncrementalForm form) {
+        Form expected = FormBuilder.build(form.getSource());
+
+        TestHelper.assertSameTree(expected, form.getForm());
+        assertThat(messages(form.getErrors())).isEqualTo(messages(Validator.validate(expected)));
+    }
+
+    private static boolean hasSyntaxErrors(final String source) {
+        SyntaxErrorCounter counter = new SyntaxErrorCounter();
+        QLLexer lexer = new QLLexer(new ANTLRInputStream(source));
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(counter);
+        QLParser parser = new QLParser(new CommonTokenStream(lexer));
+        parser.removeErrorListeners();
+        parser.addErrorListener(counter);
+        parser.form();
+
+        return counter.errors > 0;
+    }
+
+    private static List<String> messages(final List<Error> errors) {
+        return errors.stream().map(Error::getMessage).collect(toList());
+    }
+
+    private static final class SyntaxErrorCounter extends BaseErrorListener {
+        private int errors;
+
+        @Override
+        public void syntaxError(final Recognizer<?, ?> recognizer, final Object offendingSymbol, final int line,
+                final int charPositionInLine, final String msg, final RecognitionException e) {
+            errors++;
+        }
+    }
+
+}
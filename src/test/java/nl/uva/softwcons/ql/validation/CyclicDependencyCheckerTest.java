@@ -78,4 +78,31 @@ public class CyclicDependencyCheckerTest {
         assertThat(validationErrors).hasOnlyElementsOfType(CyclicQuestionsDependency.class);
     }
 
+    @Test
+    public void testTransitiveCyclicDependencyIsReportedOnceWithAllQuestions() {
+        final String question1 = "a: \"Label 1\" number(b + 1)";
+        final String question2 = "b: \"Label 2\" number(a * 2)";
+        final String question3 = "c: \"Label 3\" number(a)";
+        final List<Error> validationErrors = getCheckerErrors(CyclicDependencyChecker::check, question1, question2,
+                question3);
+
+        assertThat(validationErrors).hasSize(1);
+        assertThat(((CyclicQuestionsDependency) validationErrors.get(0)).getQuestions()).extracting("name")
+                .containsExactly("a", "b");
+        assertThat(validationErrors.get(0).getMessage()).contains("a on line 2", "b on line 3");
+    }
+
+    @Test
+    public void testLongDependencyChainsAreChecked() {
+        final int length = 20000;
+        final String[] questions = new String[length];
+        for (int i = 0; i < length; i++) {
+            questions[i] = String.format("q%d: \"Label\" number(q%d + 1)", i, (i + 1) % length);
+        }
+        final List<Error> validationErrors = getCheckerErrors(CyclicDependencyChecker::check, questions);
+
+        assertThat(validationErrors).hasSize(1);
+        assertThat(((CyclicQuestionsDependency) validationErrors.get(0)).getQuestions()).hasSize(length);
+    }
+
 }
@@ -0,0 +1,67 @@
+package nl.uva.softwcons.ql.validation;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.ql.FormBuilder;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.validation.dependency.error.CyclicQuestionsDependency;
+import nl.uva.softwcons.ql.validation.label.error.DuplicateLabel;
+
+import org.junit.Test;
+
+public class DiagnosticsSinkTest {
+
+    @Test
+    public void testErrorLimitStopsTheValidation() {
+        final String[] questions = new String[50];
+        for (int i = 0; i < questions.length; i++) {
+            questions[i] = String.format("q%d: \"Label\" number (x%d)", i, i);
+        }
+        final Form form = FormBuilder.build(TestHelper.buildForm("form1", questions));
+        final List<Error> errors = new ArrayList<>();
+        final LimitedDiagnosticsSink sink = new LimitedDiagnosticsSink(errors::add, 10, false);
+
+        Validator.validate(form, sink);
+
+        assertThat(errors).hasSize(10).hasOnlyElementsOfType(DuplicateLabel.class);
+        assertThat(messages(errors)).isEqualTo(messages(Validator.validate(form).subList(0, 10)));
+        assertThat(sink.isStopped()).isTrue();
+    }
+
+    @Test
+    public void testFirstFatalErrorStopsTheValidation() {
+        final Form form = FormBuilder.build(TestHelper.buildForm("form1", "q1: \"Label\" number (q1 + x)",
+                "q2: \"Label\" boolean (q1)"));
+        final List<Error> errors = new ArrayList<>();
+
+        Validator.validate(form, new LimitedDiagnosticsSink(errors::add, 100, true));
+
+        assertThat(Validator.validate(form).size()).isGreaterThan(1);
+        assertThat(errors).hasSize(1).hasOnlyElementsOfType(CyclicQuestionsDependency.class);
+    }
+
+    @Test
+    public void testErrorsAreWrittenAsJsonLines() {
+        final StringBuilder out = new StringBuilder();
+        final DiagnosticsSink sink = new JsonLinesDiagnosticsSink(out);
+
+        sink.report(new Error("Unexpected \"token\"\n") {
+        });
+        sink.report(new DuplicateLabel(TestHelper.DUMMY_LINE_INFO));
+
+        final String[] lines = out.toString().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("{\"type\":\"\",\"fatal\":true,\"message\":\"Unexpected \\\"token\\\"\\u000a\"}");
+        assertThat(lines[1]).startsWith("{\"type\":\"DuplicateLabel\",\"fatal\":false,\"message\":\"");
+    }
+
+    private static List<String> messages(final List<Error> errors) {
+        return errors.stream().map(Error::getMessage).collect(toList());
+    }
+
+}
@@ -0,0 +1,48 @@
+package nl.uva.softwcons.ql.validation;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.ql.FormBuilder;
+import nl.uva.softwcons.ql.ast.form.Form;
+
+import org.junit.Test;
+
+public class ValidatorTest {
+
+    @Test
+    public void testFusedModeReportsTheSameErrorsForInvalidForms() {
+        assertSameErrors("question: \"Label 1\" boolean(question)", "question: \"Label 1\" number (true && false)",
+                "if (notDefined > 4*(5 / 2)) { question2: \"Label 2\" string (6 * 5) }");
+        assertSameErrors("a: \"Label 1\" number(b + 1)", "b: \"Label 2\" number(a * 2)",
+                "if (!(a + 1)) { c: \"Label 1\" boolean(c != (x || c)) }", "b: \"Label 3\" boolean(b == a)");
+        assertSameErrors("if (\"test\") { question: \"Label 1\" boolean }", "question: \"Label 1\" number",
+                "question2: \"Label 2\" number(question + question3)", "question3: \"Label 3\" number (1 == 0)");
+    }
+
+    @Test
+    public void testFusedModeReportsNoErrorsForValidForms() {
+        assertSameErrors("question1: \"Label 1\" number", "if (question1 > 3) { question2: \"Label 2\" boolean }",
+                "question3: \"Label 3\" number (question1 * 2)");
+
+        final Form form = TestHelper.generateWorkload(42).questions(500).chainDepth(10).conditionalNesting(3)
+                .generate().buildForm();
+        assertThat(Validator.validate(form, ValidationMode.FUSED)).isEmpty();
+    }
+
+    private static void assertSameErrors(final String... statements) {
+        final Form form = FormBuilder.build(TestHelper.buildForm("form1", statements));
+
+        final List<Error> expected = Validator.validate(form, ValidationMode.SEPARATE);
+        final List<Error> actual = Validator.validate(form, ValidationMode.FUSED);
+        assertThat(describe(actual)).isEqualTo(describe(expected));
+    }
+
+    private static List<String> describe(final List<Error> errors) {
+        return errors.stream().map(e -> e.getClass().getSimpleName() + ": " + e.getMessage()).collect(toList());
+    }
+
+}
@@ -152,6 +152,17 @@ public class VariableExtractorTest {
         assertThat(VariableExctractor.extractFrom(expr)).extracting("name").containsOnly("a", "b", "c", "d", "e", "f");
     }
 
+    @Test
+    public void testExtractedVariablesAreCachedOnTheExpression() {
+        final Form form = FormBuilder.build(TestHelper.buildForm("form1", "a: \"A\" number", "b: \"B\" number",
+                "c: \"C\" number ((b + a) * (b - x))"));
+        final Expression expr = ((ComputedQuestion) form.getStatements().get(2)).getExpression();
+
+        assertThat(VariableExctractor.extractFrom(expr)).isSameAs(VariableExctractor.extractFrom(expr));
+        assertThat(VariableExctractor.extractFrom(expr)).extracting("name").containsExactly("b", "a", "x");
+        assertThat(VariableExctractor.extractFrom(expr).getSlots(form.getSymbolTable())).containsExactly(1, 0);
+    }
+
     private Expression getExpression(final String expressionText) {
         final String questionText = "question: \"Label\" boolean(" + expressionText + ")";
 
@@ -0,0 +1,49 @@
+package nl.uva.softwcons.qls;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.helper.Workload;
+import nl.uva.softwcons.qls.ast.stylesheet.Stylesheet;
+
+import org.junit.Test;
+
+import com.google.common.io.CharStreams;
+
+public class StylesheetSnapshotTest {
+
+    @Test
+    public void testSnapshotKeepsWidgetsAndStyles() throws IOException {
+        final String source;
+        try (final Reader reader = new InputStreamReader(getClass().getResourceAsStream("/form_stylesheet.qls"),
+                UTF_8)) {
+            source = CharStreams.toString(reader);
+        }
+        final Stylesheet stylesheet = StylesheetBuilder.build(source);
+
+        TestHelper.assertSameTree(stylesheet, roundTrip(stylesheet, source));
+    }
+
+    @Test
+    public void testSnapshotRebuildsGeneratedStylesheet() throws IOException {
+        final Workload workload = TestHelper.generateWorkload(11).questions(300).pages(3).sectionsPerPage(4)
+                .generate();
+        final Stylesheet stylesheet = StylesheetBuilder.build(workload.getStylesheetSource());
+
+        TestHelper.assertSameTree(stylesheet, roundTrip(stylesheet, workload.getStylesheetSource()));
+    }
+
+    private static Stylesheet roundTrip(final Stylesheet stylesheet, final String source) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        StylesheetSnapshot.write(stylesheet, source, output);
+
+        return StylesheetSnapshot.read(new ByteArrayInputStream(output.toByteArray()), source);
+    }
+
+}
@@ -0,0 +1,78 @@
+package nl.uva.softwcons.validation;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import nl.uva.softwcons.helper.TestHelper;
+import nl.uva.softwcons.ql.FormBuilder;
+import nl.uva.softwcons.ql.ast.form.Form;
+import nl.uva.softwcons.ql.validation.Error;
+import nl.uva.softwcons.ql.validation.Validator;
+import nl.uva.softwcons.ql.validation.dependency.CyclicDependencyChecker;
+import nl.uva.softwcons.qls.StylesheetBuilder;
+import nl.uva.softwcons.qls.ast.stylesheet.Stylesheet;
+import nl.uva.softwcons.qls.validation.QLSValidator;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class ParallelValidatorTest {
+    private static final Stylesheet STYLESHEET = StylesheetBuilder.build(TestHelper.buildStylesheet("stylesheet1",
+            "page page1 { question q1 question q5 default boolean widget slider (10, 20, 1) }"));
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testErrorsAreMergedInCheckerOrder() {
+        final Form form = buildForm("q1: \"Label 1\" boolean (q1)", "q2: \"Label 1\" number (q1 + 1)",
+                "q2: \"Label 3\" string");
+        final List<Error> expected = new ArrayList<>(Validator.validate(form));
+        expected.addAll(QLSValidator.validate(form, STYLESHEET));
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(messages(new ParallelValidator(executor).validate(form, STYLESHEET))).isEqualTo(
+                    messages(expected));
+        }
+    }
+
+    @Test
+    public void testFailFastStopsAfterTheFirstCheckerWithFatalErrors() {
+        final Form form = buildForm("q1: \"Label 1\" boolean (q1)", "q2: \"Label 1\" number (q1 + 1)",
+                "q2: \"Label 3\" string");
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(messages(new ParallelValidator(executor, true).validate(form, STYLESHEET))).isEqualTo(
+                    messages(CyclicDependencyChecker.check(form)));
+        }
+    }
+
+    @Test
+    public void testFailFastKeepsRunningAfterWarnings() {
+        final Form form = buildForm("q1: \"Label 1\" boolean", "q2: \"Label 1\" number (q1 + 1)");
+        final List<Error> expected = Validator.validate(form);
+
+        assertThat(messages(new ParallelValidator(Runnable::run, true).validate(form, STYLESHEET))).isEqualTo(
+                messages(expected));
+        assertThat(expected).hasSize(2);
+        assertThat(expected.get(0).isFatal()).isFalse();
+    }
+
+    private static Form buildForm(final String... questions) {
+        return FormBuilder.build(TestHelper.buildForm("form1", questions));
+    }
+
+    private static List<String> messages(final List<Error> errors) {
+        return errors.stream().map(Error::getMessage).collect(toList());
+    }
+
+}